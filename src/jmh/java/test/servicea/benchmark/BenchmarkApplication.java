@@ -0,0 +1,50 @@
+package test.servicea.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import test.servicea.ServiceAApplication;
+
+/**
+ * Starts the service for a benchmark on an in-memory H2 database and a random port.
+ * External catalogs are called on every multi-catalog read, as in the integration tests, so the
+ * benchmarks measure the request path rather than the snapshot or replica caches.
+ */
+public final class BenchmarkApplication {
+
+  private BenchmarkApplication() {
+  }
+
+  /**
+   * Starts the service.
+   *
+   * @param database the name of the in-memory database, unique per benchmark
+   * @param peerB    the URL of the first external inventory service
+   * @param peerC    the URL of the second external inventory service
+   * @return the running application context
+   */
+  public static ConfigurableApplicationContext start(String database, String peerB, String peerC) {
+    Map<String, Object> properties = new LinkedHashMap<>();
+    properties.put("server.port", "0");
+    properties.put("spring.main.banner-mode", "off");
+    properties.put("logging.level.root", "WARN");
+    properties.put("spring.datasource.url", "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+    properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+    properties.put("spring.datasource.username", "sa");
+    properties.put("spring.datasource.password", "");
+    properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+    properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+    properties.put("external.inventory.externalInventory.b", "B," + peerB);
+    properties.put("external.inventory.externalInventory.c", "C," + peerC);
+    properties.put("external.client.snapshot-ttl", "0s");
+    properties.put("external.client.delta-sync", "false");
+    properties.put("external.client.replication-delay", "0s");
+    // Passed as arguments so that they take precedence over application.properties
+    String[] args = properties.entrySet().stream()
+        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+        .toArray(String[]::new);
+    return new SpringApplicationBuilder(ServiceAApplication.class).run(args);
+  }
+}
@@ -0,0 +1,89 @@
+package test.servicea.benchmark;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import test.servicea.domain.Item;
+import test.servicea.load.FakePeerCatalog;
+import test.servicea.load.PeerBehavior;
+import test.servicea.service.ItemService;
+
+/**
+ * Measures {@code ItemService.getAllItems} for the local catalog alone and together with two
+ * in-process external catalogs of {@value #PEER_ITEMS} items each, answering without delay or errors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ItemReadBenchmark {
+
+  private static final int PEER_ITEMS = 1_000;
+
+  @Param({"100", "10000"})
+  private int localItems;
+
+  private FakePeerCatalog peerB;
+  private FakePeerCatalog peerC;
+  private ConfigurableApplicationContext context;
+  private ItemService itemService;
+
+  /**
+   * Starts the stub external services and the service, and inserts the local catalog.
+   *
+   * @throws IOException if a stub external service cannot be started
+   */
+  @Setup
+  public void start() throws IOException {
+    PeerBehavior instant = new PeerBehavior(Duration.ZERO, Duration.ZERO, 0, 0, PEER_ITEMS);
+    peerB = new FakePeerCatalog("Inventory-B", instant);
+    peerC = new FakePeerCatalog("Inventory-C", instant);
+    context = BenchmarkApplication.start("jmh-read", peerB.getUrl(), peerC.getUrl());
+    List<Object[]> rows = new ArrayList<>(localItems);
+    for (int i = 0; i < localItems; i++) {
+      rows.add(new Object[] { "Item " + i, i % 100, i / 10.0, "Description of item " + i });
+    }
+    context.getBean(JdbcTemplate.class).batchUpdate("insert into item (id, name, stock, price, description)"
+        + " values (next value for item_seq, ?, ?, ?, ?)", rows);
+    itemService = context.getBean(ItemService.class);
+  }
+
+  /**
+   * Stops the service and the stub external services.
+   */
+  @TearDown
+  public void stop() {
+    context.close();
+    peerB.close();
+    peerC.close();
+  }
+
+  @Benchmark
+  public List<Item> getAllItemsLocal() {
+    return itemService.getAllItems(false);
+  }
+
+  @Benchmark
+  public List<Item> getAllItemsMultiCatalog() {
+    return itemService.getAllItems(true);
+  }
+}
@@ -0,0 +1,68 @@
+package test.servicea.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import test.servicea.domain.Item;
+
+/**
+ * Measures the Jackson serialisation of item lists as written by the controllers.
+ * {@code toBytes} includes the copy into a byte array; {@code toStream} writes to a discarding stream
+ * and shows the cost of the generator alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ItemSerializationBenchmark {
+
+  @Param({"100", "10000", "100000"})
+  private int size;
+
+  private ObjectWriter writer;
+  private List<Item> items;
+
+  /**
+   * Builds the item list and a writer configured like the one of Spring MVC.
+   */
+  @Setup
+  public void prepare() {
+    ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Item.class));
+    items = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      items.add(new Item(i, "Inventory-A: Item " + i, i % 100, i / 10.0, "Description of item " + i));
+    }
+  }
+
+  @Benchmark
+  public byte[] toBytes() throws IOException {
+    return writer.writeValueAsBytes(items);
+  }
+
+  @Benchmark
+  public OutputStream toStream() throws IOException {
+    OutputStream out = OutputStream.nullOutputStream();
+    writer.writeValue(out, items);
+    return out;
+  }
+}
@@ -0,0 +1,76 @@
+package test.servicea.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import test.servicea.domain.Item;
+import test.servicea.domain.dto.ItemDto;
+import test.servicea.service.ItemService;
+
+/**
+ * Measures {@code ItemService.createItem} and {@code ItemService.updateItemById} on H2.
+ * Updates pick a random item out of {@value #ITEMS} created during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ItemWriteBenchmark {
+
+  private static final int ITEMS = 1_000;
+  private static final String UNUSED_PEER = "http://localhost:9/api/inventory";
+
+  private ConfigurableApplicationContext context;
+  private ItemService itemService;
+  private int[] ids;
+
+  /**
+   * Starts the service and creates the items to update.
+   */
+  @Setup
+  public void start() {
+    context = BenchmarkApplication.start("jmh-write", UNUSED_PEER, UNUSED_PEER);
+    itemService = context.getBean(ItemService.class);
+    List<ItemDto> items = new ArrayList<>(ITEMS);
+    for (int i = 0; i < ITEMS; i++) {
+      items.add(new ItemDto("Item " + i, i % 100, i / 10.0, "Description of item " + i));
+    }
+    ids = itemService.createItems(items).stream().mapToInt(Item::getId).toArray();
+  }
+
+  /**
+   * Stops the service.
+   */
+  @TearDown
+  public void stop() {
+    context.close();
+  }
+
+  @Benchmark
+  public Item createItem() {
+    return itemService.createItem(new ItemDto("Created item", 10, 9.99, "Created by the benchmark"));
+  }
+
+  @Benchmark
+  public Item updateItemById() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int id = ids[random.nextInt(ids.length)];
+    return itemService.updateItemById(id, new ItemDto("Updated item", random.nextInt(1000), 19.99, "Updated"));
+  }
+}
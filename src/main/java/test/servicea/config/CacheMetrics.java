@@ -0,0 +1,55 @@
+package test.servicea.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import test.servicea.controller.CatalogResponseCacheFilter;
+import test.servicea.service.impl.ItemCache;
+
+/**
+ * Binds the sizes and counters of the in-process caches to the meter registry.
+ * Publishes {@code inventory.item.cache.size} with the hits, misses and evictions of the {@link ItemCache},
+ * and {@code inventory.response.cache.size}, the number of encoded item lists held by the
+ * {@link CatalogResponseCacheFilter}. The values are read when the registry is scraped.
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+
+  private final ItemCache itemCache;
+  private final CatalogResponseCacheFilter responseCache;
+
+  /**
+   * Constructs a CacheMetrics with the provided caches.
+   *
+   * @param itemCache     the cache of local items
+   * @param responseCache the cache of encoded item lists
+   */
+  public CacheMetrics(ItemCache itemCache, CatalogResponseCacheFilter responseCache) {
+    this.itemCache = itemCache;
+    this.responseCache = responseCache;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("inventory.item.cache.size", itemCache, cache -> cache.getStats().size())
+        .description("Number of items in the local item cache")
+        .register(registry);
+    Gauge.builder("inventory.item.cache.max.size", itemCache, cache -> cache.getStats().maxSize())
+        .description("Maximum number of items in the local item cache")
+        .register(registry);
+    FunctionCounter.builder("inventory.item.cache.hits", itemCache, cache -> cache.getStats().hits())
+        .description("Item lookups answered from the local item cache")
+        .register(registry);
+    FunctionCounter.builder("inventory.item.cache.misses", itemCache, cache -> cache.getStats().misses())
+        .description("Item lookups that went to the database")
+        .register(registry);
+    FunctionCounter.builder("inventory.item.cache.evictions", itemCache, cache -> cache.getStats().evictions())
+        .description("Items evicted from the local item cache")
+        .register(registry);
+    Gauge.builder("inventory.response.cache.size", responseCache, CatalogResponseCacheFilter::size)
+        .description("Number of encoded item lists in the response cache")
+        .register(registry);
+  }
+}
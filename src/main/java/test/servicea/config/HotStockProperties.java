@@ -0,0 +1,102 @@
+package test.servicea.config;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for keeping the stock of designated hot items in memory.
+ * This class binds the configuration properties with the prefix "inventory.hot-stock".
+ * Usage:
+ * - {@code item-ids} lists the items whose stock is reserved and released in memory instead of in
+ *   the database; an empty list disables the mode.
+ * - {@code lease-size} is the number of units a hot item leases from the database at a time.
+ * - {@code flush-interval} is how often the units sold from memory are settled in the database and the units
+ *   leased beyond one block are returned. It bounds the sales a crash leaves unsettled.
+ * - {@code stripes} is the number of counters the stock of each hot item is spread over, so that
+ *   concurrent reservations rarely contend on the same counter.
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.hot-stock")
+public class HotStockProperties {
+
+  private Set<Integer> itemIds = new HashSet<>();
+  private int leaseSize = 100;
+  private Duration flushInterval = Duration.ofMillis(200);
+  private int stripes = 8;
+
+  /**
+   * Retrieves the ids of the items whose stock is kept in memory.
+   *
+   * @return the ids of the hot items
+   */
+  public Set<Integer> getItemIds() {
+    return itemIds;
+  }
+
+  /**
+   * Sets the ids of the items whose stock is kept in memory.
+   *
+   * @param itemIds the ids of the hot items
+   */
+  public void setItemIds(Set<Integer> itemIds) {
+    this.itemIds = itemIds;
+  }
+
+  /**
+   * Retrieves the number of units a hot item takes out of the database at a time.
+   *
+   * @return the size of a lease
+   */
+  public int getLeaseSize() {
+    return leaseSize;
+  }
+
+  /**
+   * Sets the number of units a hot item takes out of the database at a time.
+   *
+   * @param leaseSize the size of a lease
+   */
+  public void setLeaseSize(int leaseSize) {
+    this.leaseSize = leaseSize;
+  }
+
+  /**
+   * Retrieves how often the units leased beyond one block are given back to the database.
+   *
+   * @return the interval between two writes
+   */
+  public Duration getFlushInterval() {
+    return flushInterval;
+  }
+
+  /**
+   * Sets how often the units leased beyond one block are given back to the database.
+   *
+   * @param flushInterval the interval between two writes
+   */
+  public void setFlushInterval(Duration flushInterval) {
+    this.flushInterval = flushInterval;
+  }
+
+  /**
+   * Retrieves the number of counters the stock of each hot item is spread over.
+   *
+   * @return the number of counters per hot item
+   */
+  public int getStripes() {
+    return stripes;
+  }
+
+  /**
+   * Sets the number of counters the stock of each hot item is spread over.
+   *
+   * @param stripes the number of counters per hot item
+   */
+  public void setStripes(int stripes) {
+    this.stripes = stripes;
+  }
+}
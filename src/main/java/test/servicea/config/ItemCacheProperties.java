@@ -0,0 +1,36 @@
+package test.servicea.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the in-process cache of local items.
+ * This class binds the configuration properties with the prefix "inventory.cache".
+ * Usage:
+ * - {@code max-size} is the number of items kept in memory; the least recently used item is evicted
+ *   once it is exceeded. Zero disables the cache.
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.cache")
+public class ItemCacheProperties {
+
+  private int maxSize = 10_000;
+
+  /**
+   * Retrieves the maximum number of items kept in the cache.
+   *
+   * @return the maximum number of cached items, or 0 if caching is disabled
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Sets the maximum number of items kept in the cache.
+   *
+   * @param maxSize the maximum number of cached items, or 0 to disable caching
+   */
+  public void setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+  }
+}
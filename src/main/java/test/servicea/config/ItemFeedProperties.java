@@ -0,0 +1,59 @@
+package test.servicea.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the change feed streamed as Server-Sent Events.
+ * This class binds the configuration properties with the prefix "inventory.feed".
+ * Usage:
+ * - {@code buffer-size} is the number of changes buffered for a subscriber that reads slower than the
+ *   catalog changes; a subscriber that falls further behind is disconnected and resumes from its last event.
+ * - {@code heartbeat} is how often a comment is sent on an idle stream, so that proxies keep it open
+ *   and disconnected subscribers are noticed.
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.feed")
+public class ItemFeedProperties {
+
+  private int bufferSize = 256;
+  private Duration heartbeat = Duration.ofSeconds(15);
+
+  /**
+   * Retrieves the number of changes buffered for each subscriber.
+   *
+   * @return the buffer size per subscriber
+   */
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * Sets the number of changes buffered for each subscriber.
+   *
+   * @param bufferSize the buffer size per subscriber
+   */
+  public void setBufferSize(int bufferSize) {
+    this.bufferSize = bufferSize;
+  }
+
+  /**
+   * Retrieves how often a comment is sent to keep a stream open.
+   *
+   * @return the interval between two heartbeats
+   */
+  public Duration getHeartbeat() {
+    return heartbeat;
+  }
+
+  /**
+   * Sets how often a comment is sent to keep a stream open.
+   *
+   * @param heartbeat the interval between two heartbeats
+   */
+  public void setHeartbeat(Duration heartbeat) {
+    this.heartbeat = heartbeat;
+  }
+}
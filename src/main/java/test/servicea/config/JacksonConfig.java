@@ -0,0 +1,37 @@
+package test.servicea.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import test.servicea.domain.Item;
+import test.servicea.domain.dto.ItemFields;
+
+/**
+ * Configuration class for the JSON mapper of the application.
+ * Items are written through the {@link ItemFields#FILTER_ID} property filter, so a response can name the
+ * fields to write with the filters of its {@link ItemFields}. Responses without filters, and every other
+ * mapper, write items in full.
+ */
+@Configuration
+public class JacksonConfig {
+
+  /**
+   * Defines the customizer adding the item filter to the mapper built by Spring Boot.
+   *
+   * @return a customizer registering the filter on items and writing them in full by default
+   */
+  @Bean
+  public Jackson2ObjectMapperBuilderCustomizer itemFieldsCustomizer() {
+    return builder -> builder.mixIn(Item.class, FilteredItem.class)
+        .filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+  }
+
+  /**
+   * Mix-in naming the property filter of items.
+   */
+  @JsonFilter(ItemFields.FILTER_ID)
+  private interface FilteredItem {
+  }
+}
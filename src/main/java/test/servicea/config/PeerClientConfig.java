@@ -0,0 +1,52 @@
+package test.servicea.config;
+
+import org.springframework.boot.autoconfigure.web.client.RestTemplateBuilderConfigurer;
+import org.springframework.boot.http.client.reactive.ClientHttpConnectorBuilder;
+import org.springframework.boot.http.client.reactive.ClientHttpConnectorSettings;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+
+/**
+ * Configuration class for the clients that call external inventory services.
+ * Applies the timeouts from {@link PeerClientProperties} on top of Spring Boot's
+ * default client configuration, so no peer call can block a request thread indefinitely.
+ */
+@Configuration
+public class PeerClientConfig {
+
+  /**
+   * Defines the {@link RestTemplateBuilder} used to build peer clients.
+   * The builder keeps all of Spring Boot's defaults (message converters, customizers)
+   * and adds the configured connect and read timeouts.
+   *
+   * @param configurer the Spring Boot configurer holding the default builder settings
+   * @param properties the peer client properties providing the timeouts
+   * @return a {@link RestTemplateBuilder} with the peer timeouts applied
+   */
+  @Bean
+  public RestTemplateBuilder restTemplateBuilder(RestTemplateBuilderConfigurer configurer,
+                                                 PeerClientProperties properties) {
+    return configurer.configure(new RestTemplateBuilder())
+        .connectTimeout(properties.getConnectTimeout())
+        .readTimeout(properties.getReadTimeout());
+  }
+
+  /**
+   * Defines the {@link ClientHttpConnector} used by {@code WebClient} instances to stream from peers.
+   * The connector is built by Spring Boot's detected connector builder with the configured
+   * connect and read timeouts applied.
+   *
+   * @param connectorBuilder the Spring Boot builder for the detected HTTP client library
+   * @param settings         the Spring Boot default connector settings
+   * @param properties       the peer client properties providing the timeouts
+   * @return a {@link ClientHttpConnector} with the peer timeouts applied
+   */
+  @Bean
+  public ClientHttpConnector clientHttpConnector(ClientHttpConnectorBuilder<?> connectorBuilder,
+                                                 ClientHttpConnectorSettings settings,
+                                                 PeerClientProperties properties) {
+    return connectorBuilder.build(settings.withTimeouts(properties.getConnectTimeout(), properties.getReadTimeout()));
+  }
+}
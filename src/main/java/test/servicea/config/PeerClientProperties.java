@@ -0,0 +1,317 @@
+package test.servicea.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the HTTP client used to query external inventory services.
+ * This class binds the configuration properties with the prefix "external.client" and
+ * controls how long a multi-catalog request may spend waiting on its peers.
+ * Usage:
+ * - {@code connect-timeout} and {@code read-timeout} bound every single peer call.
+ * - {@code deadline} bounds the whole fan-out; peers that have not answered by then are skipped.
+ * - {@code snapshot-ttl} is how long a peer's last response is served without calling the peer again;
+ *   zero disables the snapshot cache.
+ * - {@code snapshot-max-age} is how long a stale snapshot may still be served while it is refreshed
+ *   or while the peer is failing.
+ * - {@code delta-sync} makes the multi-catalog client keep a mirror of each peer and only request the
+ *   changes since the last synchronization from the peer's {@code /changes} endpoint.
+ * - {@code replication-delay} makes a background job copy every peer into memory, waiting that long between runs;
+ *   multi-catalog reads are then served from the copies without calling peers. Zero disables replication.
+ * - {@code circuit-breaker.*} controls when a failing or slow peer stops being called, see {@link CircuitBreaker}.
+ */
+@Component
+@ConfigurationProperties(prefix = "external.client")
+public class PeerClientProperties {
+
+  private Duration connectTimeout = Duration.ofSeconds(1);
+  private Duration readTimeout = Duration.ofSeconds(2);
+  private Duration deadline = Duration.ofSeconds(3);
+  private Duration snapshotTtl = Duration.ZERO;
+  private Duration snapshotMaxAge = Duration.ofMinutes(5);
+  private boolean deltaSync;
+  private Duration replicationDelay = Duration.ZERO;
+  private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+  /**
+   * Retrieves the maximum time allowed to establish a connection to a peer.
+   *
+   * @return the connect timeout applied to each peer call
+   */
+  public Duration getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  /**
+   * Sets the maximum time allowed to establish a connection to a peer.
+   *
+   * @param connectTimeout the connect timeout applied to each peer call
+   */
+  public void setConnectTimeout(Duration connectTimeout) {
+    this.connectTimeout = connectTimeout;
+  }
+
+  /**
+   * Retrieves the maximum time to wait for response data from a peer.
+   *
+   * @return the read timeout applied to each peer call
+   */
+  public Duration getReadTimeout() {
+    return readTimeout;
+  }
+
+  /**
+   * Sets the maximum time to wait for response data from a peer.
+   *
+   * @param readTimeout the read timeout applied to each peer call
+   */
+  public void setReadTimeout(Duration readTimeout) {
+    this.readTimeout = readTimeout;
+  }
+
+  /**
+   * Retrieves the overall deadline for collecting results from all peers.
+   *
+   * @return the deadline of a single multi-catalog fan-out
+   */
+  public Duration getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Sets the overall deadline for collecting results from all peers.
+   *
+   * @param deadline the deadline of a single multi-catalog fan-out
+   */
+  public void setDeadline(Duration deadline) {
+    this.deadline = deadline;
+  }
+
+  /**
+   * Retrieves how long a peer's last response is served without calling the peer again.
+   *
+   * @return the time-to-live of a peer snapshot, zero if snapshots are disabled
+   */
+  public Duration getSnapshotTtl() {
+    return snapshotTtl;
+  }
+
+  /**
+   * Sets how long a peer's last response is served without calling the peer again.
+   *
+   * @param snapshotTtl the time-to-live of a peer snapshot, zero to disable snapshots
+   */
+  public void setSnapshotTtl(Duration snapshotTtl) {
+    this.snapshotTtl = snapshotTtl;
+  }
+
+  /**
+   * Retrieves the maximum age up to which a stale peer snapshot may still be served.
+   *
+   * @return the maximum age of a served peer snapshot
+   */
+  public Duration getSnapshotMaxAge() {
+    return snapshotMaxAge;
+  }
+
+  /**
+   * Sets the maximum age up to which a stale peer snapshot may still be served.
+   *
+   * @param snapshotMaxAge the maximum age of a served peer snapshot
+   */
+  public void setSnapshotMaxAge(Duration snapshotMaxAge) {
+    this.snapshotMaxAge = snapshotMaxAge;
+  }
+
+  /**
+   * Checks whether peers are synchronized through their changes instead of full downloads.
+   *
+   * @return true if peer catalogs are mirrored and synchronized incrementally, false otherwise
+   */
+  public boolean isDeltaSync() {
+    return deltaSync;
+  }
+
+  /**
+   * Sets whether peers are synchronized through their changes instead of full downloads.
+   *
+   * @param deltaSync true to mirror peer catalogs and synchronize them incrementally
+   */
+  public void setDeltaSync(boolean deltaSync) {
+    this.deltaSync = deltaSync;
+  }
+
+  /**
+   * Retrieves the delay between the end of one replication of the peers and the start of the next.
+   *
+   * @return the replication delay, zero if peers are called on the request path instead
+   */
+  public Duration getReplicationDelay() {
+    return replicationDelay;
+  }
+
+  /**
+   * Sets the delay between the end of one replication of the peers and the start of the next.
+   *
+   * @param replicationDelay the replication delay, zero to call peers on the request path instead
+   */
+  public void setReplicationDelay(Duration replicationDelay) {
+    this.replicationDelay = replicationDelay;
+  }
+
+  /**
+   * Retrieves the settings of the circuit breaker guarding each peer.
+   *
+   * @return the circuit breaker settings
+   */
+  public CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  /**
+   * Settings of the circuit breaker kept for each peer.
+   * The breaker records the outcome of the last {@code window-size} calls. Once at least
+   * {@code minimum-calls} are recorded and the failure rate or the rate of calls slower than
+   * {@code slow-call-duration} reaches its threshold, the breaker opens and the peer is skipped.
+   * After {@code open-duration} the breaker lets {@code half-open-calls}
+   * probe calls through; it closes again if they all succeed in time and opens again otherwise.
+   */
+  public static class CircuitBreaker {
+
+    private int windowSize = 10;
+    private int minimumCalls = 5;
+    private int failureThreshold = 50;
+    private int slowCallThreshold = 80;
+    private Duration slowCallDuration = Duration.ofSeconds(1);
+    private Duration openDuration = Duration.ofSeconds(30);
+    private int halfOpenCalls = 1;
+
+    /**
+     * Retrieves the number of most recent calls the failure and slow-call rates are computed from.
+     *
+     * @return the size of the sliding window
+     */
+    public int getWindowSize() {
+      return windowSize;
+    }
+
+    /**
+     * Sets the number of most recent calls the failure and slow-call rates are computed from.
+     *
+     * @param windowSize the size of the sliding window
+     */
+    public void setWindowSize(int windowSize) {
+      this.windowSize = windowSize;
+    }
+
+    /**
+     * Retrieves the number of calls that must be recorded before the breaker may open.
+     *
+     * @return the minimum number of recorded calls
+     */
+    public int getMinimumCalls() {
+      return minimumCalls;
+    }
+
+    /**
+     * Sets the number of calls that must be recorded before the breaker may open.
+     *
+     * @param minimumCalls the minimum number of recorded calls
+     */
+    public void setMinimumCalls(int minimumCalls) {
+      this.minimumCalls = minimumCalls;
+    }
+
+    /**
+     * Retrieves the percentage of failed calls at which the breaker opens.
+     *
+     * @return the failure rate threshold, in percent
+     */
+    public int getFailureThreshold() {
+      return failureThreshold;
+    }
+
+    /**
+     * Sets the percentage of failed calls at which the breaker opens.
+     *
+     * @param failureThreshold the failure rate threshold, in percent
+     */
+    public void setFailureThreshold(int failureThreshold) {
+      this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * Retrieves the percentage of slow calls at which the breaker opens.
+     *
+     * @return the slow-call rate threshold, in percent
+     */
+    public int getSlowCallThreshold() {
+      return slowCallThreshold;
+    }
+
+    /**
+     * Sets the percentage of slow calls at which the breaker opens.
+     *
+     * @param slowCallThreshold the slow-call rate threshold, in percent
+     */
+    public void setSlowCallThreshold(int slowCallThreshold) {
+      this.slowCallThreshold = slowCallThreshold;
+    }
+
+    /**
+     * Retrieves the duration above which a call counts as slow.
+     *
+     * @return the slow-call duration
+     */
+    public Duration getSlowCallDuration() {
+      return slowCallDuration;
+    }
+
+    /**
+     * Sets the duration above which a call counts as slow.
+     *
+     * @param slowCallDuration the slow-call duration
+     */
+    public void setSlowCallDuration(Duration slowCallDuration) {
+      this.slowCallDuration = slowCallDuration;
+    }
+
+    /**
+     * Retrieves how long an open breaker skips its peer before letting probe calls through.
+     *
+     * @return the wait duration in the open state
+     */
+    public Duration getOpenDuration() {
+      return openDuration;
+    }
+
+    /**
+     * Sets how long an open breaker skips its peer before letting probe calls through.
+     *
+     * @param openDuration the wait duration in the open state
+     */
+    public void setOpenDuration(Duration openDuration) {
+      this.openDuration = openDuration;
+    }
+
+    /**
+     * Retrieves the number of probe calls let through by a half-open breaker.
+     *
+     * @return the number of permitted calls in the half-open state
+     */
+    public int getHalfOpenCalls() {
+      return halfOpenCalls;
+    }
+
+    /**
+     * Sets the number of probe calls let through by a half-open breaker.
+     *
+     * @param halfOpenCalls the number of permitted calls in the half-open state
+     */
+    public void setHalfOpenCalls(int halfOpenCalls) {
+      this.halfOpenCalls = halfOpenCalls;
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package test.servicea.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Client interceptor turning repeated GET requests to a peer into conditional requests.
+ * The body of a successful response carrying an ETag is kept per URI. The next request to the
+ * same URI sends that ETag in {@code If-None-Match}, and a 304 (Not Modified) answer is replaced
+ * by the kept response, so an unchanged peer only costs a header round trip.
+ * Only requests without a query string are cached, so one response is kept per configured peer
+ * URL; pages, field selections and change queries are sent as they are and never kept.
+ * The interceptor is meant for the peer client only, not for every client built by the application.
+ */
+public class PeerEtagInterceptor implements ClientHttpRequestInterceptor {
+
+  private final Map<URI, CachedResponse> responses = new ConcurrentHashMap<>();
+
+  @Override
+  public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+      throws IOException {
+    URI uri = request.getURI();
+    if (request.getMethod() != HttpMethod.GET || uri.getRawQuery() != null) {
+      return execution.execute(request, body);
+    }
+    CachedResponse cached = responses.get(uri);
+    if (cached != null) {
+      request.getHeaders().setIfNoneMatch(cached.etag);
+    }
+
+    ClientHttpResponse response = execution.execute(request, body);
+    HttpStatusCode status = response.getStatusCode();
+    if (cached != null && status.isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+      response.close();
+      return cached;
+    }
+    if (!status.is2xxSuccessful()) {
+      return response;
+    }
+    String etag = response.getHeaders().getETag();
+    if (etag == null) {
+      responses.remove(uri);
+      return response;
+    }
+    try (response) {
+      CachedResponse fresh = new CachedResponse(etag, status, new LinkedMultiValueMap<>(response.getHeaders()),
+          StreamUtils.copyToByteArray(response.getBody()));
+      responses.put(uri, fresh);
+      return fresh;
+    }
+  }
+
+  /**
+   * Response kept in memory, which can be read any number of times.
+   */
+  private static final class CachedResponse implements ClientHttpResponse {
+
+    private final String etag;
+    private final HttpStatusCode status;
+    private final MultiValueMap<String, String> headers;
+    private final byte[] content;
+
+    private CachedResponse(String etag, HttpStatusCode status, MultiValueMap<String, String> headers,
+                           byte[] content) {
+      this.etag = etag;
+      this.status = status;
+      this.headers = headers;
+      this.content = content;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() {
+      return status;
+    }
+
+    @Override
+    public String getStatusText() {
+      return status instanceof HttpStatus httpStatus ? httpStatus.getReasonPhrase() : "";
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    @Override
+    public InputStream getBody() {
+      return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public void close() {
+      // Nothing to release, the content is held in memory
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package test.servicea.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the cache of encoded item list responses.
+ * This class binds the configuration properties with the prefix "inventory.response-cache".
+ * Usage:
+ * - {@code max-entries} is the number of distinct requests, such as different pages, whose encoded
+ *   response is kept for the current catalog version; the least recently used one is dropped beyond it.
+ *   Zero disables the cache.
+ * - {@code min-gzip-size} is the size in bytes from which a response is also kept gzip-compressed.
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.response-cache")
+public class ResponseCacheProperties {
+
+  private int maxEntries = 64;
+  private int minGzipSize = 1024;
+
+  /**
+   * Retrieves the maximum number of responses kept in the cache.
+   *
+   * @return the maximum number of cached responses, or 0 if caching is disabled
+   */
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  /**
+   * Sets the maximum number of responses kept in the cache.
+   *
+   * @param maxEntries the maximum number of cached responses, or 0 to disable caching
+   */
+  public void setMaxEntries(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * Retrieves the size from which a response is also kept gzip-compressed.
+   *
+   * @return the minimum size of a compressed response in bytes
+   */
+  public int getMinGzipSize() {
+    return minGzipSize;
+  }
+
+  /**
+   * Sets the size from which a response is also kept gzip-compressed.
+   *
+   * @param minGzipSize the minimum size of a compressed response in bytes
+   */
+  public void setMinGzipSize(int minGzipSize) {
+    this.minGzipSize = minGzipSize;
+  }
+}
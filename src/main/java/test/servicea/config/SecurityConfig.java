@@ -1,5 +1,6 @@
 package test.servicea.config;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.context.annotation.Bean;
@@ -50,17 +51,24 @@ public class SecurityConfig {
    * Configures the Cross-Origin Resource Sharing (CORS) settings for the application.
    * This method defines the allowed origins, allowed methods, allowed headers, exposed headers,
    * credentials policy, and maximum age for preflight requests. The configuration is applied
-   * to all endpoints within the application.
+   * to all endpoints within the application. When the timing breakdown is enabled, its
+   * {@code Server-Timing} header is exposed too, so that browser scripts can read it.
    *
+   * @param serverTiming the properties telling whether responses carry a {@code Server-Timing} header
    * @return a {@link CorsConfigurationSource} object containing the CORS configuration settings
    */
   @Bean
-  public CorsConfigurationSource corsConfigurationSource() {
+  public CorsConfigurationSource corsConfigurationSource(ServerTimingProperties serverTiming) {
+    List<String> exposedHeaders = new ArrayList<>(List.of("Authorization", "Link", "ETag", "X-Catalog-Freshness"));
+    if (serverTiming.isEnabled()) {
+      exposedHeaders.add("Server-Timing");
+    }
+
     CorsConfiguration configuration = new CorsConfiguration();
     configuration.setAllowedOriginPatterns(List.of("*"));
     configuration.setAllowedMethods(List.of("GET", "POST", "PUT"));
     configuration.setAllowedHeaders(List.of("*"));
-    configuration.setExposedHeaders(List.of("Authorization", "Link"));
+    configuration.setExposedHeaders(exposedHeaders);
     configuration.setAllowCredentials(true);
     configuration.setMaxAge(3600L);
 
@@ -0,0 +1,78 @@
+package test.servicea.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the per-request timing breakdown of inventory reads.
+ * This class binds the configuration properties with the prefix "inventory.server-timing".
+ * Usage:
+ * - {@code enabled} adds a {@code Server-Timing} header with the phases of each request. Responses are
+ *   buffered to time their serialisation, so it is off by default.
+ * - {@code slow-threshold} is the duration from which a request is logged with its phases.
+ * - {@code log-sample-rate} is the fraction of slow requests that are logged, from 0 to 1.
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.server-timing")
+public class ServerTimingProperties {
+
+  private boolean enabled;
+  private Duration slowThreshold = Duration.ofSeconds(1);
+  private double logSampleRate = 1.0;
+
+  /**
+   * Checks whether the timing breakdown is added to responses.
+   *
+   * @return true if requests are timed
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Sets whether the timing breakdown is added to responses.
+   *
+   * @param enabled true to time requests
+   */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Retrieves the duration from which a request is logged with its phases.
+   *
+   * @return the slow request threshold
+   */
+  public Duration getSlowThreshold() {
+    return slowThreshold;
+  }
+
+  /**
+   * Sets the duration from which a request is logged with its phases.
+   *
+   * @param slowThreshold the slow request threshold
+   */
+  public void setSlowThreshold(Duration slowThreshold) {
+    this.slowThreshold = slowThreshold;
+  }
+
+  /**
+   * Retrieves the fraction of slow requests that are logged.
+   *
+   * @return the sample rate, from 0 to 1
+   */
+  public double getLogSampleRate() {
+    return logSampleRate;
+  }
+
+  /**
+   * Sets the fraction of slow requests that are logged.
+   *
+   * @param logSampleRate the sample rate, from 0 to 1
+   */
+  public void setLogSampleRate(double logSampleRate) {
+    this.logSampleRate = logSampleRate;
+  }
+}
@@ -0,0 +1,93 @@
+package test.servicea.controller;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import test.servicea.service.impl.CatalogVersion;
+
+/**
+ * Filter answering conditional requests for the local item list.
+ * {@code GET /api/inventory} without {@code multi-catalog=true} is tagged with a strong ETag derived
+ * from the {@link CatalogVersion}. A request whose {@code If-None-Match} matches the current version
+ * is answered with 304 (Not Modified) before it reaches the controller, so the database is not queried.
+ * The gzip-compressed body sent by the {@link CatalogResponseCacheFilter} is a different representation
+ * and is tagged with its own variant of the tag, which {@code If-None-Match} may name as well.
+ * Such responses are still timed in {@code http.server.requests} under the URI of the item list.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class CatalogEtagFilter extends OncePerRequestFilter {
+
+  private static final String LIST_PATH = "/api/inventory";
+
+  private final CatalogVersion catalogVersion;
+
+  /**
+   * Constructs a CatalogEtagFilter with the provided catalog version.
+   *
+   * @param catalogVersion the version of the local catalog
+   */
+  public CatalogEtagFilter(CatalogVersion catalogVersion) {
+    super();
+    this.catalogVersion = catalogVersion;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String accept = request.getHeader(HttpHeaders.ACCEPT);
+    return !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))
+        || !LIST_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()))
+        || !MultiCatalogParameter.isLocal(request)
+        || accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    // Read the version before the data so that the tag is never newer than the body it is sent with
+    String etag = catalogVersion.getEtag();
+    String gzipEtag = gzipVariant(etag);
+    String validator = isRequested(request, gzipEtag) ? gzipEtag : etag;
+    if (new ServletWebRequest(request, response).checkNotModified(validator)) {
+      ServerHttpObservationFilter.findObservationContext(request)
+          .ifPresent(context -> context.setPathPattern(LIST_PATH));
+      return;
+    }
+    response.setHeader(HttpHeaders.ETAG, etag);
+    filterChain.doFilter(request, response);
+  }
+
+  /**
+   * Builds the tag of the gzip-compressed representation of the item list from the tag of its identity.
+   *
+   * @param etag the quoted entity tag of the uncompressed item list
+   * @return the quoted entity tag of the compressed item list
+   */
+  public static String gzipVariant(String etag) {
+    return etag.substring(0, etag.length() - 1) + "-gzip\"";
+  }
+
+  /**
+   * Checks whether a conditional request names the given tag in its {@code If-None-Match} header.
+   *
+   * @param request the request
+   * @param etag    the quoted entity tag
+   * @return true if the tag is listed, weak or strong
+   */
+  private static boolean isRequested(HttpServletRequest request, String etag) {
+    return Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH)).stream()
+        .anyMatch(header -> header.contains(etag));
+  }
+}
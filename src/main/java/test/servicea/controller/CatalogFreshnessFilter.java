@@ -0,0 +1,79 @@
+package test.servicea.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import test.servicea.domain.dto.CatalogFreshness;
+import test.servicea.service.ItemService;
+
+/**
+ * Filter reporting the freshness of the replicated external catalogs on multi-catalog reads.
+ * {@code GET /api/inventory?multi-catalog=true} gets one {@code X-Catalog-Freshness} header per external
+ * catalog, for example {@code "B";replicated-at=2025-01-01T10:00:00Z;age=12;items=340}, or
+ * {@code "B";replicated-at=never} if the catalog has not been replicated yet.
+ * No header is added when external catalogs are called per request instead of replicated.
+ */
+@Component
+public class CatalogFreshnessFilter extends OncePerRequestFilter {
+
+  /**
+   * Name of the response header carrying the freshness of an external catalog.
+   */
+  public static final String FRESHNESS_HEADER = "X-Catalog-Freshness";
+
+  private static final String LIST_PATH = "/api/inventory";
+
+  private final ItemService itemService;
+
+  /**
+   * Constructs a CatalogFreshnessFilter with the provided service.
+   *
+   * @param itemService the service providing the freshness of the replicated catalogs
+   */
+  public CatalogFreshnessFilter(ItemService itemService) {
+    super();
+    this.itemService = itemService;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !"GET".equals(request.getMethod())
+        || !LIST_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()))
+        || !MultiCatalogParameter.isRequested(request);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    // Read the freshness before the data so that the headers never claim newer data than the body holds
+    Instant now = Instant.now();
+    for (CatalogFreshness freshness : itemService.getCatalogFreshness()) {
+      response.addHeader(FRESHNESS_HEADER, format(freshness, now));
+    }
+    filterChain.doFilter(request, response);
+  }
+
+  /**
+   * Formats the freshness of an external catalog as a header value.
+   *
+   * @param freshness the freshness of the external catalog
+   * @param now       the current time, used to compute the age of the replica
+   * @return the header value describing the freshness
+   */
+  private static String format(CatalogFreshness freshness, Instant now) {
+    String name = "\"" + freshness.getName() + "\"";
+    if (freshness.getReplicatedAt() == null) {
+      return name + ";replicated-at=never";
+    }
+    return name + ";replicated-at=" + freshness.getReplicatedAt()
+        + ";age=" + Duration.between(freshness.getReplicatedAt(), now).toSeconds()
+        + ";items=" + freshness.getItemCount();
+  }
+}
@@ -0,0 +1,250 @@
+package test.servicea.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import test.servicea.config.ResponseCacheProperties;
+import test.servicea.domain.dto.ItemFields;
+import test.servicea.service.impl.CatalogVersion;
+
+/**
+ * Filter serving the local item list from its encoded bytes while the catalog is unchanged.
+ * {@code GET /api/inventory} without {@code multi-catalog=true}, including its pages, is serialised once
+ * per catalog version and value of the parameters the endpoint reads; later requests get the same bytes
+ * without reaching the controller, so neither the database nor Jackson is involved. Other parameters, such
+ * as cache busters, share the entry. The least recently used response is dropped once the configured number
+ * of responses is exceeded. Responses from the configured minimum size on are also kept gzip-compressed and
+ * sent with {@code Content-Encoding: gzip} to clients accepting it, under their own entity tag.
+ * Every write goes through the {@link CatalogVersion}, so a cached response is never served once a write
+ * completed, and the cache is emptied as soon as the version moves forward.
+ * Runs after the {@link CatalogEtagFilter}, which answers conditional requests first. Responses served from
+ * the cache are still timed in {@code http.server.requests} under the URI of the item list.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+
+  private static final String LIST_PATH = "/api/inventory";
+  private static final String GZIP = "gzip";
+  private static final List<String> KEY_PARAMETERS =
+      List.of(MultiCatalogParameter.NAME, "limit", "after", ItemFields.PARAMETER);
+
+  private final CatalogVersion catalogVersion;
+  private final ResponseCacheProperties properties;
+  private final Map<String, CachedResponse> responses;
+
+  /**
+   * Constructs a CatalogResponseCacheFilter with the provided catalog version and properties.
+   *
+   * @param catalogVersion the version of the local catalog, invalidating the cached responses
+   * @param properties     the properties bounding the number of cached responses
+   */
+  public CatalogResponseCacheFilter(CatalogVersion catalogVersion, ResponseCacheProperties properties) {
+    super();
+    this.catalogVersion = catalogVersion;
+    this.properties = properties;
+    this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+        return size() > properties.getMaxEntries();
+      }
+    };
+    Map<String, CachedResponse> cached = responses;
+    catalogVersion.onAdvance(version -> {
+      synchronized (cached) {
+        cached.clear();
+      }
+    });
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return properties.getMaxEntries() <= 0
+        || !"GET".equals(request.getMethod())
+        || !LIST_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()))
+        || !MultiCatalogParameter.isLocal(request)
+        || !acceptsJson(request.getHeader(HttpHeaders.ACCEPT));
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    // Read the version before the data so that a response is never cached under a newer version than it shows
+    long version = catalogVersion.current();
+    String key = keyOf(request);
+    CachedResponse cached;
+    synchronized (responses) {
+      cached = responses.get(key);
+    }
+    if (cached != null && cached.version() == version) {
+      ServerHttpObservationFilter.findObservationContext(request)
+          .ifPresent(context -> context.setPathPattern(LIST_PATH));
+      write(cached, request, response);
+      return;
+    }
+    ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+    filterChain.doFilter(request, wrapper);
+    if (wrapper.getStatus() != HttpServletResponse.SC_OK || !isJson(wrapper.getContentType())) {
+      wrapper.copyBodyToResponse();
+      return;
+    }
+    cached = encode(version, wrapper);
+    synchronized (responses) {
+      responses.put(key, cached);
+    }
+    write(cached, request, response);
+  }
+
+  /**
+   * Retrieves the number of cached responses.
+   *
+   * @return the number of responses currently cached
+   */
+  public int size() {
+    synchronized (responses) {
+      return responses.size();
+    }
+  }
+
+  /**
+   * Keeps the rendered body of a response, gzip-compressed as well if it is large enough.
+   *
+   * @param version the catalog version the body was read at
+   * @param wrapper the response holding the rendered body
+   * @return the cached response
+   * @throws IOException if compressing the body fails
+   */
+  private CachedResponse encode(long version, ContentCachingResponseWrapper wrapper) throws IOException {
+    byte[] body = wrapper.getContentAsByteArray();
+    byte[] gzipped = null;
+    if (body.length >= properties.getMinGzipSize()) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+      try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+        gzip.write(body);
+      }
+      gzipped = out.toByteArray();
+    }
+    return new CachedResponse(version, wrapper.getContentType(), wrapper.getHeader(HttpHeaders.LINK), body, gzipped);
+  }
+
+  /**
+   * Writes a cached response, compressed if the client accepts gzip and a compressed body is kept.
+   *
+   * @param cached   the cached response
+   * @param request  the request being answered
+   * @param response the response to write to
+   * @throws IOException if writing the response fails
+   */
+  private static void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType(cached.contentType());
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (cached.link() != null) {
+      response.setHeader(HttpHeaders.LINK, cached.link());
+    }
+    byte[] body = cached.body();
+    if (cached.gzipped() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+      // A different byte sequence needs a different strong validator
+      String etag = response.getHeader(HttpHeaders.ETAG);
+      if (etag != null) {
+        response.setHeader(HttpHeaders.ETAG, CatalogEtagFilter.gzipVariant(etag));
+      }
+      body = cached.gzipped();
+    }
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+  }
+
+  /**
+   * Builds the cache key of a request from the query parameters read by the item list.
+   *
+   * @param request the request
+   * @return the key identifying the response to the request
+   */
+  private static String keyOf(HttpServletRequest request) {
+    StringBuilder key = new StringBuilder();
+    for (String name : KEY_PARAMETERS) {
+      key.append(name).append('=').append(Arrays.toString(request.getParameterValues(name))).append('&');
+    }
+    return key.toString();
+  }
+
+  /**
+   * Checks whether a request accepts the JSON list rather than, for example, the NDJSON stream.
+   *
+   * @param accept the Accept header of the request, possibly null
+   * @return true if the header is missing or includes application/json
+   */
+  private static boolean acceptsJson(String accept) {
+    if (accept == null) {
+      return true;
+    }
+    try {
+      return !accept.contains(MediaType.APPLICATION_NDJSON_VALUE)
+          && MediaType.parseMediaTypes(accept).stream().anyMatch(MediaType.APPLICATION_JSON::isCompatibleWith);
+    } catch (InvalidMediaTypeException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Checks whether a content type is JSON.
+   *
+   * @param contentType the content type of the response, possibly null
+   * @return true if the response is JSON
+   */
+  private static boolean isJson(String contentType) {
+    return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+  }
+
+  /**
+   * Checks whether a client accepts gzip-compressed responses.
+   *
+   * @param acceptEncoding the Accept-Encoding header of the request, possibly null
+   * @return true if gzip is listed without a zero quality
+   */
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split(";");
+      if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+        return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Encoded response to the item list at a catalog version.
+   *
+   * @param version     the catalog version the response shows
+   * @param contentType the content type of the response
+   * @param link        the Link header pointing at the next page, or null
+   * @param body        the serialised items
+   * @param gzipped     the serialised items compressed with gzip, or null if the body is too small
+   */
+  private record CachedResponse(long version, String contentType, String link, byte[] body, byte[] gzipped) {
+  }
+}
@@ -5,6 +5,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -47,4 +48,22 @@ public class GlobalExceptionHandler {
 
     return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
   }
+
+  /**
+   * Handles OptimisticLockingFailureException, raised when an item was changed by another write
+   * between being read and being updated, and returns a 412 (Precondition Failed) response.
+   *
+   * @param exception the OptimisticLockingFailureException thrown when the update's version check fails
+   * @return a ResponseEntity with a body containing the HTTP status code and error message
+   */
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(
+      OptimisticLockingFailureException exception) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("status", HttpStatus.PRECONDITION_FAILED.value());
+    body.put("error", HttpStatus.PRECONDITION_FAILED.getReasonPhrase());
+    body.put("message", "The item was changed concurrently, read it again and retry the update");
+
+    return new ResponseEntity<>(body, HttpStatus.PRECONDITION_FAILED);
+  }
 }
@@ -0,0 +1,81 @@
+package test.servicea.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import test.servicea.domain.Item;
+import test.servicea.domain.dto.ItemBatchResult;
+import test.servicea.domain.dto.ItemDto;
+import test.servicea.service.ItemService;
+import test.servicea.service.impl.ItemValidator;
+
+/**
+ * Controller creating items in bulk.
+ */
+@RestController
+@RequestMapping("/api/inventory/batch")
+public class ItemBatchController {
+
+  private static final int MAX_BATCH_SIZE = 1000;
+
+  private final ItemService itemService;
+  private final ItemValidator validator;
+
+  /**
+   * Constructs an ItemBatchController with the provided service and validator.
+   *
+   * @param itemService the service used to persist items
+   * @param validator   the validator checking each item of a batch
+   */
+  public ItemBatchController(ItemService itemService, ItemValidator validator) {
+    this.itemService = itemService;
+    this.validator = validator;
+  }
+
+  /**
+   * Creates the items of a batch in a single transaction.
+   * Every item is validated on its own: valid items are created even if others are rejected,
+   * and the response reports the id of every created item and the errors of every rejected one.
+   *
+   * @param itemDtos the data transfer objects of the items to create, at most 1000
+   * @return a ResponseEntity containing the outcome of every item of the batch along with an HTTP status
+   *         of 201 (Created) if any item was created, or 400 (Bad Request) if every item was rejected
+   */
+  @PostMapping
+  public ResponseEntity<ItemBatchResult> createItems(@RequestBody List<ItemDto> itemDtos) {
+    if (itemDtos.isEmpty() || itemDtos.size() > MAX_BATCH_SIZE) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Batch must contain between 1 and " + MAX_BATCH_SIZE + " items");
+    }
+    List<ItemDto> valid = new ArrayList<>(itemDtos.size());
+    List<Integer> validIndexes = new ArrayList<>(itemDtos.size());
+    List<ItemBatchResult.Failure> errors = new ArrayList<>();
+    for (int i = 0; i < itemDtos.size(); i++) {
+      Map<String, String> messages = validator.validate(itemDtos.get(i));
+      if (messages.isEmpty()) {
+        valid.add(itemDtos.get(i));
+        validIndexes.add(i);
+      } else {
+        errors.add(new ItemBatchResult.Failure(i, messages));
+      }
+    }
+
+    List<ItemBatchResult.Created> created = new ArrayList<>(valid.size());
+    if (!valid.isEmpty()) {
+      List<Item> items = itemService.createItems(valid);
+      for (int i = 0; i < items.size(); i++) {
+        created.add(new ItemBatchResult.Created(validIndexes.get(i), items.get(i).getId()));
+      }
+    }
+    HttpStatus status = created.isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.CREATED;
+    return ResponseEntity.status(status).body(new ItemBatchResult(created, errors));
+  }
+}
@@ -0,0 +1,36 @@
+package test.servicea.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import test.servicea.service.impl.ItemCache;
+
+/**
+ * Controller exposing the statistics of the in-process item cache.
+ */
+@RestController
+@RequestMapping("/api/inventory/cache")
+public class ItemCacheController {
+
+  private final ItemCache itemCache;
+
+  /**
+   * Constructs an ItemCacheController with the provided cache.
+   *
+   * @param itemCache the cache of local items
+   */
+  public ItemCacheController(ItemCache itemCache) {
+    this.itemCache = itemCache;
+  }
+
+  /**
+   * Retrieves the size and the hit, miss and eviction counters of the item cache.
+   *
+   * @return a ResponseEntity containing the cache statistics along with an HTTP status of 200 (OK)
+   */
+  @GetMapping
+  public ResponseEntity<ItemCache.Stats> getStats() {
+    return ResponseEntity.ok(itemCache.getStats());
+  }
+}
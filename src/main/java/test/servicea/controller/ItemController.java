@@ -2,20 +2,32 @@ package test.servicea.controller;
 
 
 import java.util.List;
+import java.util.regex.Pattern;
 
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import test.servicea.domain.Item;
+import test.servicea.domain.dto.ItemChanges;
 import test.servicea.domain.dto.ItemDto;
+import test.servicea.domain.dto.ItemFields;
+import test.servicea.domain.dto.ItemPage;
+import test.servicea.domain.dto.StockQuantityDto;
 import test.servicea.service.ItemService;
 
 /**
@@ -26,6 +38,8 @@ import test.servicea.service.ItemService;
 @RequestMapping("/api/inventory")
 public class ItemController {
 
+  private static final Pattern VERSION_TAG = Pattern.compile("\"\\d{1,18}\"");
+
   private final ItemService itemService;
 
   /**
@@ -55,18 +69,97 @@ public class ItemController {
    * @param multiCatalog a boolean flag indicating whether to retrieve items
    *                     from multiple catalogs (true) or a single catalog (false);
    *                     defaults to false if not specified
+   * @param fields       the comma-separated fields to return for each item; all fields if not specified
    * @return a ResponseEntity containing a list of Item objects along with an HTTP status of 200 (OK)
    */
   @GetMapping
   public ResponseEntity<List<Item>> getAll(
-      @RequestParam(name = "multi-catalog", required = false, defaultValue = "false") boolean multiCatalog
+      @RequestParam(name = "multi-catalog", required = false, defaultValue = "false") boolean multiCatalog,
+      @RequestParam(name = ItemFields.PARAMETER, required = false) String fields
   ) {
-    List<Item> items = itemService.getAllItems(multiCatalog);
+    ItemFields itemFields = ItemFields.parse(fields);
+    List<Item> items = itemFields.isAll()
+        ? itemService.getAllItems(multiCatalog)
+        : itemService.getAllItems(multiCatalog, itemFields);
     return ResponseEntity.ok(items);
   }
 
+  /**
+   * Retrieves one page of items, optionally across multiple catalogs, using keyset pagination.
+   * If more items follow, the response carries a {@code Link} header with relation {@code next}
+   * pointing at the same request with the cursor of the next page as {@code after}.
+   *
+   * @param multiCatalog a boolean flag indicating whether to page through items
+   *                     from multiple catalogs (true) or a single catalog (false);
+   *                     defaults to false if not specified
+   * @param limit        the maximum number of items on the page
+   * @param after        the cursor of the previous page; omitted for the first page
+   * @param fields       the comma-separated fields to return for each item; all fields if not specified
+   * @return a ResponseEntity containing the items of the page along with an HTTP status of 200 (OK)
+   */
+  @GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<List<Item>> getPage(
+      @RequestParam(name = "multi-catalog", required = false, defaultValue = "false") boolean multiCatalog,
+      @RequestParam(name = "limit") int limit,
+      @RequestParam(name = "after", required = false) String after,
+      @RequestParam(name = ItemFields.PARAMETER, required = false) String fields
+  ) {
+    ItemFields itemFields = ItemFields.parse(fields);
+    ItemPage page = itemFields.isAll()
+        ? itemService.getItemPage(multiCatalog, limit, after)
+        : itemService.getItemPage(multiCatalog, limit, after, itemFields);
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.getNext() != null) {
+      String next = nextPage(multiCatalog, limit, page.getNext(), fields);
+      response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+    }
+    return response.body(page.getItems());
+  }
+
+  /**
+   * Streams all items as newline-delimited JSON, optionally across multiple catalogs.
+   * Local items are written immediately and items from other catalogs follow as they arrive,
+   * so the response never has to hold the whole merged catalog in memory.
+   *
+   * @param multiCatalog a boolean flag indicating whether to stream items
+   *                     from multiple catalogs (true) or a single catalog (false);
+   *                     defaults to false if not specified
+   * @param fields       the comma-separated fields to return for each item; all fields if not specified
+   * @return a stream of Item objects, or of the requested fields of each item, written as one JSON
+   *         document per line
+   */
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<?> streamAll(
+      @RequestParam(name = "multi-catalog", required = false, defaultValue = "false") boolean multiCatalog,
+      @RequestParam(name = ItemFields.PARAMETER, required = false) String fields
+  ) {
+    ItemFields itemFields = ItemFields.parse(fields);
+    if (itemFields.isAll()) {
+      return itemService.streamAllItems(multiCatalog);
+    }
+    // Streamed items bypass the response body advice, so each one carries the filter of the fields
+    return itemService.streamAllItems(multiCatalog, itemFields).map(itemFields::filter);
+  }
+
+  /**
+   * Retrieves the items changed since the given catalog version.
+   * Callers keep the returned version and pass it as {@code since} on their next request,
+   * so they only receive the items created or updated in between.
+   *
+   * @param since the catalog version the caller is up to date with; 0 to receive all items
+   * @return a ResponseEntity containing the changed items and the current catalog version
+   *         along with an HTTP status of 200 (OK)
+   */
+  @GetMapping("/changes")
+  public ResponseEntity<ItemChanges> getChanges(
+      @RequestParam(name = "since", required = false, defaultValue = "0") long since
+  ) {
+    return ResponseEntity.ok(itemService.getChangesSince(since));
+  }
+
   /**
    * Retrieves a item resource by its unique identifier.
+   * The response carries the version of the item as its ETag, to be sent back as {@code If-Match} on updates.
    *
    * @param id the unique identifier of the item to retrieve
    * @return a ResponseEntity containing the item if found with an HTTP status of 200 (OK),
@@ -78,26 +171,34 @@ public class ItemController {
     if (item == null) {
       return ResponseEntity.notFound().build();
     }
-    return ResponseEntity.ok(item);
+    return ResponseEntity.ok().eTag(etag(item)).body(item);
   }
 
   /**
    * Updates an existing item resource identified by its unique identifier
    * using the data provided in the ItemDto object.
+   * With an {@code If-Match} header holding the item's ETag the update only succeeds if nobody changed
+   * the item since it was read; {@code If-Match: *} or no header updates whatever version is stored.
    *
-   * @param id the unique identifier of the item to update
+   * @param id      the unique identifier of the item to update
+   * @param ifMatch the ETag of the version the update is based on, or null
    * @param itemDto the data transfer object containing updated details for the item
-   * @return a ResponseEntity containing the updated item with an HTTP status of 200 (OK)
-   *         if the update is successful, or an HTTP status of 404 (Not Found)
-   *         if the item with the specified ID does not exist
+   * @return a ResponseEntity containing the updated item and its new ETag with an HTTP status of 200 (OK)
+   *         if the update is successful, an HTTP status of 404 (Not Found) if the item with the
+   *         specified ID does not exist, or 412 (Precondition Failed) if the item has a different version
    */
   @PutMapping("/{id}")
-  public ResponseEntity<Item> updateItemById(@PathVariable int id, @Valid @RequestBody ItemDto itemDto) {
-    Item item = itemService.updateItemById(id, itemDto);
+  public ResponseEntity<Item> updateItemById(@PathVariable int id,
+                                             @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+                                             String ifMatch,
+                                             @Valid @RequestBody ItemDto itemDto) {
+    Item item = ifMatch == null || "*".equals(ifMatch.trim())
+        ? itemService.updateItemById(id, itemDto)
+        : itemService.updateItemById(id, itemDto, parseVersion(ifMatch));
     if (item == null) {
       return ResponseEntity.notFound().build();
     }
-    return ResponseEntity.ok(item);
+    return ResponseEntity.ok().eTag(etag(item)).body(item);
   }
 
   /**
@@ -137,4 +238,85 @@ public class ItemController {
     }
     return ResponseEntity.ok(item);
   }
+
+  /**
+   * Reserves units of an item's stock, for example during checkout.
+   * The stock is checked and decremented by a single conditional update,
+   * so concurrent reservations never oversell the item.
+   *
+   * @param id          the unique identifier of the item
+   * @param stockChange the number of units to reserve
+   * @return a ResponseEntity with an HTTP status of 204 (No Content) if the units were reserved;
+   *         404 (Not Found) if the item does not exist and 409 (Conflict) if too few units are in stock
+   */
+  @PostMapping("/{id}/reserve")
+  public ResponseEntity<Void> reserveStock(@PathVariable int id, @Valid @RequestBody StockQuantityDto stockChange) {
+    itemService.reserveStock(id, stockChange.getQuantity());
+    return ResponseEntity.noContent().build();
+  }
+
+  /**
+   * Releases previously reserved units back into an item's stock.
+   *
+   * @param id          the unique identifier of the item
+   * @param stockChange the number of units to release
+   * @return a ResponseEntity with an HTTP status of 204 (No Content) if the units were released,
+   *         or 404 (Not Found) if the item does not exist
+   */
+  @PostMapping("/{id}/release")
+  public ResponseEntity<Void> releaseStock(@PathVariable int id, @Valid @RequestBody StockQuantityDto stockChange) {
+    itemService.releaseStock(id, stockChange.getQuantity());
+    return ResponseEntity.noContent().build();
+  }
+
+  /**
+   * Builds the relative URI of the next page from the path of the current request and the parameters the
+   * page depends on. Neither the host nor other parameters of the request are carried over, as the response
+   * may be served from the cache to other clients.
+   *
+   * @param multiCatalog whether the page spans multiple catalogs
+   * @param limit        the maximum number of items on the page
+   * @param after        the cursor of the next page
+   * @param fields       the requested fields, or null for all fields
+   * @return the URI of the next page, without scheme and host
+   */
+  private static String nextPage(boolean multiCatalog, int limit, String after, String fields) {
+    UriComponentsBuilder next = UriComponentsBuilder
+        .fromPath(ServletUriComponentsBuilder.fromCurrentRequestUri().build().getPath());
+    if (multiCatalog) {
+      next.queryParam(MultiCatalogParameter.NAME, true);
+    }
+    next.queryParam("limit", limit).queryParam("after", after);
+    if (fields != null) {
+      next.queryParam(ItemFields.PARAMETER, fields);
+    }
+    return next.build().encode().toUriString();
+  }
+
+  /**
+   * Builds the strong ETag of an item from its version.
+   *
+   * @param item the item
+   * @return the quoted version of the item
+   */
+  private static String etag(Item item) {
+    return "\"" + item.getVersion() + "\"";
+  }
+
+  /**
+   * Reads the item version from an {@code If-Match} header holding a single strong ETag.
+   * Weak tags, lists and malformed values can never match and fail the precondition.
+   *
+   * @param ifMatch the value of the If-Match header
+   * @return the version the update is based on
+   * @throws ResponseStatusException with an HTTP status of 412 (Precondition Failed) if the header holds
+   *                                 no single strong ETag of an item version
+   */
+  private static long parseVersion(String ifMatch) {
+    String tag = ifMatch.trim();
+    if (VERSION_TAG.matcher(tag).matches()) {
+      return Long.parseLong(tag.substring(1, tag.length() - 1));
+    }
+    throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not hold an item version");
+  }
 }
@@ -0,0 +1,54 @@
+package test.servicea.controller;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import test.servicea.domain.dto.ExportFormat;
+import test.servicea.service.impl.CatalogExporter;
+
+/**
+ * Controller exporting the whole local catalog in a single streamed response.
+ */
+@RestController
+@RequestMapping("/api/inventory/export")
+public class ItemExportController {
+
+  private final CatalogExporter catalogExporter;
+
+  /**
+   * Constructs an ItemExportController with the provided exporter.
+   *
+   * @param catalogExporter the exporter writing the items of the catalog
+   */
+  public ItemExportController(CatalogExporter catalogExporter) {
+    this.catalogExporter = catalogExporter;
+  }
+
+  /**
+   * Exports all items of the local catalog as newline-delimited JSON or CSV.
+   * The response is written while the items are read from the database, so its size is not
+   * limited by the memory of the service.
+   *
+   * @param format the export format, {@code ndjson} or {@code csv}; defaults to {@code ndjson}
+   * @return a ResponseEntity streaming the exported items as an attachment
+   *         along with an HTTP status of 200 (OK)
+   */
+  @GetMapping
+  public ResponseEntity<StreamingResponseBody> export(
+      @RequestParam(name = "format", required = false, defaultValue = "ndjson") String format
+  ) {
+    ExportFormat exportFormat = ExportFormat.fromName(format);
+    ContentDisposition disposition = ContentDisposition.attachment()
+        .filename("inventory." + exportFormat.getExtension())
+        .build();
+    return ResponseEntity.ok()
+        .contentType(exportFormat.getMediaType())
+        .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+        .body(out -> catalogExporter.exportItems(exportFormat, out));
+  }
+}
@@ -0,0 +1,46 @@
+package test.servicea.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import test.servicea.domain.Item;
+import test.servicea.service.impl.ItemChangeFeed;
+
+/**
+ * Controller pushing the changes to the local catalog to subscribers as Server-Sent Events,
+ * as an alternative to polling the item list.
+ */
+@RestController
+@RequestMapping("/api/inventory/stream")
+public class ItemFeedController {
+
+  private final ItemChangeFeed changeFeed;
+
+  /**
+   * Constructs an ItemFeedController with the provided change feed.
+   *
+   * @param changeFeed the feed of the changes to the local catalog
+   */
+  public ItemFeedController(ItemChangeFeed changeFeed) {
+    this.changeFeed = changeFeed;
+  }
+
+  /**
+   * Streams every item created or changed from now on, each as an event named {@code item} whose id is
+   * the change sequence number of the item. A client that reconnects with the {@code Last-Event-ID}
+   * header, as browsers do automatically, first receives the changes it missed.
+   *
+   * @param lastEventId the id of the last event received before reconnecting, or null for a new subscription
+   * @return the stream of changed items
+   */
+  @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public Flux<ServerSentEvent<Item>> stream(
+      @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId
+  ) {
+    return changeFeed.stream(lastEventId);
+  }
+}
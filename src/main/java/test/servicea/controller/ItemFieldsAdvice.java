@@ -0,0 +1,49 @@
+package test.servicea.controller;
+
+import java.util.List;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import test.servicea.domain.Item;
+import test.servicea.domain.dto.ItemFields;
+
+/**
+ * Advice writing only the fields listed in the {@code fields} query parameter of an item read.
+ * Applies to the JSON responses of {@link ItemController} holding an item or a list of items, such as
+ * {@code GET /api/inventory?fields=id,name,price}. The items are written directly through the property
+ * filter of the requested fields, so the fields left out are never serialised and no intermediate tree is
+ * built; an unknown field is rejected with 400 (Bad Request).
+ */
+@ControllerAdvice(assignableTypes = ItemController.class)
+public class ItemFieldsAdvice implements ResponseBodyAdvice<Object> {
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                Class<? extends HttpMessageConverter<?>> converterType,
+                                ServerHttpRequest request, ServerHttpResponse response) {
+    if (!HttpMethod.GET.equals(request.getMethod()) || !(request instanceof ServletServerHttpRequest servlet)) {
+      return body;
+    }
+    ItemFields fields = ItemFields.parse(servlet.getServletRequest().getParameter(ItemFields.PARAMETER));
+    if (fields.isAll()) {
+      return body;
+    }
+    if (body instanceof Item || body instanceof List<?> items && items.stream().allMatch(Item.class::isInstance)) {
+      return fields.filter(body);
+    }
+    return body;
+  }
+}
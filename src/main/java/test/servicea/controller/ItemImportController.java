@@ -0,0 +1,54 @@
+package test.servicea.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import test.servicea.domain.dto.ExportFormat;
+import test.servicea.domain.dto.ItemImportResult;
+import test.servicea.service.impl.CatalogImporter;
+
+/**
+ * Controller importing items from a file uploaded in a single streamed request.
+ */
+@RestController
+@RequestMapping("/api/inventory/import")
+public class ItemImportController {
+
+  private final CatalogImporter catalogImporter;
+
+  /**
+   * Constructs an ItemImportController with the provided importer.
+   *
+   * @param catalogImporter the importer writing the uploaded items
+   */
+  public ItemImportController(CatalogImporter catalogImporter) {
+    this.catalogImporter = catalogImporter;
+  }
+
+  /**
+   * Imports the items of a newline-delimited JSON or CSV file sent as the request body.
+   * The body is read while the items are written to the database, so its size is not
+   * limited by the memory of the service. The formats are the ones of the export.
+   *
+   * @param format the import format, {@code ndjson} or {@code csv}; defaults to {@code ndjson}
+   * @param body   the content of the file
+   * @return a ResponseEntity containing the number of imported and rejected rows along with an HTTP status
+   *         of 201 (Created) if any item was imported, or 400 (Bad Request) if none was
+   * @throws IOException if reading the request body fails
+   */
+  @PostMapping
+  public ResponseEntity<ItemImportResult> importItems(
+      @RequestParam(name = "format", required = false, defaultValue = "ndjson") String format,
+      InputStream body
+  ) throws IOException {
+    ItemImportResult result = catalogImporter.importItems(ExportFormat.fromName(format), body);
+    HttpStatus status = result.getImported() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+    return ResponseEntity.status(status).body(result);
+  }
+}
@@ -0,0 +1,58 @@
+package test.servicea.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+/**
+ * The {@code multi-catalog} query parameter, as read by the filters in front of the controller.
+ * The value is converted the way the controller binds it, so {@code true}, {@code on}, {@code yes}
+ * and {@code 1} all ask for the external catalogs, and a missing or blank value means the local one.
+ * A value the controller rejects with 400 (Bad Request) counts as neither, so no filter acts on it.
+ */
+public final class MultiCatalogParameter {
+
+  /** The name of the query parameter asking for the external catalogs. */
+  public static final String NAME = "multi-catalog";
+
+  private MultiCatalogParameter() {
+  }
+
+  /**
+   * Tells whether a request asks for the external catalogs.
+   *
+   * @param request the request
+   * @return true if the parameter is set to a true value
+   */
+  public static boolean isRequested(HttpServletRequest request) {
+    return Boolean.TRUE.equals(parse(request));
+  }
+
+  /**
+   * Tells whether a request only asks for the local catalog.
+   *
+   * @param request the request
+   * @return true if the parameter is missing, blank or set to a false value
+   */
+  public static boolean isLocal(HttpServletRequest request) {
+    return Boolean.FALSE.equals(parse(request));
+  }
+
+  /**
+   * Converts the parameter of a request with the conversion the controller binds it with.
+   *
+   * @param request the request
+   * @return the value of the parameter, false if it is missing or blank, null if it is not a boolean
+   */
+  private static Boolean parse(HttpServletRequest request) {
+    String value = request.getParameter(NAME);
+    if (value == null || value.isBlank()) {
+      return Boolean.FALSE;
+    }
+    try {
+      return DefaultConversionService.getSharedInstance().convert(value, Boolean.class);
+    } catch (ConversionException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package test.servicea.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import test.servicea.service.impl.PeerCircuitBreaker;
+import test.servicea.service.impl.PeerCircuitBreakerRegistry;
+
+/**
+ * Controller exposing the state of the clients calling the external inventory services.
+ */
+@RestController
+@RequestMapping("/api/inventory/peers")
+public class PeerController {
+
+  private final PeerCircuitBreakerRegistry circuitBreakers;
+
+  /**
+   * Constructs a PeerController with the provided circuit breaker registry.
+   *
+   * @param circuitBreakers the registry of the circuit breakers guarding the external services
+   */
+  public PeerController(PeerCircuitBreakerRegistry circuitBreakers) {
+    this.circuitBreakers = circuitBreakers;
+  }
+
+  /**
+   * Retrieves the circuit breaker state of every configured external inventory service.
+   *
+   * @return a ResponseEntity containing the breaker status of each external service
+   *         along with an HTTP status of 200 (OK)
+   */
+  @GetMapping
+  public ResponseEntity<List<PeerCircuitBreaker.Status>> getStatuses() {
+    return ResponseEntity.ok(circuitBreakers.getStatuses());
+  }
+}
@@ -0,0 +1,43 @@
+package test.servicea.controller;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import test.servicea.config.ServerTimingProperties;
+import test.servicea.service.impl.RequestTimings;
+
+/**
+ * Advice marking the end of the handler and the start of serialisation in the timings of a request.
+ * The {@link ServerTimingFilter} reports the time from here until the body is written as {@code serialize}.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+  private final ServerTimingProperties properties;
+
+  /**
+   * Constructs a ServerTimingAdvice with the provided properties.
+   *
+   * @param properties the properties enabling the timing breakdown
+   */
+  public ServerTimingAdvice(ServerTimingProperties properties) {
+    this.properties = properties;
+  }
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return properties.isEnabled();
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                Class<? extends HttpMessageConverter<?>> converterType,
+                                ServerHttpRequest request, ServerHttpResponse response) {
+    RequestTimings.current().startSerialization();
+    return body;
+  }
+}
@@ -0,0 +1,130 @@
+package test.servicea.controller;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+import test.servicea.config.ServerTimingProperties;
+import test.servicea.service.impl.RequestTimings;
+
+/**
+ * Filter adding a {@code Server-Timing} header with the phases of inventory requests, when enabled.
+ * The header lists the local query, the wait for the external catalogs with each external service on its
+ * own, serialisation and the total, for example
+ * {@code db;dur=3.1;desc="local items", peer-B;dur=812.4;desc="B", peers;dur=815.0;desc="external catalogs"}.
+ * Browsers show it in their developer tools and {@code curl -i} prints it. The response is buffered so that
+ * the header can include serialisation; streamed responses (NDJSON, server-sent events and exports) are not
+ * timed. Requests slower than the configured threshold are logged with their phases, sampled at the
+ * configured rate. Runs before the {@link CatalogEtagFilter}, so cached and 304 responses are timed too.
+ * Timed responses also carry {@code Timing-Allow-Origin: *}, matching the CORS policy that allows every
+ * origin, so that pages on other origins can read the phases through the Resource Timing API.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+  /**
+   * Name of the response header carrying the phases of the request.
+   */
+  public static final String TIMING_HEADER = "Server-Timing";
+
+  /**
+   * Name of the response header letting other origins read the timing of the response.
+   */
+  public static final String TIMING_ORIGINS = "Timing-Allow-Origin";
+
+  private static final Logger LOG = LoggerFactory.getLogger(ServerTimingFilter.class);
+  private static final String API_PATH = "/api/inventory";
+  private static final String TIMINGS_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timings";
+
+  private final ServerTimingProperties properties;
+
+  /**
+   * Constructs a ServerTimingFilter with the provided properties.
+   *
+   * @param properties the properties enabling the timing breakdown and the slow request log
+   */
+  public ServerTimingFilter(ServerTimingProperties properties) {
+    super();
+    this.properties = properties;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    String accept = request.getHeader(HttpHeaders.ACCEPT);
+    return !properties.isEnabled()
+        || !path.startsWith(API_PATH)
+        || path.startsWith(API_PATH + "/export")
+        || path.startsWith(API_PATH + "/stream")
+        || accept != null && (accept.contains(MediaType.APPLICATION_NDJSON_VALUE)
+            || accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE));
+  }
+
+  @Override
+  protected boolean shouldNotFilterAsyncDispatch() {
+    return false;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    RequestTimings timings = (RequestTimings) request.getAttribute(TIMINGS_ATTRIBUTE);
+    if (timings == null) {
+      timings = new RequestTimings();
+      request.setAttribute(TIMINGS_ATTRIBUTE, timings);
+    }
+    ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+    if (wrapper == null) {
+      wrapper = new ContentCachingResponseWrapper(response);
+    }
+    timings.bind();
+    try {
+      filterChain.doFilter(request, wrapper);
+    } finally {
+      RequestTimings.unbind();
+    }
+    if (isAsyncStarted(request)) {
+      return;
+    }
+    long durationNanos = timings.finish();
+    wrapper.setHeader(TIMING_HEADER, timings.toHeader());
+    wrapper.setHeader(TIMING_ORIGINS, "*");
+    logIfSlow(request, wrapper.getStatus(), durationNanos, timings);
+    wrapper.copyBodyToResponse();
+  }
+
+  /**
+   * Logs a request slower than the configured threshold as a single line of {@code key=value} fields,
+   * unless it is left out by sampling.
+   *
+   * @param request       the request
+   * @param status        the status of the response
+   * @param durationNanos the total duration of the request in nanoseconds
+   * @param timings       the timings of the request
+   */
+  private void logIfSlow(HttpServletRequest request, int status, long durationNanos, RequestTimings timings) {
+    if (durationNanos < properties.getSlowThreshold().toNanos()
+        || ThreadLocalRandom.current().nextDouble() >= properties.getLogSampleRate()) {
+      return;
+    }
+    if (LOG.isWarnEnabled()) {
+      LOG.warn("slow_request method={} path={} query=\"{}\" status={} {}", request.getMethod(),
+          request.getRequestURI(), request.getQueryString() == null ? "" : request.getQueryString(), status,
+          timings.toLogFields());
+    }
+  }
+}
@@ -1,9 +1,16 @@
 package test.servicea.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * Entity representing an Item.
@@ -11,14 +18,18 @@ import jakarta.persistence.Id;
  * representing information about an item, such as its name, stock, price, and description.
  */
 @Entity
+@Table(indexes = @Index(name = "idx_item_change_seq", columnList = "change_seq"))
 public class Item {
 
   /**
    * The unique identifier for the "Item" entity.
-   * This field is autogenerated using the IDENTITY strategy.
+   * This field is generated from the "item_seq" database sequence. Hibernate reserves blocks of
+   * 50 ids per sequence call, so new items get their id without a round trip per insert and
+   * their inserts can be sent to the database in JDBC batches.
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+  @SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = 50)
   private int id;
 
   /**
@@ -43,6 +54,35 @@ public class Item {
    */
   private String description;
 
+  /**
+   * The position of the last change of this item in the catalog's change sequence.
+   * Used to find the items changed since a given catalog version; not part of the API representation.
+   */
+  @JsonIgnore
+  @Column(name = "change_seq")
+  private Long changeSeq;
+
+  /**
+   * The version of this item, incremented by every write.
+   * Updates only succeed if the stored item still has the version they were based on, so concurrent
+   * edits are detected instead of overwriting each other. Exposed to clients as the ETag of the item.
+   */
+  @JsonIgnore
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private long version;
+
+  /**
+   * The number of units of the stock held in memory by the counters of a hot item.
+   * Leased units are still counted in the stock until their sale is settled. Only changed by the updates of
+   * the counters, never by saving the item; not part of the API representation.
+   */
+  @JsonIgnore
+  @ColumnDefault("0")
+  @Column(nullable = false, insertable = false, updatable = false)
+  private int leased;
+
   /**
    * Creates an empty Item instance.
    */
@@ -65,6 +105,50 @@ public class Item {
     this.description = description;
   }
 
+  /**
+   * Constructs an Item instance with the specified attributes, including its identifier.
+   * Used by the read-only queries that select items as plain objects instead of managed entities.
+   *
+   * @param id          the unique identifier of the item
+   * @param name        the name of the item
+   * @param stock       the number of items in stock
+   * @param price       the price of the item
+   * @param description the description of the item
+   */
+  public Item(int id, String name, int stock, double price, String description) {
+    this(name, stock, price, description);
+    this.id = id;
+  }
+
+  /**
+   * Constructs an Item instance without description.
+   * Used by the read-only queries that leave the description out because the client did not ask for it.
+   *
+   * @param id    the unique identifier of the item
+   * @param name  the name of the item
+   * @param stock the number of items in stock
+   * @param price the price of the item
+   */
+  public Item(int id, String name, int stock, double price) {
+    this(id, name, stock, price, null);
+  }
+
+  /**
+   * Constructs an Item instance with the specified attributes, including its identifier and the position
+   * of its last change. Used by the read-only queries that select changed items as plain objects.
+   *
+   * @param id          the unique identifier of the item
+   * @param name        the name of the item
+   * @param stock       the number of items in stock
+   * @param price       the price of the item
+   * @param description the description of the item
+   * @param changeSeq   the change sequence number of the item
+   */
+  public Item(int id, String name, int stock, double price, String description, Long changeSeq) {
+    this(id, name, stock, price, description);
+    this.changeSeq = changeSeq;
+  }
+
   /**
    * Retrieves the unique identifier of this item.
    *
@@ -145,4 +229,40 @@ public class Item {
   public void setDescription(String description) {
     this.description = description;
   }
+
+  /**
+   * Retrieves the position of the last change of this item in the catalog's change sequence.
+   *
+   * @return the change sequence number of the item, or null if it was never changed through this service
+   */
+  public Long getChangeSeq() {
+    return changeSeq;
+  }
+
+  /**
+   * Retrieves the version of this item, incremented by every write.
+   *
+   * @return the version of the item
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Retrieves the number of units of the stock held in memory by the counters of a hot item.
+   *
+   * @return the number of leased units
+   */
+  public int getLeased() {
+    return leased;
+  }
+
+  /**
+   * Sets the position of the last change of this item in the catalog's change sequence.
+   *
+   * @param changeSeq the change sequence number of the item
+   */
+  public void setChangeSeq(Long changeSeq) {
+    this.changeSeq = changeSeq;
+  }
 }
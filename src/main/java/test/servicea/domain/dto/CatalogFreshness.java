@@ -0,0 +1,54 @@
+package test.servicea.domain.dto;
+
+import java.time.Instant;
+
+/**
+ * Represents how fresh the local replica of an external catalog is.
+ * The `CatalogFreshness` class reports when an external catalog was last replicated
+ * and how many of its items the replica holds.
+ */
+public class CatalogFreshness {
+  private final String name;
+  private final Instant replicatedAt;
+  private final int itemCount;
+
+  /**
+   * Constructs an instance of CatalogFreshness with the provided details.
+   *
+   * @param name         the name of the external catalog
+   * @param replicatedAt the time of the last successful replication, or null if there was none yet
+   * @param itemCount    the number of items in the replica
+   */
+  public CatalogFreshness(String name, Instant replicatedAt, int itemCount) {
+    this.name = name;
+    this.replicatedAt = replicatedAt;
+    this.itemCount = itemCount;
+  }
+
+  /**
+   * Retrieves the name of the external catalog.
+   *
+   * @return the name of the external catalog as a String.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Retrieves the time of the last successful replication of the external catalog.
+   *
+   * @return the time of the last successful replication, or null if there was none yet
+   */
+  public Instant getReplicatedAt() {
+    return replicatedAt;
+  }
+
+  /**
+   * Retrieves the number of items in the replica of the external catalog.
+   *
+   * @return the number of replicated items
+   */
+  public int getItemCount() {
+    return itemCount;
+  }
+}
@@ -0,0 +1,59 @@
+package test.servicea.domain.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * The formats the catalog can be exported in and imported from.
+ */
+public enum ExportFormat {
+  /** One JSON document per item and line. */
+  NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+  /** Comma-separated values with a header row, as described by RFC 4180. */
+  CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+  private final MediaType mediaType;
+  private final String extension;
+
+  ExportFormat(MediaType mediaType, String extension) {
+    this.mediaType = mediaType;
+    this.extension = extension;
+  }
+
+  /**
+   * Retrieves the media type of the exported or imported content.
+   *
+   * @return the media type of the format
+   */
+  public MediaType getMediaType() {
+    return mediaType;
+  }
+
+  /**
+   * Retrieves the file extension of the exported or imported content.
+   *
+   * @return the file extension of the format, without the dot
+   */
+  public String getExtension() {
+    return extension;
+  }
+
+  /**
+   * Resolves a format from its name, ignoring case.
+   *
+   * @param name the name of the format, such as {@code ndjson} or {@code csv}
+   * @return the format with the given name
+   * @throws ResponseStatusException if no format has the given name
+   */
+  public static ExportFormat fromName(String name) {
+    try {
+      return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported format: " + name, e);
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package test.servicea.domain.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the outcome of a bulk item creation.
+ * The `ItemBatchResult` class reports the id of every created item and the reason every
+ * rejected item was not created, each identified by its position in the submitted batch.
+ */
+public class ItemBatchResult {
+  private final List<Created> created;
+  private final List<Failure> errors;
+
+  /**
+   * Constructs an instance of ItemBatchResult with the provided outcomes.
+   *
+   * @param created the items that were created
+   * @param errors  the items that were rejected
+   */
+  public ItemBatchResult(List<Created> created, List<Failure> errors) {
+    this.created = created;
+    this.errors = errors;
+  }
+
+  /**
+   * Retrieves the items that were created.
+   *
+   * @return the position and id of each created item, in batch order
+   */
+  public List<Created> getCreated() {
+    return created;
+  }
+
+  /**
+   * Retrieves the items that were rejected.
+   *
+   * @return the position and validation messages of each rejected item, in batch order
+   */
+  public List<Failure> getErrors() {
+    return errors;
+  }
+
+  /**
+   * An item of the batch that was created.
+   *
+   * @param index the position of the item in the batch
+   * @param id    the id assigned to the created item
+   */
+  public record Created(int index, int id) {
+  }
+
+  /**
+   * An item of the batch that was rejected.
+   *
+   * @param index    the position of the item in the batch
+   * @param messages the validation messages, keyed by field
+   */
+  public record Failure(int index, Map<String, String> messages) {
+  }
+}
@@ -0,0 +1,69 @@
+package test.servicea.domain.dto;
+
+import java.util.List;
+
+import test.servicea.domain.Item;
+
+/**
+ * Represents the items of a catalog that changed since a given catalog version.
+ * The `ItemChanges` class is returned by the changes endpoint and applied by the
+ * multi-catalog client to its mirror of an external catalog.
+ */
+public class ItemChanges {
+  private long version;
+  private List<Item> items;
+
+  /**
+   * Creates an empty ItemChanges instance.
+   */
+  public ItemChanges() {
+    this.items = List.of();
+  }
+
+  /**
+   * Constructs an instance of ItemChanges with the provided version and items.
+   *
+   * @param version the catalog version the changes bring a mirror up to
+   * @param items   the items changed since the requested version
+   */
+  public ItemChanges(long version, List<Item> items) {
+    this.version = version;
+    this.items = items;
+  }
+
+  /**
+   * Retrieves the catalog version the changes bring a mirror up to.
+   *
+   * @return the catalog version to request the next changes from
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Sets the catalog version the changes bring a mirror up to.
+   *
+   * @param version the catalog version to request the next changes from
+   */
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  /**
+   * Retrieves the items changed since the requested version.
+   *
+   * @return the changed items, in the order they were changed
+   */
+  public List<Item> getItems() {
+    return items;
+  }
+
+  /**
+   * Sets the items changed since the requested version.
+   *
+   * @param items the changed items, in the order they were changed
+   */
+  public void setItems(List<Item> items) {
+    this.items = items;
+  }
+}
@@ -0,0 +1,112 @@
+package test.servicea.domain.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * The fields of an item a client asked for with the {@code fields} query parameter.
+ * Only these fields are written to the response, and the description, by far the largest column,
+ * is not read from the database at all when it is left out.
+ */
+public final class ItemFields {
+
+  /** The name of the query parameter listing the requested fields. */
+  public static final String PARAMETER = "fields";
+
+  /** The id of the Jackson property filter that items are written through. */
+  public static final String FILTER_ID = "itemFields";
+
+  /** All fields of an item, in the order they are written. */
+  public static final ItemFields ALL = new ItemFields(List.of("id", "name", "stock", "price", "description"));
+
+  private final List<String> names;
+  private final FilterProvider filters;
+
+  private ItemFields(List<String> names) {
+    this.names = names;
+    this.filters = new SimpleFilterProvider()
+        .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(Set.copyOf(names)));
+  }
+
+  /**
+   * Parses the value of the {@code fields} query parameter, a comma-separated list of field names.
+   *
+   * @param value the value of the parameter, such as {@code id,name,price}; null or blank for all fields
+   * @return the requested fields, in the order they are written
+   * @throws ResponseStatusException if a field name is unknown
+   */
+  public static ItemFields parse(String value) {
+    if (value == null || value.isBlank()) {
+      return ALL;
+    }
+    List<String> requested = new ArrayList<>();
+    for (String name : value.split(",")) {
+      String field = name.trim().toLowerCase(Locale.ROOT);
+      if (!ALL.names.contains(field)) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+            "Unknown field: " + name.trim() + "; supported fields are " + ALL);
+      }
+      requested.add(field);
+    }
+    return new ItemFields(ALL.names.stream().filter(requested::contains).toList());
+  }
+
+  /**
+   * Checks whether all fields are requested.
+   *
+   * @return true if items are written in full
+   */
+  public boolean isAll() {
+    return names.size() == ALL.names.size();
+  }
+
+  /**
+   * Checks whether the description is requested.
+   *
+   * @return true if the description must be read
+   */
+  public boolean includesDescription() {
+    return names.contains("description");
+  }
+
+  /**
+   * Adds the id to the requested fields, for callers that need it to page through items.
+   *
+   * @return the requested fields and the id
+   */
+  public ItemFields withId() {
+    return names.contains("id") ? this : parse("id," + this);
+  }
+
+  /**
+   * Wraps an item, or a list of items, so that the message converter writes only the requested fields.
+   * The items are serialised directly with the filter of these fields; the other fields are skipped.
+   *
+   * @param value the item or items to write
+   * @return the value together with the filter of the requested fields
+   */
+  public MappingJacksonValue filter(Object value) {
+    MappingJacksonValue filtered = new MappingJacksonValue(value);
+    filtered.setFilters(filters);
+    return filtered;
+  }
+
+  /**
+   * Formats the fields as the value of the {@code fields} query parameter.
+   *
+   * @return the comma-separated field names
+   */
+  @Override
+  public String toString() {
+    return String.join(",", names);
+  }
+}
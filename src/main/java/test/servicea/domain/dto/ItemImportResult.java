@@ -0,0 +1,86 @@
+package test.servicea.domain.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the outcome of an item import.
+ * The `ItemImportResult` class counts the imported and rejected rows and reports the throughput of the
+ * import. Only the first rejected rows are listed with their validation messages, so that the report
+ * stays small however many rows the imported file has.
+ */
+public class ItemImportResult {
+  private final long imported;
+  private final long rejected;
+  private final List<Failure> errors;
+  private final long durationMillis;
+
+  /**
+   * Constructs an instance of ItemImportResult with the provided outcome.
+   *
+   * @param imported       the number of imported rows
+   * @param rejected       the number of rejected rows
+   * @param errors         the first rejected rows
+   * @param durationMillis the duration of the import in milliseconds
+   */
+  public ItemImportResult(long imported, long rejected, List<Failure> errors, long durationMillis) {
+    this.imported = imported;
+    this.rejected = rejected;
+    this.errors = errors;
+    this.durationMillis = durationMillis;
+  }
+
+  /**
+   * Retrieves the number of rows that were imported as items.
+   *
+   * @return the number of imported rows
+   */
+  public long getImported() {
+    return imported;
+  }
+
+  /**
+   * Retrieves the number of rows that were rejected.
+   *
+   * @return the number of rejected rows
+   */
+  public long getRejected() {
+    return rejected;
+  }
+
+  /**
+   * Retrieves the first rows that were rejected.
+   *
+   * @return the row number and validation messages of the first rejected rows, in file order
+   */
+  public List<Failure> getErrors() {
+    return errors;
+  }
+
+  /**
+   * Retrieves how long the import took.
+   *
+   * @return the duration of the import in milliseconds
+   */
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+
+  /**
+   * Retrieves the number of items imported per second.
+   *
+   * @return the throughput of the import
+   */
+  public long getItemsPerSecond() {
+    return imported * 1000 / Math.max(1, durationMillis);
+  }
+
+  /**
+   * A row of the imported file that was rejected.
+   *
+   * @param row      the line of the row in an NDJSON file, or its record number after the header in a CSV file
+   * @param messages the validation messages, keyed by field
+   */
+  public record Failure(long row, Map<String, String> messages) {
+  }
+}
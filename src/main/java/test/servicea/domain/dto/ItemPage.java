@@ -0,0 +1,44 @@
+package test.servicea.domain.dto;
+
+import java.util.List;
+
+import test.servicea.domain.Item;
+
+/**
+ * Represents one page of items and the cursor of the page after it.
+ * The `ItemPage` class is returned by keyset pagination, where the cursor identifies
+ * the last item of the page rather than an offset.
+ */
+public class ItemPage {
+  private final List<Item> items;
+  private final String next;
+
+  /**
+   * Constructs an instance of ItemPage with the provided items and cursor.
+   *
+   * @param items the items of the page
+   * @param next  the cursor of the next page, or null if this is the last page
+   */
+  public ItemPage(List<Item> items, String next) {
+    this.items = items;
+    this.next = next;
+  }
+
+  /**
+   * Retrieves the items of the page.
+   *
+   * @return the items of the page, in page order
+   */
+  public List<Item> getItems() {
+    return items;
+  }
+
+  /**
+   * Retrieves the cursor to pass as {@code after} to get the next page.
+   *
+   * @return the cursor of the next page, or null if this is the last page
+   */
+  public String getNext() {
+    return next;
+  }
+}
@@ -0,0 +1,45 @@
+package test.servicea.domain.dto;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Data Transfer Object carrying the quantity of a stock reservation or release.
+ */
+public class StockQuantityDto {
+
+  @Min(value = 1, message = "Quantity must be at least 1.")
+  private int quantity;
+
+  /**
+   * Creates an empty StockQuantityDto instance.
+   */
+  public StockQuantityDto() {
+  }
+
+  /**
+   * Creates a StockQuantityDto with the provided quantity.
+   *
+   * @param quantity the number of units to reserve or release
+   */
+  public StockQuantityDto(int quantity) {
+    this.quantity = quantity;
+  }
+
+  /**
+   * Retrieves the number of units to reserve or release.
+   *
+   * @return the quantity as an integer.
+   */
+  public int getQuantity() {
+    return quantity;
+  }
+
+  /**
+   * Sets the number of units to reserve or release.
+   *
+   * @param quantity the quantity to set, represented as an integer
+   */
+  public void setQuantity(int quantity) {
+    this.quantity = quantity;
+  }
+}
@@ -1,15 +1,51 @@
 package test.servicea.repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import test.servicea.domain.Item;
 
 /**
  * Spring Data repository for Item entities.
+ * The queries declared here that return lists of items select them with a constructor expression: the items
+ * are plain objects rather than managed entities, so Hibernate neither registers them in the persistence context
+ * nor keeps a snapshot of them for dirty checking. They run in read-only transactions, which never flush;
+ * called from within a writing transaction they join it and flush its pending inserts first.
+ * Items returned by these queries must be saved explicitly to persist changes, and carry neither their version
+ * nor, unless stated otherwise, their change sequence number. The inherited {@code findAll()} still loads
+ * managed entities.
  */
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Integer> {
 
+  /**
+   * Retrieves all items as plain objects, for reads that only write them to a response.
+   *
+   * @return all items, without their version and change sequence number
+   */
+  @Transactional(readOnly = true)
+  @Query("select new test.servicea.domain.Item(i.id, i.name, i.stock, i.price, i.description) from Item i")
+  List<Item> findAllForRead();
+
+  /**
+   * Retrieves all items as plain objects without their description.
+   * Used when clients did not ask for the description, which is most of the size of a row.
+   *
+   * @return all items, with a null description
+   */
+  @Transactional(readOnly = true)
+  @Query("select new test.servicea.domain.Item(i.id, i.name, i.stock, i.price) from Item i")
+  List<Item> findAllSummaries();
+
   /**
    * Retrieves an Item entity by its unique identifier and name.
    *
@@ -18,4 +54,158 @@ public interface ItemRepository extends JpaRepository<Item, Integer> {
    * @return the Item entity that matches the provided id and name or null if no such item exists
    */
   Item findItemByIdAndName(int id, String name);
+
+  /**
+   * Streams all items in id order from a database cursor.
+   * Rows are fetched from the database in batches of 500 and the items are loaded read-only, so
+   * Hibernate keeps no snapshot to check for changes. The stream must be consumed inside a transaction
+   * and closed afterwards; callers detach each item once it is processed to keep the persistence
+   * context from growing with the result.
+   *
+   * @return a stream of all items ordered by id
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<Item> streamAllByOrderByIdAsc();
+
+  /**
+   * Streams all items in id order from a database cursor, as plain objects without their description.
+   * Rows are fetched from the database in batches of 500. The stream must be consumed inside a transaction
+   * and closed afterwards.
+   *
+   * @return a stream of all items ordered by id, with a null description
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query("select new test.servicea.domain.Item(i.id, i.name, i.stock, i.price) from Item i order by i.id")
+  Stream<Item> streamAllSummaries();
+
+  /**
+   * Retrieves the items following the given id, in id order.
+   * Used for keyset pagination: the id of the last item of a page is the starting point of the next one.
+   *
+   * @param id    the id after which items are retrieved
+   * @param limit the maximum number of items to retrieve
+   * @return at most {@code limit} items with an id greater than the given one, ordered by id
+   */
+  @Transactional(readOnly = true)
+  @Query("select new test.servicea.domain.Item(i.id, i.name, i.stock, i.price, i.description) from Item i"
+      + " where i.id > :id order by i.id")
+  List<Item> findByIdGreaterThanOrderByIdAsc(int id, Limit limit);
+
+  /**
+   * Retrieves the items following the given id, in id order, without their description.
+   *
+   * @param id    the id after which items are retrieved
+   * @param limit the maximum number of items to retrieve
+   * @return at most {@code limit} items with an id greater than the given one and a null description
+   */
+  @Transactional(readOnly = true)
+  @Query("select new test.servicea.domain.Item(i.id, i.name, i.stock, i.price) from Item i"
+      + " where i.id > :id order by i.id")
+  List<Item> findSummariesByIdGreaterThanOrderByIdAsc(int id, Limit limit);
+
+  /**
+   * Retrieves the items whose last change lies in the given range of the change sequence.
+   *
+   * @param from the first change sequence number to include
+   * @param to   the last change sequence number to include
+   * @return the matching items, ordered by change sequence number
+   */
+  @Transactional(readOnly = true)
+  @Query("select new test.servicea.domain.Item(i.id, i.name, i.stock, i.price, i.description, i.changeSeq)"
+      + " from Item i where i.changeSeq between :from and :to order by i.changeSeq")
+  List<Item> findByChangeSeqBetweenOrderByChangeSeq(long from, long to);
+
+  /**
+   * Takes units out of an item's stock with a single conditional update, as long as enough units are left.
+   * The stock is checked and changed by the database in one statement, so concurrent reservations
+   * can neither oversell the item nor overwrite each other.
+   *
+   * @param id        the id of the item
+   * @param quantity  the number of units to take out of stock
+   * @param changeSeq the change sequence number to record on the item
+   * @return 1 if the stock was reserved, 0 if the item does not exist or has fewer units in stock
+   */
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query("update Item i set i.stock = i.stock - :quantity, i.changeSeq = :changeSeq, i.version = i.version + 1"
+      + " where i.id = :id and i.stock >= :quantity")
+  int reserveStock(int id, int quantity, long changeSeq);
+
+  /**
+   * Puts units back into an item's stock with a single update.
+   *
+   * @param id        the id of the item
+   * @param quantity  the number of units to put back into stock
+   * @param changeSeq the change sequence number to record on the item
+   * @return 1 if the stock was released, 0 if the item does not exist
+   */
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query("update Item i set i.stock = i.stock + :quantity, i.changeSeq = :changeSeq, i.version = i.version + 1"
+      + " where i.id = :id")
+  int releaseStock(int id, int quantity, long changeSeq);
+
+  /**
+   * Leases units of an item's stock to the in-memory counters of a hot item, as long as enough units are
+   * not leased yet. The stock itself is left as it is, since leased units stay in stock until they are sold.
+   *
+   * @param id       the id of the item
+   * @param quantity the number of units to lease
+   * @return 1 if the units were leased, 0 if the item does not exist or has fewer units left to lease
+   */
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query("update Item i set i.leased = i.leased + :quantity where i.id = :id and i.stock - i.leased >= :quantity")
+  int leaseStock(int id, int quantity);
+
+  /**
+   * Returns leased units of an item, which the in-memory counters no longer hold, to its stock.
+   *
+   * @param id       the id of the item
+   * @param quantity the number of leased units to return
+   * @return 1 if the units were returned, 0 if the item does not exist
+   */
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query("update Item i set i.leased = i.leased - :quantity where i.id = :id")
+  int returnLease(int id, int quantity);
+
+  /**
+   * Settles the units sold from the lease of an item since the last settlement with a single update:
+   * they are taken out of both its stock and its lease, and the given number of leased units is returned.
+   * A negative number of sold units puts units released in memory into stock and lease.
+   *
+   * @param id        the id of the item
+   * @param sold      the net number of units sold from the lease
+   * @param returned  the number of leased units to return to the stock
+   * @param changeSeq the change sequence number to record on the item
+   * @return 1 if the lease was settled, 0 if the item does not exist
+   */
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query("update Item i set i.stock = i.stock - :sold, i.leased = i.leased - :sold - :returned,"
+      + " i.changeSeq = :changeSeq, i.version = i.version + 1 where i.id = :id")
+  int settleLease(int id, int sold, int returned, long changeSeq);
+
+  /**
+   * Returns every leased unit to the stock of its item.
+   * Run at startup, before any stock is leased, to close the leases a crashed process left open.
+   *
+   * @return the number of items whose lease was closed
+   */
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query("update Item i set i.leased = 0 where i.leased <> 0")
+  int returnAllLeases();
+
+  /**
+   * Retrieves the highest change sequence number recorded for any item.
+   *
+   * @return the highest change sequence number, or 0 if no change was recorded yet
+   */
+  @Query("select coalesce(max(i.changeSeq), 0) from Item i")
+  long findMaxChangeSeq();
 }
@@ -3,8 +3,13 @@ package test.servicea.service;
 import java.util.List;
 
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import test.servicea.domain.Item;
+import test.servicea.domain.dto.CatalogFreshness;
+import test.servicea.domain.dto.ItemChanges;
 import test.servicea.domain.dto.ItemDto;
+import test.servicea.domain.dto.ItemFields;
+import test.servicea.domain.dto.ItemPage;
 
 /**
  * Service interface for Picture entities.
@@ -20,6 +25,15 @@ public interface ItemService {
    */
   Item createItem(ItemDto itemDto);
 
+  /**
+   * Creates Item entities in bulk. The items are saved in a single transaction and
+   * their inserts are sent to the database in JDBC batches.
+   *
+   * @param itemDtos the Items to create, already validated
+   * @return the created Item entities, in the order of the provided ItemDtos
+   */
+  List<Item> createItems(List<ItemDto> itemDtos);
+
   /**
    * Retrieves a list of all Item entities. The list may include items
    * from either a single catalog or multiple catalogs, based on the provided flag.
@@ -30,6 +44,83 @@ public interface ItemService {
    */
   List<Item> getAllItems(boolean multiCatalog);
 
+  /**
+   * Retrieves a list of all Item entities, reading only the requested fields where it saves work.
+   * The description is not read from the local database unless requested, and external services
+   * called for this request are asked for the requested fields only.
+   *
+   * @param multiCatalog a boolean flag indicating whether to include items
+   *                      from multiple catalogs (true) or a single catalog (false)
+   * @param fields       the fields the caller writes to its response
+   * @return a list of Item entities, possibly without the fields that were not requested
+   */
+  List<Item> getAllItems(boolean multiCatalog, ItemFields fields);
+
+  /**
+   * Streams all Item entities. Local items are emitted first and, if requested,
+   * items from multiple catalogs are interleaved as each external response arrives.
+   *
+   * @param multiCatalog a boolean flag indicating whether to include items
+   *                      from multiple catalogs (true) or a single catalog (false)
+   * @return a stream of Item entities
+   */
+  Flux<Item> streamAllItems(boolean multiCatalog);
+
+  /**
+   * Streams all Item entities, reading only the requested fields where it saves work.
+   *
+   * @param multiCatalog a boolean flag indicating whether to include items
+   *                      from multiple catalogs (true) or a single catalog (false)
+   * @param fields       the fields the caller writes to its response
+   * @return a stream of Item entities, possibly without the fields that were not requested
+   */
+  Flux<Item> streamAllItems(boolean multiCatalog, ItemFields fields);
+
+  /**
+   * Retrieves one page of Item entities using keyset pagination, optionally across multiple catalogs.
+   * Items are ordered by id within a catalog; across catalogs the local catalog comes first, followed
+   * by the external catalogs in configuration order. The cursor of a page is the id of its last item,
+   * prefixed with the catalog it belongs to when multiple catalogs are paged.
+   *
+   * @param multiCatalog a boolean flag indicating whether to page through items
+   *                     from multiple catalogs (true) or a single catalog (false)
+   * @param limit        the maximum number of items on the page
+   * @param after        the cursor of the previous page, or null for the first page
+   * @return the page of items and the cursor of the next page
+   * @throws ResponseStatusException if the limit is out of range or the cursor is malformed
+   */
+  ItemPage getItemPage(boolean multiCatalog, int limit, String after);
+
+  /**
+   * Retrieves one page of Item entities, reading only the requested fields where it saves work.
+   *
+   * @param multiCatalog a boolean flag indicating whether to page through items
+   *                     from multiple catalogs (true) or a single catalog (false)
+   * @param limit        the maximum number of items on the page
+   * @param after        the cursor of the previous page, or null for the first page
+   * @param fields       the fields the caller writes to its response
+   * @return the page of items, possibly without the fields that were not requested, and the cursor of the next page
+   * @throws ResponseStatusException if the limit is out of range or the cursor is malformed
+   */
+  ItemPage getItemPage(boolean multiCatalog, int limit, String after, ItemFields fields);
+
+  /**
+   * Retrieves the freshness of the local replicas of the external catalogs.
+   *
+   * @return the freshness of each configured external catalog, in configuration order,
+   *         or an empty list if external catalogs are not replicated
+   */
+  List<CatalogFreshness> getCatalogFreshness();
+
+  /**
+   * Retrieves the local Item entities changed since the given catalog version.
+   * Version 0 stands for an empty catalog, so all items are returned for it.
+   *
+   * @param since the catalog version the caller is up to date with
+   * @return the changed items together with the catalog version they bring the caller up to
+   */
+  ItemChanges getChangesSince(long since);
+
   /**
    * Retrieves a Item entity by its unique ID.
    *
@@ -47,6 +138,17 @@ public interface ItemService {
    */
   Item updateItemById(int id, ItemDto itemDto);
 
+  /**
+   * Updates an existing Item entity, provided it still has the version the update is based on.
+   *
+   * @param id              the unique ID of the Item to update
+   * @param itemDto         the Item to update with
+   * @param expectedVersion the version the caller last read, taken from the item's ETag
+   * @return the updated Item entity, or null if no Item with that ID exists
+   * @throws ResponseStatusException with 412 (Precondition Failed) if the Item has a different version
+   */
+  Item updateItemById(int id, ItemDto itemDto, long expectedVersion);
+
 
   /**
    * Retrieves an Item entity by its unique ID and name.
@@ -68,4 +170,23 @@ public interface ItemService {
    * @return the updated Item entity
    */
   Item updateItemByIdAndName(int id, String name, ItemDto itemDto);
+
+  /**
+   * Reserves units of an Item's stock in a single conditional update.
+   *
+   * @param id       the ID of the Item
+   * @param quantity the number of units to reserve
+   * @throws ResponseStatusException with 404 (Not Found) if the Item does not exist,
+   *                                 or 409 (Conflict) if fewer units are in stock
+   */
+  void reserveStock(int id, int quantity);
+
+  /**
+   * Releases previously reserved units back into an Item's stock in a single update.
+   *
+   * @param id       the ID of the Item
+   * @param quantity the number of units to release
+   * @throws ResponseStatusException with 404 (Not Found) if the Item does not exist
+   */
+  void releaseStock(int id, int quantity);
 }
@@ -0,0 +1,106 @@
+package test.servicea.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import test.servicea.domain.Item;
+import test.servicea.domain.dto.ExportFormat;
+import test.servicea.repository.ItemRepository;
+
+/**
+ * Writes the whole local catalog to an output stream.
+ * Items are read from a database cursor and written one by one, then detached, so an export never
+ * holds more than one fetch batch of items in memory whatever the size of the catalog.
+ */
+@Component
+public class CatalogExporter {
+
+  private static final String CSV_HEADER = "id,name,stock,price,description";
+  private static final String CSV_LINE_END = "\r\n";
+
+  private final ItemRepository itemRepository;
+  private final EntityManager entityManager;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Constructs a CatalogExporter with the specified dependencies.
+   *
+   * @param itemRepository the repository streaming the items from the database
+   * @param entityManager  the entity manager the streamed items are detached from once written
+   * @param objectMapper   the mapper writing the items as JSON
+   */
+  public CatalogExporter(ItemRepository itemRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+    this.itemRepository = itemRepository;
+    this.entityManager = entityManager;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Writes all items to the given output stream in the given format, in id order.
+   * The items are read in a read-only transaction; the output stream is flushed but not closed.
+   *
+   * @param format the format to write the items in
+   * @param out    the output stream to write the items to
+   * @throws IOException if writing to the output stream fails
+   */
+  @Transactional(readOnly = true)
+  public void exportItems(ExportFormat format, OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    if (format == ExportFormat.CSV) {
+      writer.write(CSV_HEADER);
+      writer.write(CSV_LINE_END);
+    }
+    try (Stream<Item> items = itemRepository.streamAllByOrderByIdAsc()) {
+      Iterator<Item> iterator = items.iterator();
+      while (iterator.hasNext()) {
+        Item item = iterator.next();
+        if (format == ExportFormat.CSV) {
+          writer.write(toCsvRow(item));
+          writer.write(CSV_LINE_END);
+        } else {
+          writer.write(objectMapper.writeValueAsString(item));
+          writer.write('\n');
+        }
+        entityManager.detach(item);
+      }
+    }
+    writer.flush();
+  }
+
+  /**
+   * Formats an item as a CSV row, in the column order of the header row.
+   *
+   * @param item the item to format
+   * @return the CSV row of the item, without line end
+   */
+  private static String toCsvRow(Item item) {
+    return item.getId() + "," + csvField(item.getName()) + "," + item.getStock() + "," + item.getPrice()
+        + "," + csvField(item.getDescription());
+  }
+
+  /**
+   * Quotes a text field if it contains a separator, a quote or a line break.
+   *
+   * @param value the value of the field, possibly null
+   * @return the value as a CSV field; null is written as an empty field
+   */
+  public static String csvField(String value) {
+    if (value == null) {
+      return "";
+    }
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return "\"" + value.replace("\"", "\"\"") + "\"";
+  }
+}
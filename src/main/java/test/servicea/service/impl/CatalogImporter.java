@@ -0,0 +1,403 @@
+package test.servicea.service.impl;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import test.servicea.domain.Item;
+import test.servicea.domain.dto.ExportFormat;
+import test.servicea.domain.dto.ItemDto;
+import test.servicea.domain.dto.ItemImportResult;
+
+/**
+ * Imports items from an NDJSON or CSV file, read as a stream.
+ * Rows are parsed one at a time and validated with the rules of {@link ItemDto}; valid rows are collected
+ * into batches of {@value #BATCH_SIZE} and every batch is written in a transaction of its own, so an import
+ * holds a single batch in memory whatever the size of the file. On PostgreSQL a batch is sent with
+ * {@code COPY}, on other databases as a JDBC batch insert. Ids come from the same sequence generator as
+ * the items created through JPA, and every item is recorded as a change of the catalog's change sequence.
+ * Progress is logged while the import runs.
+ */
+@Component
+public class CatalogImporter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CatalogImporter.class);
+  private static final int BATCH_SIZE = 1000;
+  private static final int MAX_ERRORS = 100;
+  private static final long LOG_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+  private static final List<String> CSV_COLUMNS = List.of("name", "stock", "price", "description");
+  private static final String INSERT_SQL = "insert into item (id, name, stock, price, description, change_seq,"
+      + " version) values (?, ?, ?, ?, ?, ?, 0)";
+  private static final String COPY_SQL = "copy item (id, name, stock, price, description, change_seq, version)"
+      + " from stdin with (format csv)";
+
+  private final ObjectMapper objectMapper;
+  private final ItemValidator validator;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactions;
+  private final EntityManager entityManager;
+  private final CatalogVersion catalogVersion;
+
+  /**
+   * Constructs a CatalogImporter with the specified dependencies.
+   *
+   * @param objectMapper   the mapper reading the NDJSON rows
+   * @param validator      the validator checking each row
+   * @param jdbcTemplate   the template writing the batches
+   * @param txManager      the transaction manager running each batch in a transaction
+   * @param entityManager  the entity manager providing the item id generator
+   * @param catalogVersion the version of the local catalog, moved forward by every imported item
+   */
+  public CatalogImporter(ObjectMapper objectMapper, ItemValidator validator, JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager txManager, EntityManager entityManager,
+                         CatalogVersion catalogVersion) {
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactions = new TransactionTemplate(txManager);
+    this.entityManager = entityManager;
+    this.catalogVersion = catalogVersion;
+  }
+
+  /**
+   * Imports the items of a file in the given format.
+   * A CSV file starts with a header naming its columns; the columns {@code name}, {@code stock},
+   * {@code price} and {@code description} are required and any other column, such as the {@code id}
+   * of an exported file, is ignored. Invalid rows are rejected without stopping the import.
+   *
+   * @param format the format of the file
+   * @param in     the content of the file, read but not closed
+   * @return the number of imported and rejected rows, the first rejected rows and the throughput
+   * @throws IOException             if reading the file fails
+   * @throws ResponseStatusException if the CSV header misses a required column or a quoted field is not closed
+   */
+  public ItemImportResult importItems(ExportFormat format, InputStream in) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    Progress progress = new Progress();
+    if (format == ExportFormat.CSV) {
+      importCsv(reader, progress);
+    } else {
+      importNdjson(reader, progress);
+    }
+    progress.flush();
+    if (LOG.isInfoEnabled()) {
+      LOG.info("Imported {} items and rejected {} rows in {} ms", progress.imported, progress.rejected,
+          progress.elapsedMillis());
+    }
+    return new ItemImportResult(progress.imported, progress.rejected, progress.errors, progress.elapsedMillis());
+  }
+
+  /**
+   * Reads one item per line of an NDJSON file, skipping blank lines.
+   *
+   * @param reader   the reader providing the file
+   * @param progress the progress of the import
+   * @throws IOException if reading the file fails
+   */
+  private void importNdjson(BufferedReader reader, Progress progress) throws IOException {
+    long row = 0;
+    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+      row++;
+      if (line.isBlank()) {
+        continue;
+      }
+      try {
+        progress.accept(row, objectMapper.readValue(line, ItemDto.class));
+      } catch (JsonProcessingException e) {
+        progress.reject(row, Map.of("item", "Malformed JSON: " + e.getOriginalMessage()));
+      }
+    }
+  }
+
+  /**
+   * Reads one item per record of a CSV file, locating the columns through the header.
+   *
+   * @param reader   the reader providing the file
+   * @param progress the progress of the import
+   * @throws IOException if reading the file fails
+   */
+  private void importCsv(BufferedReader reader, Progress progress) throws IOException {
+    CsvRecordReader records = new CsvRecordReader(reader);
+    try {
+      int[] columns = locateColumns(records.next());
+      long row = 0;
+      for (List<String> fields = records.next(); !fields.isEmpty(); fields = records.next()) {
+        row++;
+        if (fields.size() > 1 || !fields.get(0).isBlank()) {
+          acceptCsvRow(row, fields, columns, progress);
+        }
+      }
+    } catch (EOFException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed CSV file: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Parses the numeric fields of a CSV record and passes the record on as a row.
+   *
+   * @param row      the number of the record after the header
+   * @param fields   the fields of the record
+   * @param columns  the positions of the name, stock, price and description columns
+   * @param progress the progress of the import
+   */
+  private static void acceptCsvRow(long row, List<String> fields, int[] columns, Progress progress) {
+    Map<String, String> messages = new TreeMap<>();
+    int stock = 0;
+    double price = 0;
+    try {
+      stock = Integer.parseInt(field(fields, columns[1]).trim());
+    } catch (NumberFormatException e) {
+      messages.put("stock", "Stock must be a whole number.");
+    }
+    try {
+      price = Double.parseDouble(field(fields, columns[2]).trim());
+    } catch (NumberFormatException e) {
+      messages.put("price", "Price must be a number.");
+    }
+    if (messages.isEmpty()) {
+      progress.accept(row, new ItemDto(field(fields, columns[0]), stock, price, field(fields, columns[3])));
+    } else {
+      progress.reject(row, messages);
+    }
+  }
+
+  /**
+   * Finds the position of every required column in a CSV header.
+   *
+   * @param header the fields of the header record, empty if the file is empty
+   * @return the positions of the name, stock, price and description columns
+   * @throws ResponseStatusException if a required column is missing
+   */
+  private static int[] locateColumns(List<String> header) {
+    if (header.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV file has no header");
+    }
+    Map<String, Integer> positions = new HashMap<>();
+    for (int i = 0; i < header.size(); i++) {
+      positions.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+    }
+    int[] columns = new int[CSV_COLUMNS.size()];
+    for (int i = 0; i < columns.length; i++) {
+      Integer position = positions.get(CSV_COLUMNS.get(i));
+      if (position == null) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+            "CSV header must contain the columns " + String.join(",", CSV_COLUMNS));
+      }
+      columns[i] = position;
+    }
+    return columns;
+  }
+
+  /**
+   * Retrieves a field of a CSV record, treating a missing trailing field as empty.
+   *
+   * @param fields   the fields of the record
+   * @param position the position of the field
+   * @return the field, or an empty string if the record is shorter
+   */
+  private static String field(List<String> fields, int position) {
+    return position < fields.size() ? fields.get(position) : "";
+  }
+
+  /**
+   * Writes a batch of valid rows in a transaction of its own.
+   * Every item takes the next number of the catalog's change sequence, which completes with the transaction.
+   *
+   * @param batch the valid rows to write
+   */
+  private void writeBatch(List<ItemDto> batch) {
+    transactions.executeWithoutResult(status -> {
+      List<Item> items = new ArrayList<>(batch.size());
+      long[] seqs = new long[batch.size()];
+      try {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator idGenerator = (BeforeExecutionGenerator) session.getFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .getEntityDescriptor(Item.class)
+            .getGenerator();
+        for (int i = 0; i < batch.size(); i++) {
+          ItemDto itemDto = batch.get(i);
+          int id = (Integer) idGenerator.generate(session, null, null, EventType.INSERT);
+          seqs[i] = catalogVersion.next();
+          items.add(toItem(id, itemDto, seqs[i]));
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+          if (connection.isWrapperFor(PGConnection.class)) {
+            copy(connection.unwrap(PGConnection.class), items);
+          } else {
+            insert(connection, items);
+          }
+          return null;
+        });
+      } finally {
+        for (long seq : seqs) {
+          if (seq > 0) {
+            catalogVersion.complete(seq);
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Creates the item of a valid row, prefixing its name like items created one by one.
+   *
+   * @param id        the id generated for the item
+   * @param itemDto   the valid row
+   * @param changeSeq the change sequence number of the item
+   * @return the item to write
+   */
+  private static Item toItem(int id, ItemDto itemDto, long changeSeq) {
+    return new Item(id, ItemServiceImpl.validateItemName(itemDto.getName()), itemDto.getStock(),
+        itemDto.getPrice(), itemDto.getDescription(), changeSeq);
+  }
+
+  /**
+   * Sends a batch of items to PostgreSQL with {@code COPY}, as CSV.
+   *
+   * @param connection the PostgreSQL connection of the transaction
+   * @param items      the items to write
+   * @throws SQLException if the copy fails
+   */
+  private static void copy(PGConnection connection, List<Item> items) throws SQLException {
+    StringBuilder rows = new StringBuilder(items.size() * 96);
+    for (Item item : items) {
+      rows.append(item.getId()).append(',')
+          .append(CatalogExporter.csvField(item.getName())).append(',')
+          .append(item.getStock()).append(',')
+          .append(item.getPrice()).append(',')
+          .append(CatalogExporter.csvField(item.getDescription())).append(',')
+          .append(item.getChangeSeq()).append(",0\n");
+    }
+    try {
+      connection.getCopyAPI().copyIn(COPY_SQL, new StringReader(rows.toString()));
+    } catch (IOException e) {
+      throw new SQLException("Failed to copy items", e);
+    }
+  }
+
+  /**
+   * Sends a batch of items as a single JDBC batch of inserts.
+   *
+   * @param connection the connection of the transaction
+   * @param items      the items to write
+   * @throws SQLException if the insert fails
+   */
+  private static void insert(Connection connection, List<Item> items) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+      for (Item item : items) {
+        statement.setInt(1, item.getId());
+        statement.setString(2, item.getName());
+        statement.setInt(3, item.getStock());
+        statement.setDouble(4, item.getPrice());
+        statement.setString(5, item.getDescription());
+        statement.setLong(6, item.getChangeSeq());
+        statement.addBatch();
+      }
+      statement.executeBatch();
+    }
+  }
+
+  /**
+   * Progress of a running import: the current batch, the counters and the first rejected rows.
+   */
+  private final class Progress {
+
+    private final long startedAt = System.nanoTime();
+    private final List<ItemDto> batch = new ArrayList<>(BATCH_SIZE);
+    private final List<ItemImportResult.Failure> errors = new ArrayList<>();
+    private long imported;
+    private long rejected;
+    private long loggedAt = startedAt;
+
+    /**
+     * Adds a parsed row to the current batch if it is valid, writing the batch once it is full.
+     *
+     * @param row     the number of the row
+     * @param itemDto the parsed row
+     */
+    public void accept(long row, ItemDto itemDto) {
+      Map<String, String> messages = validator.validate(itemDto);
+      if (!messages.isEmpty()) {
+        reject(row, messages);
+        return;
+      }
+      batch.add(itemDto);
+      if (batch.size() == BATCH_SIZE) {
+        flush();
+      }
+    }
+
+    /**
+     * Counts a rejected row, keeping its messages if fewer rows were rejected so far than are reported.
+     *
+     * @param row      the number of the row
+     * @param messages the validation messages, keyed by field
+     */
+    public void reject(long row, Map<String, String> messages) {
+      rejected++;
+      if (errors.size() < MAX_ERRORS) {
+        errors.add(new ItemImportResult.Failure(row, messages));
+      }
+    }
+
+    /**
+     * Writes the current batch and logs the progress if it was not logged for a while.
+     */
+    public void flush() {
+      if (batch.isEmpty()) {
+        return;
+      }
+      writeBatch(batch);
+      imported += batch.size();
+      batch.clear();
+      long now = System.nanoTime();
+      if (now - loggedAt >= LOG_INTERVAL && LOG.isInfoEnabled()) {
+        loggedAt = now;
+        LOG.info("Import progress: {} items imported, {} rows rejected, {} items/s", imported, rejected,
+            imported * 1000 / Math.max(1, elapsedMillis()));
+      }
+    }
+
+    /**
+     * Computes how long the import has been running.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long elapsedMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+  }
+}
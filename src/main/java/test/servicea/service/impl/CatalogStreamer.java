@@ -0,0 +1,116 @@
+package test.servicea.service.impl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import test.servicea.domain.Item;
+import test.servicea.domain.dto.ItemFields;
+import test.servicea.repository.ItemRepository;
+
+/**
+ * Emits the whole local catalog as a reactive stream, read from a database cursor.
+ * Items are fetched as the subscriber requests them and detached once emitted, so a stream never holds more
+ * than one fetch batch of items in memory whatever the size of the catalog. The cursor is read in a read-only
+ * transaction, which Spring binds to the thread that begins it; each stream therefore opens, reads and closes
+ * its cursor on a virtual thread of its own. The cursor is closed and the transaction ended once the stream
+ * completes, fails or is cancelled.
+ */
+@Component
+public class CatalogStreamer {
+
+  private final ItemRepository itemRepository;
+  private final EntityManager entityManager;
+  private final PlatformTransactionManager transactions;
+
+  /**
+   * Constructs a CatalogStreamer with the specified dependencies.
+   *
+   * @param itemRepository     the repository streaming the items from the database
+   * @param entityManager      the entity manager the streamed items are detached from once emitted
+   * @param transactions       the transaction manager beginning the transaction the cursor is read in
+   */
+  public CatalogStreamer(ItemRepository itemRepository, EntityManager entityManager,
+                         PlatformTransactionManager transactions) {
+    this.itemRepository = itemRepository;
+    this.entityManager = entityManager;
+    this.transactions = transactions;
+  }
+
+  /**
+   * Streams all local items in id order.
+   *
+   * @param fields the fields the caller writes to its response; the description is only read if requested
+   * @return the items, read from the database as they are requested
+   */
+  public Flux<Item> streamItems(ItemFields fields) {
+    return Flux.defer(() -> {
+      ExecutorService thread = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("catalog-cursor").factory());
+      Scheduler scheduler = Schedulers.fromExecutorService(thread);
+      return Flux.using(() -> open(fields), cursor -> Flux.fromStream(cursor.items()).doOnNext(this::detach),
+              this::close)
+          .subscribeOn(scheduler)
+          .cancelOn(scheduler)
+          .doFinally(signal -> thread.shutdown());
+    });
+  }
+
+  /**
+   * Begins a read-only transaction and opens a cursor over the local items in it.
+   *
+   * @param fields the fields the caller writes to its response
+   * @return the open cursor
+   */
+  private Cursor open(ItemFields fields) {
+    DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+    definition.setReadOnly(true);
+    TransactionStatus transaction = transactions.getTransaction(definition);
+    try {
+      return new Cursor(fields.includesDescription()
+          ? itemRepository.streamAllByOrderByIdAsc()
+          : itemRepository.streamAllSummaries(), transaction);
+    } catch (RuntimeException e) {
+      transactions.rollback(transaction);
+      throw e;
+    }
+  }
+
+  /**
+   * Detaches an emitted item, so that the persistence context does not grow with the stream.
+   *
+   * @param item the emitted item
+   */
+  private void detach(Item item) {
+    entityManager.detach(item);
+  }
+
+  /**
+   * Closes a cursor and ends its transaction. Runs on the thread the cursor was opened on.
+   *
+   * @param cursor the cursor to close
+   */
+  private void close(Cursor cursor) {
+    try {
+      cursor.items().close();
+    } finally {
+      transactions.commit(cursor.transaction());
+    }
+  }
+
+  /**
+   * Items read from an open database cursor, together with the transaction it is read in.
+   *
+   * @param items       the stream of items over the cursor
+   * @param transaction the read-only transaction the cursor is read in
+   */
+  private record Cursor(Stream<Item> items, TransactionStatus transaction) {
+  }
+}
@@ -0,0 +1,154 @@
+package test.servicea.service.impl;
+
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import test.servicea.repository.ItemRepository;
+
+/**
+ * Version of the local catalog, backed by a monotonic change sequence.
+ * Every write takes the next number of the sequence with {@link #next()}, stores it on the item and
+ * reports with {@link #complete(long)} once the item is saved. The catalog version is the highest
+ * number up to which all writes are complete, so every change up to the version is visible to readers
+ * and a change can never be skipped by a reader that asks for the changes since a version.
+ * The sequence continues from the highest number stored in the database. Within a transaction a write
+ * only completes once the transaction has finished. Listeners registered with {@link #onAdvance(LongConsumer)}
+ * are told whenever the version moves forward.
+ */
+@Component
+public class CatalogVersion {
+
+  private final String instanceId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+  private final ItemRepository itemRepository;
+  private final NavigableSet<Long> pending = new TreeSet<>();
+  private final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+
+  private boolean initialized;
+  private long last;
+  private volatile long completedUpTo = -1;
+
+  /**
+   * Constructs a CatalogVersion continuing the change sequence stored by the given repository.
+   *
+   * @param itemRepository the repository holding the change sequence numbers of the items
+   */
+  public CatalogVersion(ItemRepository itemRepository) {
+    this.itemRepository = itemRepository;
+  }
+
+  /**
+   * Retrieves the current catalog version.
+   * All changes up to and including this version are complete.
+   *
+   * @return the current catalog version
+   */
+  public long current() {
+    long version = completedUpTo;
+    if (version < 0) {
+      synchronized (this) {
+        initialize();
+        version = completedUpTo;
+      }
+    }
+    return version;
+  }
+
+  /**
+   * Retrieves the current catalog version as a strong entity tag.
+   * The tag also identifies the running instance, so it changes on restart.
+   *
+   * @return the quoted entity tag of the current catalog version
+   */
+  public String getEtag() {
+    return "\"" + instanceId + "-" + current() + "\"";
+  }
+
+  /**
+   * Registers a listener told about every new catalog version.
+   * Listeners run on the thread completing the write, outside any lock, so they must return quickly.
+   *
+   * @param listener the listener, given the new catalog version
+   */
+  public void onAdvance(LongConsumer listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Takes the next number of the change sequence for a write that is about to be made.
+   * The catalog version does not move past the number until it is passed to {@link #complete(long)}.
+   *
+   * @return the change sequence number to store on the written item
+   */
+  public synchronized long next() {
+    initialize();
+    last++;
+    pending.add(last);
+    return last;
+  }
+
+  /**
+   * Reports that the write holding the given change sequence number is done, whether it succeeded or not.
+   * If a transaction is active, the write only completes once the transaction has finished.
+   *
+   * @param seq the change sequence number taken with {@link #next()}
+   */
+  public void complete(long seq) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          advance(release(seq));
+        }
+      });
+    } else {
+      advance(release(seq));
+    }
+  }
+
+  /**
+   * Tells the listeners about a catalog version that moved forward.
+   *
+   * @param version the new catalog version, or -1 if the version did not move
+   */
+  private void advance(long version) {
+    if (version >= 0) {
+      for (LongConsumer listener : listeners) {
+        listener.accept(version);
+      }
+    }
+  }
+
+  /**
+   * Removes a change sequence number from the pending writes and moves the catalog version forward.
+   *
+   * @param seq the change sequence number of the completed write
+   * @return the new catalog version, or -1 if the version did not move
+   */
+  private synchronized long release(long seq) {
+    pending.remove(seq);
+    long version = pending.isEmpty() ? last : pending.first() - 1;
+    if (version == completedUpTo) {
+      return -1;
+    }
+    completedUpTo = version;
+    return version;
+  }
+
+  /**
+   * Continues the change sequence from the highest number stored in the database, on first use.
+   */
+  private void initialize() {
+    if (!initialized) {
+      last = itemRepository.findMaxChangeSeq();
+      completedUpTo = last;
+      initialized = true;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package test.servicea.service.impl;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads comma-separated values as described by RFC 4180, one record at a time.
+ * Fields may be enclosed in double quotes, in which case they may contain commas, line breaks and
+ * quotes written as two quotes. Records end with CRLF or LF. Only the current record is held in memory.
+ */
+public final class CsvRecordReader {
+
+  private static final int END = -1;
+  private static final int SEPARATOR = ',';
+  private static final int QUOTE = '"';
+  private static final int CR = '\r';
+  private static final int LF = '\n';
+
+  private final BufferedReader reader;
+
+  /**
+   * Constructs a CsvRecordReader reading from the given reader.
+   *
+   * @param reader the reader providing the comma-separated values
+   */
+  public CsvRecordReader(BufferedReader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Reads the next record.
+   *
+   * @return the fields of the record, an empty line being a single empty field,
+   *         or an empty list at the end of the input
+   * @throws EOFException if the input ends inside a quoted field
+   * @throws IOException  if reading fails
+   */
+  public List<String> next() throws IOException {
+    int c = reader.read();
+    if (c == END) {
+      return List.of();
+    }
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    while (c != LF && c != END) {
+      if (c == SEPARATOR) {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == QUOTE && field.isEmpty()) {
+        readQuoted(field);
+      } else if (c != CR) {
+        field.append((char) c);
+      }
+      c = reader.read();
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  /**
+   * Reads the content of a quoted field up to its closing quote, resolving the doubled quotes.
+   *
+   * @param field the builder the content is appended to
+   * @throws EOFException if the input ends before the closing quote
+   * @throws IOException  if reading fails
+   */
+  private void readQuoted(StringBuilder field) throws IOException {
+    while (true) {
+      int c = reader.read();
+      if (c == END) {
+        throw new EOFException("Unterminated quoted field");
+      }
+      if (c == QUOTE) {
+        reader.mark(1);
+        if (reader.read() != QUOTE) {
+          reader.reset();
+          return;
+        }
+      }
+      field.append((char) c);
+    }
+  }
+}
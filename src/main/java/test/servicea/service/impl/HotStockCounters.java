@@ -0,0 +1,395 @@
+package test.servicea.service.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongToIntFunction;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import test.servicea.config.HotStockProperties;
+import test.servicea.domain.Item;
+import test.servicea.repository.ItemRepository;
+
+/**
+ * In-memory stock of the hot items listed in {@link HotStockProperties}.
+ * Reservations on a single item otherwise all wait for the lock of the same database row. Instead each hot
+ * item leases a block of its stock, recorded in the {@code leased} column of its row by a conditional update,
+ * and hands the leased units out from a few counters in memory: a reservation takes its units from one
+ * counter with a compare-and-set that never lets it drop below zero, and only locks the item when no single
+ * counter holds enough units, leasing the next block if the leased units run out. Every flush interval the
+ * units sold from memory are settled, taking them out of the stock and the lease of the row, and the units
+ * leased beyond one block, which releases put back, are returned; on shutdown all of them are. At startup the
+ * leases a crashed process left open are returned before any stock is leased, so a crash loses no stock; only
+ * the sales of its last flush interval, which were never settled, are counted in stock again.
+ */
+@Component
+public class HotStockCounters {
+
+  private static final Logger LOG = LoggerFactory.getLogger(HotStockCounters.class);
+
+  private final ItemRepository itemRepository;
+  private final CatalogVersion catalogVersion;
+  private final ItemCache itemCache;
+  private final HotStockProperties properties;
+  private volatile Map<Integer, StripedStock> stocks = Map.of();
+  private ScheduledExecutorService flusher;
+
+  /**
+   * Constructs HotStockCounters leasing the stock of the hot items through the given repository.
+   *
+   * @param itemRepository the repository the stock is leased from and given back to
+   * @param catalogVersion the version of the local catalog, moved forward by every write
+   * @param itemCache      the cache of local items, cleared of an item once its stock is written
+   * @param properties     the properties listing the hot items, the lease size and the flush interval
+   */
+  public HotStockCounters(ItemRepository itemRepository, CatalogVersion catalogVersion, ItemCache itemCache,
+                          HotStockProperties properties) {
+    this.itemRepository = itemRepository;
+    this.catalogVersion = catalogVersion;
+    this.itemCache = itemCache;
+    this.properties = properties;
+  }
+
+  /**
+   * Returns the leases left open by a previous process, reads the stock of the hot items and starts settling
+   * their sales. No stock is leased until the first reservation. Configured items that do not exist keep
+   * being reserved in the database.
+   */
+  @PostConstruct
+  public void start() {
+    int reconciled = itemRepository.returnAllLeases();
+    if (reconciled > 0 && LOG.isWarnEnabled()) {
+      LOG.warn("Returned the leased stock of {} items left open by a previous run", reconciled);
+    }
+    if (properties.getItemIds().isEmpty()) {
+      return;
+    }
+    Map<Integer, StripedStock> loaded = new HashMap<>();
+    for (Integer id : properties.getItemIds()) {
+      Optional<Item> item = itemRepository.findById(id);
+      if (item.isPresent()) {
+        loaded.put(id, loadStock(item.get()));
+      } else if (LOG.isWarnEnabled()) {
+        LOG.warn("Hot item {} does not exist, its stock is kept in the database", id);
+      }
+    }
+    stocks = Map.copyOf(loaded);
+    long interval = properties.getFlushInterval().toNanos();
+    flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("hot-stock-flusher").factory());
+    flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Stops the background task, settles the sales and returns every leased unit to the database.
+   */
+  @PreDestroy
+  public void stop() {
+    if (flusher != null) {
+      flusher.shutdownNow();
+      settle(0);
+    }
+  }
+
+  /**
+   * Checks whether the stock of an item is kept in memory.
+   *
+   * @param id the id of the item
+   * @return true if the item is a hot item, false if its stock is changed in the database
+   */
+  public boolean isHot(int id) {
+    return stocks.containsKey(id);
+  }
+
+  /**
+   * Takes units out of a hot item's stock, unless fewer units are left.
+   * If the leased units do not suffice, the next block is leased from the database first.
+   *
+   * @param id       the id of the hot item
+   * @param quantity the number of units to take out of stock
+   * @return true if the stock was reserved, false if the item has fewer units in stock
+   */
+  public boolean reserve(int id, int quantity) {
+    StripedStock counters = stocks.get(id);
+    if (counters.tryReserve(quantity)) {
+      return true;
+    }
+    synchronized (counters) {
+      long units = counters.drain();
+      try {
+        if (units < quantity) {
+          units += lease(id, counters, quantity - units);
+        }
+        if (units < quantity) {
+          return false;
+        }
+        units -= quantity;
+        return true;
+      } finally {
+        counters.spread(units);
+      }
+    }
+  }
+
+  /**
+   * Puts units back into a hot item's stock. They are leased units until the next flush returns them.
+   *
+   * @param id       the id of the hot item
+   * @param quantity the number of units to put back into stock
+   */
+  public void release(int id, int quantity) {
+    stocks.get(id).release(quantity);
+  }
+
+  /**
+   * Retrieves the number of units of a hot item in stock, including the sales not settled yet.
+   *
+   * @param id the id of the hot item
+   * @return the number of units in stock
+   */
+  public long getStock(int id) {
+    StripedStock counters = stocks.get(id);
+    synchronized (counters) {
+      return counters.stock - counters.leased + counters.sum();
+    }
+  }
+
+  /**
+   * Replaces the stock of a hot item by the stock of a complete update of the item.
+   * The update is written while the item is locked, so no lease can interleave with it. The lease is
+   * returned and the unsettled sales are dropped, since the update sets the full new stock.
+   *
+   * @param id    the id of the hot item
+   * @param stock the stock the item is updated to
+   * @param write the write persisting the updated item
+   */
+  public void replace(int id, int stock, Runnable write) {
+    StripedStock counters = stocks.get(id);
+    synchronized (counters) {
+      write.run();
+      if (counters.leased != 0) {
+        itemRepository.returnLease(id, Math.toIntExact(counters.leased));
+      }
+      counters.drain();
+      counters.stock = stock;
+      counters.leased = 0;
+    }
+  }
+
+  /**
+   * Settles the units sold from memory in the database and returns the units leased beyond one block,
+   * which releases put back. A failed write is logged and retried with the next run.
+   */
+  public void flush() {
+    settle(properties.getLeaseSize());
+  }
+
+  /**
+   * Settles the sales of every hot item and returns its leased units beyond the given number.
+   *
+   * @param keep the number of leased units each hot item keeps
+   */
+  private void settle(long keep) {
+    for (Map.Entry<Integer, StripedStock> entry : stocks.entrySet()) {
+      try {
+        settle(entry.getKey(), entry.getValue(), keep);
+      } catch (RuntimeException e) {
+        if (LOG.isWarnEnabled()) {
+          LOG.warn("Failed to settle the leased stock of hot item {}: {}", entry.getKey(), e.toString());
+        }
+      }
+    }
+  }
+
+  /**
+   * Settles the sales of a single hot item and returns its leased units beyond the given number.
+   * Sales change the stock of the item and are written as one change of the catalog's change sequence;
+   * returning leased units alone leaves the stock as it is.
+   *
+   * @param id       the id of the hot item
+   * @param counters the in-memory stock of the item
+   * @param keep     the number of leased units the item keeps
+   */
+  private void settle(int id, StripedStock counters, long keep) {
+    synchronized (counters) {
+      long units = counters.drain();
+      try {
+        int sold = Math.toIntExact(counters.leased - units);
+        int excess = Math.toIntExact(Math.max(0, units - keep));
+        if (sold == 0) {
+          if (excess > 0) {
+            itemRepository.returnLease(id, excess);
+          }
+        } else {
+          write(id, seq -> itemRepository.settleLease(id, sold, excess, seq));
+          counters.stock -= sold;
+        }
+        counters.leased -= sold + excess;
+        units -= excess;
+      } finally {
+        counters.spread(units);
+      }
+    }
+  }
+
+  /**
+   * Leases units of a hot item from the database, a whole block if the row still holds one.
+   * Must be called while the item is locked.
+   *
+   * @param id       the id of the hot item
+   * @param counters the in-memory stock of the item
+   * @param needed   the number of units the reservation lacks
+   * @return the number of units leased, or 0 if the row holds fewer than needed
+   */
+  private long lease(int id, StripedStock counters, long needed) {
+    long available = counters.stock - counters.leased;
+    int block = Math.toIntExact(Math.max(needed, Math.min(properties.getLeaseSize(), available)));
+    if (itemRepository.leaseStock(id, block) > 0) {
+      counters.leased += block;
+      return block;
+    }
+    // The row holds less than expected; it may still hold what the reservation needs
+    int rest = Math.toIntExact(needed);
+    if (block > rest && itemRepository.leaseStock(id, rest) > 0) {
+      counters.leased += rest;
+      return rest;
+    }
+    return 0;
+  }
+
+  /**
+   * Creates the counters of a hot item from its stock in the database, without a lease.
+   *
+   * @param item the hot item as stored in the database
+   * @return the counters holding the stock of the item
+   */
+  private StripedStock loadStock(Item item) {
+    return new StripedStock(item.getStock(), properties.getStripes());
+  }
+
+  /**
+   * Runs a stock update of a hot item as the next change of the catalog's change sequence.
+   *
+   * @param id     the id of the hot item
+   * @param update the update to run, given the change sequence number to record on the item
+   * @return the number of updated rows
+   */
+  private int write(int id, LongToIntFunction update) {
+    long seq = catalogVersion.next();
+    try {
+      return update.applyAsInt(seq);
+    } finally {
+      itemCache.invalidate(id);
+      catalogVersion.complete(seq);
+    }
+  }
+
+  /**
+   * Leased stock of a single item spread over striped counters.
+   * The counters are placed a cache line apart so that threads updating different stripes do not
+   * invalidate each other's caches. Operations spanning all stripes are synchronized on the instance.
+   */
+  private static final class StripedStock {
+
+    /** Distance between two stripes in the array: 16 longs fill a 128-byte line. */
+    private static final int PADDING = 16;
+
+    private final AtomicLongArray cells;
+    private final int stripes;
+    /** Stock of the database row, including the lease; guarded by the instance lock. */
+    private long stock;
+    /** Lease of the database row, held in the stripes unless sold since the last settlement. */
+    private long leased;
+
+    /**
+     * Constructs a StripedStock without a lease.
+     *
+     * @param stock   the number of units in stock in the database
+     * @param stripes the number of counters to spread the leased units over
+     */
+    public StripedStock(long stock, int stripes) {
+      this.stripes = Math.max(1, stripes);
+      this.cells = new AtomicLongArray(this.stripes * PADDING);
+      this.stock = stock;
+    }
+
+    /**
+     * Takes units from the first stripe, starting at a random one, that holds enough of them.
+     *
+     * @param quantity the number of units to take out of stock
+     * @return true if the units were taken, false if no single stripe holds enough units
+     */
+    public boolean tryReserve(int quantity) {
+      int start = ThreadLocalRandom.current().nextInt(stripes);
+      for (int i = 0; i < stripes; i++) {
+        int cell = (start + i) % stripes * PADDING;
+        long units = cells.get(cell);
+        while (units >= quantity) {
+          long witness = cells.compareAndExchange(cell, units, units - quantity);
+          if (witness == units) {
+            return true;
+          }
+          units = witness;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Puts units back into a random stripe.
+     *
+     * @param quantity the number of units to put back into stock
+     */
+    public void release(int quantity) {
+      cells.addAndGet(ThreadLocalRandom.current().nextInt(stripes) * PADDING, quantity);
+    }
+
+    /**
+     * Adds up the stripes. Every reservation and release changes a single stripe atomically, so the sum
+     * always counts each of them either fully or not at all.
+     *
+     * @return the number of leased units in stock
+     */
+    public long sum() {
+      long total = 0;
+      for (int i = 0; i < stripes; i++) {
+        total += cells.get(i * PADDING);
+      }
+      return total;
+    }
+
+    /**
+     * Empties every stripe. Called with the instance locked.
+     *
+     * @return the number of units the stripes held
+     */
+    public long drain() {
+      long total = 0;
+      for (int i = 0; i < stripes; i++) {
+        total += cells.getAndSet(i * PADDING, 0);
+      }
+      return total;
+    }
+
+    /**
+     * Adds units to the stripes in equal shares. Called with the instance locked.
+     *
+     * @param units the number of units to add
+     */
+    public void spread(long units) {
+      long share = units / stripes;
+      long rest = units % stripes;
+      for (int i = 0; i < stripes; i++) {
+        cells.addAndGet(i * PADDING, share + (i < rest ? 1 : 0));
+      }
+    }
+  }
+}
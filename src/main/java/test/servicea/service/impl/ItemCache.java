@@ -0,0 +1,169 @@
+package test.servicea.service.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import test.servicea.config.ItemCacheProperties;
+import test.servicea.domain.Item;
+
+/**
+ * Bounded read-through cache of local items, keyed by id.
+ * Items are kept in least-recently-used order and the least recently used item is evicted once the
+ * configured size is exceeded. Of two versions of the same item the cache keeps the one with the
+ * higher change sequence number, so a lookup that read an item just before it was updated cannot
+ * replace the updated item. An item whose row was changed without loading it is invalidated instead,
+ * and lookups that started loading before the invalidation do not cache what they read.
+ * Concurrent misses on the same id share a single load, as long as no item was invalidated since it
+ * started, so a burst of lookups for an uncached item reaches the database once.
+ * Cached items are shared between callers and must not be modified.
+ */
+@Component
+public class ItemCache {
+
+  private final int maxSize;
+  private final Map<Integer, Item> entries;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final SingleFlight<Load, Item> loads = new SingleFlight<>();
+  private long invalidations;
+
+  /**
+   * Constructs an ItemCache sized by the given properties.
+   *
+   * @param properties the properties providing the maximum size of the cache
+   */
+  @Autowired
+  public ItemCache(ItemCacheProperties properties) {
+    this(properties.getMaxSize());
+  }
+
+  /**
+   * Constructs an ItemCache holding at most the given number of items.
+   *
+   * @param maxSize the maximum number of cached items, or 0 to disable caching
+   */
+  public ItemCache(int maxSize) {
+    this.maxSize = maxSize;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Item> eldest) {
+        if (size() > ItemCache.this.maxSize) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Retrieves an item from the cache, loading and caching it on a miss.
+   * The loader runs outside the cache lock; items it does not find are not cached. A lookup missing the
+   * cache while the same item is being loaded waits for that load instead of starting another one.
+   *
+   * @param id     the id of the item
+   * @param loader the function loading the item from the database, returning null if it does not exist
+   * @return the item with the given id, or null if it does not exist
+   */
+  public Item get(int id, IntFunction<Item> loader) {
+    if (maxSize <= 0) {
+      return loader.apply(id);
+    }
+    Item item;
+    long generation;
+    synchronized (this) {
+      item = entries.get(id);
+      generation = invalidations;
+    }
+    if (item != null) {
+      hits.increment();
+      return item;
+    }
+    misses.increment();
+    // Only loads started since the last invalidation are joined: their item is as fresh as one read now
+    item = loads.run(new Load(id, generation), () -> loader.apply(id));
+    if (item != null) {
+      synchronized (this) {
+        // The item may have been read before a concurrent invalidation
+        if (invalidations == generation) {
+          put(item);
+        }
+      }
+    }
+    return item;
+  }
+
+  /**
+   * Stores the current version of an item, unless a newer version is already cached.
+   *
+   * @param item the item just read or written
+   */
+  public synchronized void put(Item item) {
+    if (maxSize <= 0) {
+      return;
+    }
+    Item cached = entries.get(item.getId());
+    if (cached == null || changeSeq(item) >= changeSeq(cached)) {
+      entries.put(item.getId(), item);
+    }
+  }
+
+  /**
+   * Removes an item from the cache.
+   *
+   * @param id the id of the item
+   */
+  public synchronized void invalidate(int id) {
+    entries.remove(id);
+    invalidations++;
+  }
+
+  /**
+   * Retrieves the size and the hit, miss and eviction counters of the cache.
+   *
+   * @return the statistics of the cache since it was created
+   */
+  public Stats getStats() {
+    int size;
+    synchronized (this) {
+      size = entries.size();
+    }
+    return new Stats(size, maxSize, hits.sum(), misses.sum(), evictions.sum());
+  }
+
+  /**
+   * Reads the change sequence number of an item, treating items never changed through the service as oldest.
+   *
+   * @param item the item
+   * @return the change sequence number of the item, or 0 if it has none
+   */
+  private static long changeSeq(Item item) {
+    return item.getChangeSeq() == null ? 0 : item.getChangeSeq();
+  }
+
+  /**
+   * Key of a load of an item, started when the cache had seen the given number of invalidations.
+   *
+   * @param id         the id of the item
+   * @param generation the number of invalidations when the load started
+   */
+  private record Load(int id, long generation) {
+  }
+
+  /**
+   * Statistics of an item cache.
+   *
+   * @param size      the number of cached items
+   * @param maxSize   the maximum number of cached items
+   * @param hits      the number of lookups answered from the cache
+   * @param misses    the number of lookups that went to the database
+   * @param evictions the number of items evicted to respect the maximum size
+   */
+  public record Stats(int size, int maxSize, long hits, long misses, long evictions) {
+  }
+}
@@ -0,0 +1,179 @@
+package test.servicea.service.impl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import test.servicea.config.ItemFeedProperties;
+import test.servicea.domain.Item;
+import test.servicea.repository.ItemRepository;
+
+/**
+ * Feed of the changes to the local catalog, streamed to subscribers as Server-Sent Events.
+ * Writers do not publish items themselves: every write completes through the {@link CatalogVersion}, which
+ * only signals the feed. A single background task then reads the items changed since the version it last
+ * published, once for all subscribers, and multicasts them in change order. A burst of writes is thereby
+ * read once, and an item changed several times in between is sent once, in its latest state.
+ * Each event carries the change sequence number of the item as its id. A subscriber resuming with the id of
+ * the last event it received first gets the items changed since from the database, then the live changes.
+ * Every subscriber has a bounded buffer: one that falls further behind is disconnected instead of holding
+ * up the others, and catches up when it reconnects with its last event id.
+ */
+@Component
+public class ItemChangeFeed {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ItemChangeFeed.class);
+  private static final String EVENT_NAME = "item";
+
+  private final ItemRepository itemRepository;
+  private final CatalogVersion catalogVersion;
+  private final ItemFeedProperties properties;
+  private final Sinks.Many<Item> changes = Sinks.many().multicast().directBestEffort();
+  private final AtomicBoolean publishScheduled = new AtomicBoolean();
+  private final ExecutorService publisher =
+      Executors.newSingleThreadExecutor(Thread.ofVirtual().name("item-feed").factory());
+  /** Catalog version up to which the changes are published, only accessed by the publisher thread. */
+  private long published;
+
+  /**
+   * Constructs an ItemChangeFeed reading the changed items from the given repository.
+   *
+   * @param itemRepository the repository the changed items are read from
+   * @param catalogVersion the version of the local catalog, signalling every completed write
+   * @param properties     the properties bounding the buffer of each subscriber
+   */
+  public ItemChangeFeed(ItemRepository itemRepository, CatalogVersion catalogVersion,
+                        ItemFeedProperties properties) {
+    this.itemRepository = itemRepository;
+    this.catalogVersion = catalogVersion;
+    this.properties = properties;
+  }
+
+  /**
+   * Starts publishing the changes made from the current catalog version on.
+   */
+  @PostConstruct
+  public void start() {
+    published = catalogVersion.current();
+    catalogVersion.onAdvance(version -> schedulePublish());
+  }
+
+  /**
+   * Stops publishing and completes the streams of all subscribers.
+   */
+  @PreDestroy
+  public void stop() {
+    publisher.shutdownNow();
+    changes.tryEmitComplete();
+  }
+
+  /**
+   * Streams the changes to the local catalog as Server-Sent Events.
+   * The stream never completes on its own; comments are sent on an idle stream to keep it open.
+   *
+   * @param lastEventId the id of the last event received before reconnecting, or null to only receive
+   *                    the changes made from now on
+   * @return the changed items, each as an event named {@code item} with its change sequence number as id
+   */
+  public Flux<ServerSentEvent<Item>> stream(Long lastEventId) {
+    Flux<ServerSentEvent<Item>> heartbeats = Flux.interval(properties.getHeartbeat())
+        .onBackpressureDrop()
+        .map(tick -> ServerSentEvent.<Item>builder().comment("heartbeat").build());
+    return Flux.merge(changesSince(lastEventId).map(ItemChangeFeed::toEvent), heartbeats);
+  }
+
+  /**
+   * Streams the live changes, preceded by the changes made since the given event if it is set.
+   * The live changes are subscribed to before the database is read, so no change falls in between;
+   * live changes the database already returned are skipped.
+   *
+   * @param lastEventId the change sequence number of the last change received, or null
+   * @return the changed items in change order
+   */
+  private Flux<Item> changesSince(Long lastEventId) {
+    return Flux.defer(() -> {
+      Flux<Item> buffered = changes.asFlux()
+          .onBackpressureBuffer(properties.getBufferSize(), item -> {
+            if (LOG.isWarnEnabled()) {
+              LOG.warn("Disconnecting a change feed subscriber more than {} changes behind",
+                  properties.getBufferSize());
+            }
+          });
+      if (lastEventId == null) {
+        return buffered;
+      }
+      Disposable[] connection = new Disposable[1];
+      Flux<Item> live = buffered.publish().autoConnect(0, subscription -> connection[0] = subscription);
+      AtomicLong replayedUpTo = new AtomicLong(lastEventId);
+      Flux<Item> replay = Mono.fromCallable(() -> {
+        long version = catalogVersion.current();
+        replayedUpTo.set(version);
+        return itemRepository.findByChangeSeqBetweenOrderByChangeSeq(lastEventId + 1, version);
+      }).subscribeOn(Schedulers.boundedElastic()).flatMapIterable(items -> items);
+      return Flux.concat(replay, live.filter(item -> item.getChangeSeq() > replayedUpTo.get()))
+          .doFinally(signal -> connection[0].dispose());
+    });
+  }
+
+  /**
+   * Schedules the publication of the changes completed since the last one, unless one is already scheduled.
+   * Called on the writing thread, so it only hands over to the publisher thread.
+   */
+  private void schedulePublish() {
+    if (publishScheduled.compareAndSet(false, true)) {
+      try {
+        publisher.execute(this::publish);
+      } catch (RejectedExecutionException e) {
+        LOG.debug("Change feed stopped, not publishing");
+      }
+    }
+  }
+
+  /**
+   * Reads the items changed since the last published catalog version and multicasts them to the subscribers.
+   * Without subscribers nothing is read. A failed read is retried with the next change.
+   */
+  private void publish() {
+    publishScheduled.set(false);
+    long version = catalogVersion.current();
+    if (version <= published) {
+      return;
+    }
+    try {
+      if (changes.currentSubscriberCount() > 0) {
+        for (Item item : itemRepository.findByChangeSeqBetweenOrderByChangeSeq(published + 1, version)) {
+          changes.tryEmitNext(item);
+        }
+      }
+      published = version;
+    } catch (RuntimeException e) {
+      if (LOG.isWarnEnabled()) {
+        LOG.warn("Failed to read the changes up to catalog version {}, retrying with the next change: {}",
+            version, e.toString());
+      }
+    }
+  }
+
+  /**
+   * Wraps a changed item into a Server-Sent Event.
+   *
+   * @param item the changed item
+   * @return the event named {@code item} with the change sequence number of the item as id
+   */
+  private static ServerSentEvent<Item> toEvent(Item item) {
+    return ServerSentEvent.builder(item).id(String.valueOf(item.getChangeSeq())).event(EVENT_NAME).build();
+  }
+}
@@ -0,0 +1,69 @@
+package test.servicea.service.impl;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import jakarta.annotation.PostConstruct;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves the {@code item_seq} sequence past the highest item id on startup.
+ * Item ids used to come from an identity column; on a database created back then, the schema update creates
+ * the sequence at 1, and the first items created would collide with the existing ones. On PostgreSQL the
+ * sequence is therefore set {@value #ALLOCATION_SIZE} past the highest id whenever it is not already ahead of
+ * it, under an advisory lock so that instances starting together do not hand out the same block twice.
+ * Runs once the schema is updated and before any item is created. Other databases are left as they are.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class ItemSequenceInitializer {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ItemSequenceInitializer.class);
+  private static final int ALLOCATION_SIZE = 50;
+  private static final String LOCK_SQL = "select pg_advisory_xact_lock(hashtext('item_seq'))";
+  private static final String ALIGN_SQL = "select setval('item_seq', max(id) + " + ALLOCATION_SIZE + ") from item"
+      + " having max(id) >= (select last_value from item_seq)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactions;
+
+  /**
+   * Constructs an ItemSequenceInitializer with the specified dependencies.
+   *
+   * @param jdbcTemplate the template reading the highest id and setting the sequence
+   * @param txManager    the transaction manager holding the advisory lock for the time of the check
+   */
+  public ItemSequenceInitializer(JdbcTemplate jdbcTemplate, PlatformTransactionManager txManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactions = new TransactionTemplate(txManager);
+  }
+
+  /**
+   * Sets the sequence past the highest item id if it is behind it.
+   */
+  @PostConstruct
+  public void align() {
+    Long next = transactions.execute(status -> jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+      if (!connection.isWrapperFor(PGConnection.class)) {
+        return null;
+      }
+      try (Statement statement = connection.createStatement()) {
+        statement.execute(LOCK_SQL);
+        try (ResultSet result = statement.executeQuery(ALIGN_SQL)) {
+          return result.next() ? result.getLong(1) : null;
+        }
+      }
+    }));
+    if (next != null && LOG.isWarnEnabled()) {
+      LOG.warn("Moved item_seq past the highest item id, to {}", next);
+    }
+  }
+}
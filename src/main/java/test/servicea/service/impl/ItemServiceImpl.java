@@ -1,20 +1,52 @@
 package test.servicea.service.impl;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongToIntFunction;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import test.servicea.config.PeerClientProperties;
+import test.servicea.config.PeerEtagInterceptor;
 import test.servicea.domain.Item;
+import test.servicea.domain.dto.CatalogFreshness;
 import test.servicea.domain.dto.ExternalInventory;
+import test.servicea.domain.dto.ItemChanges;
 import test.servicea.domain.dto.ItemDto;
+import test.servicea.domain.dto.ItemFields;
+import test.servicea.domain.dto.ItemPage;
 import test.servicea.repository.ItemRepository;
 import test.servicea.service.ItemService;
 import test.servicea.service.converter.ConversionProperties;
@@ -27,25 +59,83 @@ public class ItemServiceImpl implements ItemService {
 
   private static final Logger LOG = LoggerFactory.getLogger(ItemServiceImpl.class);
   private static final String SERVICE_NAME = "Inventory-A";
+  private static final String LOCAL_CATALOG = "local";
+  private static final int MAX_PAGE_SIZE = 1000;
 
   private final ItemRepository itemRepository;
   private final ConversionProperties properties;
   private final RestTemplate restTemplate;
-
+  private final WebClient webClient;
+  private final PeerClientProperties clientProperties;
+  private final PeerSnapshotCache snapshotCache;
+  private final PeerCircuitBreakerRegistry circuitBreakers;
+  private final CatalogVersion catalogVersion;
+  private final ItemCache itemCache;
+  private final HotStockCounters hotStock;
+  private final CatalogStreamer catalogStreamer;
+  private final Map<String, PeerMirror> mirrors = new ConcurrentHashMap<>();
+  private final Set<String> fullSyncOnly = ConcurrentHashMap.newKeySet();
+  private final Map<String, PeerReplica> replicas = new ConcurrentHashMap<>();
+  private ScheduledExecutorService replicator;
+  private final ExecutorService peerExecutor = Executors.newVirtualThreadPerTaskExecutor();
+  private final SingleFlight<String, List<Item>> peerCalls = new SingleFlight<>();
 
 
   /**
    * Constructs an instance of ItemServiceImpl with the specified dependencies.
    *
-   * @param itemRepository     the repository used for item-related database operations
-   * @param properties         the properties used for external service configurations
-   * @param templateBuilder the builder used to create RestTemplate instances for HTTP requests
+   * @param itemRepository   the repository used for item-related database operations
+   * @param properties       the properties used for external service configurations
+   * @param templateBuilder  the builder used to create RestTemplate instances for HTTP requests
+   * @param clientProperties the properties bounding how long external services are waited for
+   * @param webClientBuilder the builder used to create the WebClient for streaming HTTP requests
+   * @param circuitBreakers  the registry of the circuit breakers guarding the external services
+   * @param catalogVersion   the version of the local catalog, taken from its change sequence
+   * @param itemCache        the cache of local items serving the lookups by id
+   * @param hotStock         the in-memory stock of the hot items, reserved without locking their rows
+   * @param catalogStreamer  the streamer reading the local items from a database cursor
    */
   public ItemServiceImpl(ItemRepository itemRepository, ConversionProperties properties,
-                         RestTemplateBuilder templateBuilder) {
+                         RestTemplateBuilder templateBuilder, PeerClientProperties clientProperties,
+                         WebClient.Builder webClientBuilder, PeerCircuitBreakerRegistry circuitBreakers,
+                         CatalogVersion catalogVersion, ItemCache itemCache, HotStockCounters hotStock,
+                         CatalogStreamer catalogStreamer) {
     this.itemRepository = itemRepository;
     this.properties = properties;
-    this.restTemplate = templateBuilder.build();
+    this.restTemplate = templateBuilder.additionalInterceptors(new PeerEtagInterceptor()).build();
+    this.webClient = webClientBuilder.build();
+    this.clientProperties = clientProperties;
+    this.snapshotCache = new PeerSnapshotCache(clientProperties);
+    this.circuitBreakers = circuitBreakers;
+    this.catalogVersion = catalogVersion;
+    this.itemCache = itemCache;
+    this.hotStock = hotStock;
+    this.catalogStreamer = catalogStreamer;
+  }
+
+  /**
+   * Starts replicating the external services in the background if a replication delay is configured.
+   * The first replication starts immediately and each next one the configured delay after the
+   * previous one has finished.
+   */
+  @PostConstruct
+  public void startReplication() {
+    Duration delay = clientProperties.getReplicationDelay();
+    if (delay.isPositive()) {
+      replicator = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("peer-replicator").factory());
+      replicator.scheduleWithFixedDelay(this::replicateExternalServices, 0, delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Stops the executors running the external service calls when the service is destroyed.
+   */
+  @PreDestroy
+  public void shutdown() {
+    if (replicator != null) {
+      replicator.shutdownNow();
+    }
+    peerExecutor.shutdownNow();
   }
 
   @Override
@@ -56,31 +146,162 @@ public class ItemServiceImpl implements ItemService {
     String name = validateItemName(itemDto.getName());
     Item item =
         new Item(name, itemDto.getStock(), itemDto.getPrice(), itemDto.getDescription());
-    itemRepository.save(item);
+    save(item);
     return item;
   }
 
+  @Override
+  public List<Item> createItems(List<ItemDto> itemDtos) {
+    List<Item> items = new ArrayList<>(itemDtos.size());
+    for (ItemDto itemDto : itemDtos) {
+      String name = validateItemName(itemDto.getName());
+      items.add(new Item(name, itemDto.getStock(), itemDto.getPrice(), itemDto.getDescription()));
+    }
+    long[] seqs = new long[items.size()];
+    try {
+      for (int i = 0; i < items.size(); i++) {
+        seqs[i] = catalogVersion.next();
+        items.get(i).setChangeSeq(seqs[i]);
+      }
+      itemRepository.saveAll(items);
+      items.forEach(itemCache::put);
+    } finally {
+      for (long seq : seqs) {
+        if (seq > 0) {
+          catalogVersion.complete(seq);
+        }
+      }
+    }
+    return items;
+  }
+
   @Override
   public List<Item> getAllItems(boolean multiCatalog) {
+    return getAllItems(multiCatalog, ItemFields.ALL);
+  }
+
+  @Override
+  public List<Item> getAllItems(boolean multiCatalog, ItemFields fields) {
     List<Item> allItems = new ArrayList<>();
-    List<Item> items = itemRepository.findAll();
+    RequestTimings timings = RequestTimings.current();
+    List<Item> items = timings.time("db", "local items", () -> fields.includesDescription()
+        ? itemRepository.findAllForRead()
+        : itemRepository.findAllSummaries());
     if (!items.isEmpty()) {
       allItems.addAll(items);
     }
     if (multiCatalog) {
-      allItems.addAll(callExternalServices());
+      allItems.addAll(isReplicating()
+          ? timings.time("replicas", "replicated catalogs", this::readReplicas)
+          : timings.time("peers", "external catalogs", () -> callExternalServices(fields)));
     }
     return allItems;
   }
 
+  @Override
+  public Flux<Item> streamAllItems(boolean multiCatalog) {
+    return streamAllItems(multiCatalog, ItemFields.ALL);
+  }
+
+  @Override
+  public Flux<Item> streamAllItems(boolean multiCatalog, ItemFields fields) {
+    Flux<Item> localItems = catalogStreamer.streamItems(fields);
+    if (!multiCatalog) {
+      return localItems;
+    }
+    if (isReplicating()) {
+      return Flux.concat(localItems, Flux.defer(() -> Flux.fromIterable(readReplicas())));
+    }
+    List<Flux<Item>> sources = new ArrayList<>();
+    sources.add(localItems);
+    for (ExternalInventory externalService : properties.getExternalInventory().values()) {
+      sources.add(streamExternalService(externalService, fields));
+    }
+    return Flux.merge(sources);
+  }
+
+  @Override
+  public ItemPage getItemPage(boolean multiCatalog, int limit, String after) {
+    return getItemPage(multiCatalog, limit, after, ItemFields.ALL);
+  }
+
+  @Override
+  public ItemPage getItemPage(boolean multiCatalog, int limit, String after, ItemFields fields) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    if (!multiCatalog) {
+      int afterId = after == null ? 0 : parseCursorId(after);
+      List<Item> items = findLocalPage(afterId, limit + 1, fields);
+      if (items.size() <= limit) {
+        return new ItemPage(items, null);
+      }
+      List<Item> page = items.subList(0, limit);
+      return new ItemPage(page, String.valueOf(page.getLast().getId()));
+    }
+    return getMultiCatalogPage(limit, after, fields);
+  }
+
+  @Override
+  public List<CatalogFreshness> getCatalogFreshness() {
+    if (!isReplicating()) {
+      return List.of();
+    }
+    List<CatalogFreshness> freshness = new ArrayList<>();
+    for (ExternalInventory externalService : properties.getExternalInventory().values()) {
+      PeerReplica replica = replicas.get(String.valueOf(externalService.getUrl()));
+      if (replica == null) {
+        freshness.add(new CatalogFreshness(externalService.getName(), null, 0));
+      } else {
+        freshness.add(new CatalogFreshness(externalService.getName(), replica.replicatedAt(), replica.items().size()));
+      }
+    }
+    return freshness;
+  }
+
+  /**
+   * Copies the current items of every configured external inventory service into memory.
+   * The external services are replicated concurrently and this method returns once all of them are done.
+   * An external service that fails or whose circuit breaker is open keeps its previous replica.
+   */
+  public void replicateExternalServices() {
+    List<Future<?>> runs = new ArrayList<>();
+    for (ExternalInventory externalService : properties.getExternalInventory().values()) {
+      runs.add(peerExecutor.submit(() -> replicateExternalService(externalService)));
+    }
+    for (Future<?> run : runs) {
+      try {
+        run.get();
+      } catch (ExecutionException e) {
+        if (LOG.isWarnEnabled()) {
+          LOG.warn("Replication of an external service failed: {}", String.valueOf(e.getCause()));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  @Override
+  public ItemChanges getChangesSince(long since) {
+    // Take the version first: every change up to it is complete and therefore visible to the query
+    long version = catalogVersion.current();
+    if (since <= 0) {
+      return new ItemChanges(version, itemRepository.findAllForRead());
+    }
+    return new ItemChanges(version, itemRepository.findByChangeSeqBetweenOrderByChangeSeq(since + 1, version));
+  }
+
   @Override
   public Item getItemById(int id) {
-    Optional<Item> item = itemRepository.findById(id);
-    return item.orElse(null);
+    return itemCache.get(id, key -> itemRepository.findById(key).orElse(null));
   }
 
   @Override
+  @Transactional
   public Item updateItemById(int id, ItemDto itemDto) {
+    // Updates start from the database: cached items are shared with readers and must not be modified
     Optional<Item> item = itemRepository.findById(id);
     if (item.isPresent()) {
       Item itemToUpdate = item.get();
@@ -89,24 +310,101 @@ public class ItemServiceImpl implements ItemService {
     return null;
   }
 
+  @Override
+  @Transactional
+  public Item updateItemById(int id, ItemDto itemDto, long expectedVersion) {
+    Optional<Item> item = itemRepository.findById(id);
+    if (item.isPresent()) {
+      if (item.get().getVersion() != expectedVersion) {
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+            "Item " + id + " is at version " + item.get().getVersion() + ", not " + expectedVersion);
+      }
+      return getItem(itemDto, item.get());
+    }
+    return null;
+  }
+
   @Override
   public Item getItemByIdAndName(int id, String name) {
-    return itemRepository.findItemByIdAndName(id, name);
+    Item item = getItemById(id);
+    if (item != null && Objects.equals(item.getName(), name)) {
+      return item;
+    }
+    return null;
   }
 
   @Override
+  @Transactional
   public Item updateItemByIdAndName(int id, String name, ItemDto itemDto) {
-    Item item = getItemByIdAndName(id, name);
+    Item item = itemRepository.findItemByIdAndName(id, name);
     if (item != null) {
       return getItem(itemDto, item);
     }
     return null;
   }
 
+  @Override
+  public void reserveStock(int id, int quantity) {
+    if (hotStock.isHot(id)) {
+      if (!hotStock.reserve(id, quantity)) {
+        throw insufficientStock(id, quantity);
+      }
+      return;
+    }
+    if (changeStock(id, seq -> itemRepository.reserveStock(id, quantity, seq)) == 0) {
+      if (!itemRepository.existsById(id)) {
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Item " + id + " not found");
+      }
+      throw insufficientStock(id, quantity);
+    }
+  }
+
+  @Override
+  public void releaseStock(int id, int quantity) {
+    if (hotStock.isHot(id)) {
+      hotStock.release(id, quantity);
+      return;
+    }
+    if (changeStock(id, seq -> itemRepository.releaseStock(id, quantity, seq)) == 0) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Item " + id + " not found");
+    }
+  }
+
+  /**
+   * Creates the exception reporting that an item has too few units in stock for a reservation.
+   *
+   * @param id       the id of the item
+   * @param quantity the number of units that could not be reserved
+   * @return the exception to throw, with an HTTP status of 409 (Conflict)
+   */
+  private static ResponseStatusException insufficientStock(int id, int quantity) {
+    return new ResponseStatusException(HttpStatus.CONFLICT,
+        "Insufficient stock to reserve " + quantity + " units of item " + id);
+  }
+
+  /**
+   * Runs a stock update as the next change of the catalog's change sequence and drops the cached item.
+   *
+   * @param id     the id of the item whose stock changes
+   * @param update the update to run, given the change sequence number to record on the item
+   * @return the number of updated rows
+   */
+  private int changeStock(int id, LongToIntFunction update) {
+    long seq = catalogVersion.next();
+    try {
+      return update.applyAsInt(seq);
+    } finally {
+      itemCache.invalidate(id);
+      catalogVersion.complete(seq);
+    }
+  }
 
   /**
    * Updates the properties of an existing item based on the provided ItemDto
    * and persists the updated item in the repository.
+   * An update that leaves every property as it is returns the item without writing it. Otherwise the
+   * write only succeeds if the stored item still has the version it was loaded with; if another write
+   * came first, the transaction fails with an optimistic locking exception when it commits.
    *
    * @param itemDto the data transfer object containing the new item properties
    * @param item    the existing item to be updated
@@ -114,42 +412,548 @@ public class ItemServiceImpl implements ItemService {
    */
   private Item getItem(ItemDto itemDto, Item item) {
     String validatedName = validateItemName(itemDto.getName());
+    boolean hot = hotStock.isHot(item.getId());
+    if (!hot && isUnchanged(item, validatedName, itemDto)) {
+      return item;
+    }
     item.setName(validatedName);
     item.setStock(itemDto.getStock());
     item.setPrice(itemDto.getPrice());
     item.setDescription(itemDto.getDescription());
-    itemRepository.save(item);
+    if (hot) {
+      hotStock.replace(item.getId(), item.getStock(), () -> {
+        save(item);
+        itemRepository.flush();
+      });
+    } else {
+      save(item);
+    }
     return item;
   }
 
+  /**
+   * Checks whether an update would leave every property of an item as it is.
+   *
+   * @param item    the existing item
+   * @param name    the validated new name of the item
+   * @param itemDto the data transfer object containing the new item properties
+   * @return true if the item already has all the new properties, false otherwise
+   */
+  private static boolean isUnchanged(Item item, String name, ItemDto itemDto) {
+    return Objects.equals(item.getName(), name)
+        && item.getStock() == itemDto.getStock()
+        && Double.compare(item.getPrice(), itemDto.getPrice()) == 0
+        && Objects.equals(item.getDescription(), itemDto.getDescription());
+  }
+
+  /**
+   * Persists an item as the next change of the catalog's change sequence and caches the saved version.
+   * Within a transaction the item is only cached once the transaction has committed.
+   *
+   * @param item the item to persist
+   */
+  private void save(Item item) {
+    long seq = catalogVersion.next();
+    try {
+      item.setChangeSeq(seq);
+      itemRepository.save(item);
+      if (TransactionSynchronizationManager.isSynchronizationActive()) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            itemCache.put(item);
+          }
+        });
+      } else {
+        itemCache.put(item);
+      }
+    } finally {
+      catalogVersion.complete(seq);
+    }
+  }
+
+
+  /**
+   * Pages through the local catalog followed by the external catalogs, in configuration order.
+   * The cursor holds the catalog being paged and the id of the last item taken from it: catalogs before
+   * it are complete and catalogs after it are not started yet. A page that ends on the last item of a
+   * catalog continues with the next catalog, so only the catalogs touched by the page are queried, each
+   * for no more items than the page still needs.
+   *
+   * @param limit  the maximum number of items on the page
+   * @param after  the cursor of the previous page, or null for the first page
+   * @param fields the fields the caller writes to its response
+   * @return the page of items and the cursor of the next page
+   */
+  private ItemPage getMultiCatalogPage(int limit, String after, ItemFields fields) {
+    List<String> catalogs = new ArrayList<>();
+    catalogs.add(LOCAL_CATALOG);
+    catalogs.addAll(properties.getExternalInventory().keySet());
+
+    int start = 0;
+    int afterId = 0;
+    if (after != null) {
+      int separator = after.lastIndexOf(':');
+      start = separator < 0 ? -1 : catalogs.indexOf(after.substring(0, separator));
+      if (start < 0) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown catalog in cursor: " + after);
+      }
+      afterId = parseCursorId(after.substring(separator + 1));
+    }
+
+    List<Item> page = new ArrayList<>(limit);
+    for (int i = start; i < catalogs.size(); i++) {
+      int remaining = limit - page.size();
+      int catalogAfter = i == start ? afterId : 0;
+      List<Item> items = fetchCatalogPage(catalogs.get(i), catalogAfter, remaining + 1, fields);
+      if (items.size() > remaining) {
+        page.addAll(items.subList(0, remaining));
+        int lastId = remaining == 0 ? catalogAfter : items.get(remaining - 1).getId();
+        return new ItemPage(page, catalogs.get(i) + ":" + lastId);
+      }
+      page.addAll(items);
+    }
+    return new ItemPage(page, null);
+  }
+
+  /**
+   * Retrieves the items of a single catalog following the given id, in id order.
+   * External catalogs are read from their replica when replicating and called otherwise; an external
+   * service that fails or whose circuit breaker is open contributes no items.
+   *
+   * @param catalog the key of the catalog, either the local catalog or a configured external service
+   * @param afterId the id after which items are retrieved
+   * @param count   the maximum number of items to retrieve
+   * @param fields  the fields the caller writes to its response
+   * @return at most {@code count} items of the catalog with an id greater than {@code afterId}
+   */
+  private List<Item> fetchCatalogPage(String catalog, int afterId, int count, ItemFields fields) {
+    if (LOCAL_CATALOG.equals(catalog)) {
+      return findLocalPage(afterId, count, fields);
+    }
+    ExternalInventory externalService = properties.getExternalInventory().get(catalog);
+    String url = externalService.getUrl();
+    List<Item> items;
+    if (isReplicating()) {
+      PeerReplica replica = replicas.get(String.valueOf(url));
+      items = replica == null ? List.of() : replica.items();
+    } else {
+      items = pageExternalService(externalService, afterId, count, fields);
+    }
+    // External services without keyset pagination answer with their whole catalog
+    return items.stream()
+        .filter(item -> item.getId() > afterId)
+        .sorted(Comparator.comparingInt(Item::getId))
+        .limit(count)
+        .toList();
+  }
+
+  /**
+   * Requests one page of a single external inventory service, guarded by its circuit breaker.
+   *
+   * @param externalService the external service to page through
+   * @param afterId         the id after which items are requested
+   * @param count           the maximum number of items to request
+   * @param fields          the fields to request, always including the id the page is continued from
+   * @return the items returned by the external service, or an empty list if none are available
+   */
+  private List<Item> pageExternalService(ExternalInventory externalService, int afterId, int count,
+                                         ItemFields fields) {
+    PeerCircuitBreaker breaker = circuitBreakers.forService(externalService);
+    if (!breaker.tryAcquirePermission()) {
+      return List.of();
+    }
+    long start = System.nanoTime();
+    try {
+      Item[] response = fields.isAll()
+          ? restTemplate.getForObject(externalService.getUrl() + "?limit={limit}&after={after}",
+              Item[].class, count, afterId)
+          : restTemplate.getForObject(externalService.getUrl() + "?limit={limit}&after={after}&fields={fields}",
+              Item[].class, count, afterId, fields.withId().toString());
+      breaker.onSuccess(System.nanoTime() - start);
+      return response == null ? List.of() : List.of(response);
+    } catch (RuntimeException e) {
+      breaker.onError(System.nanoTime() - start);
+      if (LOG.isWarnEnabled()) {
+        LOG.warn("Failed to page {} at {}: {}", externalService.getName(), externalService.getUrl(), e.toString());
+      }
+      return List.of();
+    }
+  }
+
+  /**
+   * Retrieves the local items following the given id, in id order, with their description only if requested.
+   *
+   * @param afterId the id after which items are retrieved
+   * @param count   the maximum number of items to retrieve
+   * @param fields  the fields the caller writes to its response
+   * @return at most {@code count} local items with an id greater than {@code afterId}
+   */
+  private List<Item> findLocalPage(int afterId, int count, ItemFields fields) {
+    return RequestTimings.current().time("db", "local page", () -> fields.includesDescription()
+        ? itemRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(count))
+        : itemRepository.findSummariesByIdGreaterThanOrderByIdAsc(afterId, Limit.of(count)));
+  }
+
+  /**
+   * Parses the item id of a pagination cursor.
+   *
+   * @param cursor the item id part of the cursor
+   * @return the item id
+   * @throws ResponseStatusException if the cursor is not an item id
+   */
+  private int parseCursorId(String cursor) {
+    try {
+      return Integer.parseInt(cursor);
+    } catch (NumberFormatException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed cursor: " + cursor, e);
+    }
+  }
+
+  /**
+   * Checks whether external services are replicated in the background instead of called per request.
+   *
+   * @return true if a replication delay is configured, false otherwise
+   */
+  private boolean isReplicating() {
+    return clientProperties.getReplicationDelay().isPositive();
+  }
+
+  /**
+   * Replaces the replica of a single external inventory service with its current items.
+   *
+   * @param externalService the external service to replicate
+   */
+  private void replicateExternalService(ExternalInventory externalService) {
+    String url = externalService.getUrl();
+    PeerCircuitBreaker breaker = circuitBreakers.forService(externalService);
+    if (!breaker.tryAcquirePermission()) {
+      return;
+    }
+    try {
+      replicas.put(String.valueOf(url), new PeerReplica(loadExternalService(url, breaker), Instant.now()));
+    } catch (RuntimeException e) {
+      if (LOG.isWarnEnabled()) {
+        LOG.warn("Failed to replicate {} at {}, keeping the previous replica: {}", externalService.getName(), url,
+            e.toString());
+      }
+    }
+  }
+
+  /**
+   * Reads the replicated items of all configured external inventory services, in configuration order.
+   *
+   * @return the replicated items; external services that were never replicated contribute no items
+   */
+  private List<Item> readReplicas() {
+    List<Item> replicatedItems = new ArrayList<>();
+    for (ExternalInventory externalService : properties.getExternalInventory().values()) {
+      PeerReplica replica = replicas.get(String.valueOf(externalService.getUrl()));
+      if (replica != null) {
+        replicatedItems.addAll(replica.items());
+      }
+    }
+    return replicatedItems;
+  }
 
   /**
    * Fetches items from all configured external inventory services.
-   * Iterates through the external inventory configurations, makes HTTP GET requests
-   * to retrieve items from each external service endpoint, and aggregates the results.
-   * If an error occurs during a request, it is handled and the process continues with other services.
+   * The external services are called concurrently, each on its own virtual thread, and their
+   * results are collected in configuration order until the configured deadline expires.
+   * Services that fail or do not answer in time are skipped and the remaining results are kept.
    *
+   * @param fields the fields the caller writes to its response
    * @return a list of items retrieved from external inventory services. If no items are retrieved
    *         or if there are no configured external services, the list will be empty.
    */
-  private List<Item> callExternalServices() {
+  private List<Item> callExternalServices(ItemFields fields) {
+    List<ExternalInventory> externalServices = new ArrayList<>(properties.getExternalInventory().values());
+    List<Future<List<Item>>> calls = new ArrayList<>(externalServices.size());
+    for (ExternalInventory externalService : externalServices) {
+      calls.add(fetchExternalService(externalService, fields));
+    }
+
+    long deadline = System.nanoTime() + clientProperties.getDeadline().toNanos();
     List<Item> externalItems = new ArrayList<>();
-    for (Map.Entry<String, ExternalInventory> entry : properties.getExternalInventory().entrySet()) {
-      ExternalInventory externalService = entry.getValue();
-      String url = externalService.getUrl();
+    for (int i = 0; i < calls.size(); i++) {
+      externalItems.addAll(awaitExternalService(externalServices.get(i), calls.get(i), deadline));
+    }
+    return externalItems;
+  }
 
-      try {
-        Item[] response = restTemplate.getForObject(url, Item[].class);
-        if (response != null) {
-          externalItems.addAll(List.of(response));
-        }
-      } catch (Exception e) {
-        if (LOG.isWarnEnabled()) {
-          LOG.warn("Failed to call {} at {}", externalService.getName(), url, e);
+  /**
+   * Starts fetching the items of a single external inventory service.
+   * When the snapshot cache is enabled, a snapshot that may still be served is returned right away,
+   * and a stale one is refreshed in the background. Otherwise the external service is called on the
+   * request path, unless its circuit breaker is open, in which case it is skipped without a call.
+   * Snapshots and mirrors serve every request, so only a call made for this request alone is
+   * restricted to the requested fields. Concurrent requests for the same fields share a single call to
+   * the external service and all receive its items, so a burst of requests does not multiply the load on
+   * it; the call is only interrupted once every request waiting for it has given up. The wait for the
+   * call is recorded in the timings of the request. External services are only fetched on the request
+   * path when background replication is off; otherwise requests read the replicas instead.
+   *
+   * @param externalService the external service to fetch items from
+   * @param fields          the fields the caller writes to its response
+   * @return the pending or already available items of the external service
+   */
+  private Future<List<Item>> fetchExternalService(ExternalInventory externalService, ItemFields fields) {
+    String url = externalService.getUrl();
+    RequestTimings timings = RequestTimings.current();
+    String phase = RequestTimings.peerPhase(externalService.getName());
+    if (snapshotCache.isEnabled()) {
+      PeerSnapshotCache.Snapshot snapshot = snapshotCache.get(url);
+      if (snapshot != null) {
+        if (snapshotCache.isStale(snapshot) && snapshotCache.tryStartRefresh(url)) {
+          peerExecutor.execute(() -> refreshSnapshot(externalService));
         }
+        timings.record(phase, externalService.getName() + " snapshot", 0);
+        return CompletableFuture.completedFuture(snapshot.items());
       }
     }
-    return externalItems;
+    ItemFields requested = snapshotCache.isEnabled() ? ItemFields.ALL : fields;
+    long start = System.nanoTime();
+    CompletableFuture<List<Item>> call = peerCalls.submit(url + "?fields=" + requested, peerExecutor,
+        () -> requestExternalService(externalService, requested));
+    call.whenComplete((items, failure) -> {
+      if (!(failure instanceof CancellationException)) {
+        boolean skipped = items != null && items.isEmpty()
+            && circuitBreakers.forService(externalService).getStatus().state() == PeerCircuitBreaker.State.OPEN;
+        timings.record(phase, externalService.getName() + (skipped ? " circuit open" : ""),
+            System.nanoTime() - start);
+      }
+    });
+    return call;
+  }
+
+  /**
+   * Makes the call to a single external inventory service shared by the requests waiting for it,
+   * unless its circuit breaker is open, in which case the service is skipped without a call.
+   * The items are kept as the snapshot of the external service when the snapshot cache is enabled.
+   *
+   * @param externalService the external service to call
+   * @param fields          the fields to request
+   * @return the items of the external service, or an empty list if it was skipped
+   */
+  private List<Item> requestExternalService(ExternalInventory externalService, ItemFields fields) {
+    String url = externalService.getUrl();
+    PeerCircuitBreaker breaker = circuitBreakers.forService(externalService);
+    if (!breaker.tryAcquirePermission()) {
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Skipping {} at {}: circuit breaker is open", externalService.getName(), url);
+      }
+      return List.of();
+    }
+    if (snapshotCache.isEnabled()) {
+      return snapshotCache.put(url, loadExternalService(url, breaker));
+    }
+    return loadExternalService(url, breaker, fields);
+  }
+
+  /**
+   * Replaces the snapshot of an external inventory service with its current items.
+   * If the external service fails or its circuit breaker is open, the previous snapshot is kept
+   * and served until it expires.
+   *
+   * @param externalService the external service whose snapshot is refreshed
+   */
+  private void refreshSnapshot(ExternalInventory externalService) {
+    String url = externalService.getUrl();
+    try {
+      PeerCircuitBreaker breaker = circuitBreakers.forService(externalService);
+      if (breaker.tryAcquirePermission()) {
+        snapshotCache.put(url, loadExternalService(url, breaker));
+      }
+    } catch (RuntimeException e) {
+      if (LOG.isWarnEnabled()) {
+        LOG.warn("Failed to refresh {} at {}, serving the previous snapshot: {}", externalService.getName(), url,
+            e.toString());
+      }
+    } finally {
+      snapshotCache.finishRefresh(url);
+    }
+  }
+
+  /**
+   * Calls a single external inventory service and returns its items.
+   * The outcome and duration of the call are recorded by the circuit breaker of the external service.
+   *
+   * @param url     the URL of the external service
+   * @param breaker the circuit breaker that permitted the call
+   * @return the items returned by the external service, or an empty list if the response is empty
+   */
+  private List<Item> loadExternalService(String url, PeerCircuitBreaker breaker) {
+    return loadExternalService(url, breaker, ItemFields.ALL);
+  }
+
+  /**
+   * Calls a single external inventory service and returns its items, asking for the given fields only
+   * unless the items are synchronized into a mirror.
+   *
+   * @param url     the URL of the external service
+   * @param breaker the circuit breaker that permitted the call
+   * @param fields  the fields to request
+   * @return the items returned by the external service, or an empty list if the response is empty
+   */
+  private List<Item> loadExternalService(String url, PeerCircuitBreaker breaker, ItemFields fields) {
+    long start = System.nanoTime();
+    List<Item> items;
+    try {
+      items = clientProperties.isDeltaSync() && !fullSyncOnly.contains(url)
+          ? syncExternalService(url)
+          : downloadExternalService(url, fields);
+    } catch (RuntimeException e) {
+      breaker.onError(System.nanoTime() - start);
+      throw e;
+    }
+    breaker.onSuccess(System.nanoTime() - start);
+    return items;
+  }
+
+  /**
+   * Downloads the complete item list of a single external inventory service.
+   *
+   * @param url the URL of the external service
+   * @return the items returned by the external service, or an empty list if the response is empty
+   */
+  private List<Item> downloadExternalService(String url) {
+    return downloadExternalService(url, ItemFields.ALL);
+  }
+
+  /**
+   * Downloads the item list of a single external inventory service, restricted to the given fields.
+   * External services that do not support the {@code fields} parameter answer with complete items.
+   *
+   * @param url    the URL of the external service
+   * @param fields the fields to request
+   * @return the items returned by the external service, or an empty list if the response is empty
+   */
+  private List<Item> downloadExternalService(String url, ItemFields fields) {
+    Item[] response = fields.isAll()
+        ? restTemplate.getForObject(url, Item[].class)
+        : restTemplate.getForObject(url + "?fields={fields}", Item[].class, fields.toString());
+    if (response == null) {
+      return List.of();
+    }
+    return List.of(response);
+  }
+
+  /**
+   * Brings the mirror of a single external inventory service up to date and returns its items.
+   * Only the changes since the last synchronization are requested. If the external service reports
+   * a version older than the mirror, its catalog was reset and the mirror is rebuilt from scratch.
+   * An external service without a changes endpoint is downloaded in full from then on.
+   *
+   * @param url the URL of the external service
+   * @return the mirrored items of the external service
+   */
+  private List<Item> syncExternalService(String url) {
+    PeerMirror mirror = mirrors.computeIfAbsent(url, key -> new PeerMirror());
+    long since = mirror.getVersion();
+    try {
+      ItemChanges changes = fetchChanges(url, since);
+      if (changes.getVersion() < since) {
+        mirror = new PeerMirror();
+        mirrors.put(url, mirror);
+        since = 0;
+        changes = fetchChanges(url, since);
+      }
+      return mirror.apply(since, changes);
+    } catch (HttpClientErrorException.NotFound e) {
+      if (LOG.isInfoEnabled()) {
+        LOG.info("{} has no changes endpoint, downloading its full catalog instead", url);
+      }
+      fullSyncOnly.add(url);
+      mirrors.remove(url);
+      return downloadExternalService(url);
+    }
+  }
+
+  /**
+   * Requests the changes of a single external inventory service since the given version.
+   *
+   * @param url   the URL of the external service
+   * @param since the version of the external catalog the mirror is up to date with
+   * @return the changes returned by the external service, or no changes if the response is empty
+   */
+  private ItemChanges fetchChanges(String url, long since) {
+    ItemChanges changes = restTemplate.getForObject(url + "/changes?since={since}", ItemChanges.class, since);
+    if (changes == null) {
+      return new ItemChanges(since, List.of());
+    }
+    return changes;
+  }
+
+  /**
+   * Waits for the response of a single external service call until the given deadline.
+   * A call that fails, is interrupted or does not finish in time is cancelled and logged.
+   *
+   * @param externalService the external service that is being called
+   * @param call            the pending call to the external service
+   * @param deadline        the {@link System#nanoTime()} value at which waiting stops
+   * @return the items returned by the external service, or an empty list if none are available
+   */
+  private List<Item> awaitExternalService(ExternalInventory externalService, Future<List<Item>> call,
+                                          long deadline) {
+    try {
+      return call.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      call.cancel(true);
+      circuitBreakers.forService(externalService).onTimeout();
+      RequestTimings.current().record(RequestTimings.peerPhase(externalService.getName()),
+          externalService.getName() + " timed out", clientProperties.getDeadline().toNanos());
+      if (LOG.isWarnEnabled()) {
+        LOG.warn("Skipping {} at {}: no response within {}", externalService.getName(),
+            externalService.getUrl(), clientProperties.getDeadline());
+      }
+    } catch (ExecutionException e) {
+      if (LOG.isWarnEnabled()) {
+        LOG.warn("Failed to call {} at {}: {}", externalService.getName(), externalService.getUrl(),
+            String.valueOf(e.getCause()));
+      }
+    } catch (InterruptedException e) {
+      call.cancel(true);
+      Thread.currentThread().interrupt();
+    }
+    return List.of();
+  }
+
+  /**
+   * Streams the items of a single external inventory service.
+   * Items are emitted one by one as they are decoded from the response body. The stream completes
+   * when the configured deadline expires, keeping the items received so far, and errors are logged
+   * and turned into an empty stream so that other sources continue. An external service whose
+   * circuit breaker is open contributes an empty stream without being called.
+   *
+   * @param externalService the external service to stream items from
+   * @param fields          the fields to request
+   * @return a stream of the items provided by the external service
+   */
+  private Flux<Item> streamExternalService(ExternalInventory externalService, ItemFields fields) {
+    return Flux.defer(() -> {
+      PeerCircuitBreaker breaker = circuitBreakers.forService(externalService);
+      if (!breaker.tryAcquirePermission()) {
+        return Flux.<Item>empty();
+      }
+      long start = System.nanoTime();
+      return webClient.get()
+          .uri(fields.isAll() ? externalService.getUrl() : externalService.getUrl() + "?fields={fields}",
+              fields.toString())
+          .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+          .retrieve()
+          .bodyToFlux(Item.class)
+          .doOnComplete(() -> breaker.onSuccess(System.nanoTime() - start))
+          .doOnCancel(() -> breaker.onSuccess(System.nanoTime() - start))
+          .doOnError(e -> breaker.onError(System.nanoTime() - start));
+    })
+        .take(clientProperties.getDeadline())
+        .onErrorResume(e -> {
+          if (LOG.isWarnEnabled()) {
+            LOG.warn("Failed to stream {} at {}: {}", externalService.getName(), externalService.getUrl(),
+                e.toString());
+          }
+          return Flux.empty();
+        });
   }
 
   /**
@@ -159,10 +963,19 @@ public class ItemServiceImpl implements ItemService {
    * @param name the name of the item to validate
    * @return the validated item name, prefixed with the service name if necessary
    */
-  private String validateItemName(String name) {
+  public static String validateItemName(String name) {
     if (!name.contains(SERVICE_NAME)) {
       return SERVICE_NAME + ": " + name;
     }
     return name;
   }
+
+  /**
+   * Items replicated from an external inventory service and the time they were received.
+   *
+   * @param items        the items returned by the external service
+   * @param replicatedAt the time of the replication
+   */
+  private record PeerReplica(List<Item> items, Instant replicatedAt) {
+  }
 }
@@ -0,0 +1,49 @@
+package test.servicea.service.impl;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+import test.servicea.domain.dto.ItemDto;
+
+/**
+ * Validates items that are created in bulk, where a rejected item must not stop the others.
+ * Items are checked against the rules of {@link ItemDto}, and the violations are reported per field
+ * instead of failing the request, as the single-item endpoints do.
+ */
+@Component
+public class ItemValidator {
+
+  private final Validator validator;
+
+  /**
+   * Constructs an ItemValidator with the provided bean validator.
+   *
+   * @param validator the bean validator applying the rules of ItemDto
+   */
+  public ItemValidator(Validator validator) {
+    this.validator = validator;
+  }
+
+  /**
+   * Validates a single item.
+   *
+   * @param itemDto the data transfer object of the item, possibly null
+   * @return the validation messages keyed by field, or an empty map if the item is valid
+   */
+  public Map<String, String> validate(ItemDto itemDto) {
+    if (itemDto == null) {
+      return Map.of("item", "Item cannot be null");
+    }
+    Set<ConstraintViolation<ItemDto>> violations = validator.validate(itemDto);
+    return violations.stream().collect(Collectors.toMap(
+        violation -> violation.getPropertyPath().toString(),
+        ConstraintViolation::getMessage,
+        (a, b) -> a,
+        TreeMap::new));
+  }
+}
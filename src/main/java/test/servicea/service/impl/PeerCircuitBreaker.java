@@ -0,0 +1,268 @@
+package test.servicea.service.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import test.servicea.config.PeerClientProperties;
+
+/**
+ * Circuit breaker guarding the calls to a single external inventory service.
+ * While closed, the outcome and duration of the most recent calls are recorded in a sliding window.
+ * The breaker opens when the failure rate or the slow-call rate of that window reaches its threshold,
+ * and an open breaker rejects calls without contacting the external service. Once the configured
+ * wait duration has passed the breaker becomes half-open and lets a few probe calls through: it closes
+ * again if they all succeed in time and opens again otherwise.
+ * Every recorded call is also timed in the {@code inventory.peer.calls} timer, tagged with the name of
+ * the external service and the outcome; failures and calls abandoned at the request deadline are counted
+ * in {@code inventory.peer.failures} and {@code inventory.peer.timeouts}.
+ */
+public class PeerCircuitBreaker {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PeerCircuitBreaker.class);
+
+  /**
+   * The states of a circuit breaker.
+   */
+  public enum State {
+    /** Calls are let through and recorded. */
+    CLOSED,
+    /** Calls are rejected until the wait duration has passed. */
+    OPEN,
+    /** A limited number of probe calls are let through to decide whether to close again. */
+    HALF_OPEN
+  }
+
+  private final String name;
+  private final String url;
+  private final PeerClientProperties.CircuitBreaker config;
+  private final boolean[] failedCalls;
+  private final boolean[] slowCalls;
+  private final Timer succeededCalls;
+  private final Timer failedCallTimer;
+  private final Counter failures;
+  private final Counter timeouts;
+
+  private State state = State.CLOSED;
+  private long stateChangedAt = System.nanoTime();
+  private int position;
+  private int bufferedCalls;
+  private int failedCount;
+  private int slowCount;
+  private int halfOpenPermits;
+
+  /**
+   * Constructs a closed PeerCircuitBreaker for the given external service.
+   *
+   * @param name   the display name of the external service
+   * @param url    the URL of the external service
+   * @param config the circuit breaker settings
+   */
+  public PeerCircuitBreaker(String name, String url, PeerClientProperties.CircuitBreaker config) {
+    this(name, url, config, new CompositeMeterRegistry());
+  }
+
+  /**
+   * Constructs a closed PeerCircuitBreaker for the given external service, recording its calls in the
+   * given registry.
+   *
+   * @param name          the display name of the external service
+   * @param url           the URL of the external service
+   * @param config        the circuit breaker settings
+   * @param meterRegistry the registry the calls to the external service are timed and counted in
+   */
+  public PeerCircuitBreaker(String name, String url, PeerClientProperties.CircuitBreaker config,
+                            MeterRegistry meterRegistry) {
+    this.name = name;
+    this.url = url;
+    this.config = config;
+    int windowSize = Math.max(1, config.getWindowSize());
+    this.failedCalls = new boolean[windowSize];
+    this.slowCalls = new boolean[windowSize];
+    this.succeededCalls = callTimer(meterRegistry, "success");
+    this.failedCallTimer = callTimer(meterRegistry, "error");
+    this.failures = Counter.builder("inventory.peer.failures")
+        .description("Failed calls to an external inventory service")
+        .tag("peer", String.valueOf(name))
+        .register(meterRegistry);
+    this.timeouts = Counter.builder("inventory.peer.timeouts")
+        .description("Calls to an external inventory service abandoned at the request deadline")
+        .tag("peer", String.valueOf(name))
+        .register(meterRegistry);
+  }
+
+  /**
+   * Asks for permission to call the external service.
+   * A call that is permitted must report its outcome with {@link #onSuccess(long)} or {@link #onError(long)}.
+   *
+   * @return true if the call may be made, false if the external service must be skipped
+   */
+  public synchronized boolean tryAcquirePermission() {
+    if (state == State.CLOSED) {
+      return true;
+    }
+    long elapsed = System.nanoTime() - stateChangedAt;
+    boolean waitElapsed = elapsed >= config.getOpenDuration().toNanos();
+    if (state == State.OPEN) {
+      if (!waitElapsed) {
+        return false;
+      }
+      transitionTo(State.HALF_OPEN);
+    } else if (halfOpenPermits == 0 && waitElapsed) {
+      // The probes never reported back; let new ones through instead of staying half-open forever
+      transitionTo(State.HALF_OPEN);
+    }
+    if (halfOpenPermits > 0) {
+      halfOpenPermits--;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Records a permitted call that succeeded.
+   *
+   * @param durationNanos the duration of the call in nanoseconds
+   */
+  public synchronized void onSuccess(long durationNanos) {
+    succeededCalls.record(durationNanos, TimeUnit.NANOSECONDS);
+    record(false, durationNanos);
+  }
+
+  /**
+   * Records a permitted call that failed.
+   *
+   * @param durationNanos the duration of the call in nanoseconds
+   */
+  public synchronized void onError(long durationNanos) {
+    failedCallTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    failures.increment();
+    record(true, durationNanos);
+  }
+
+  /**
+   * Counts a call whose response the request stopped waiting for at its deadline.
+   * The call itself still reports its outcome once it finishes or is cancelled.
+   */
+  public void onTimeout() {
+    timeouts.increment();
+  }
+
+  /**
+   * Registers the timer of the calls to the external service with the given outcome.
+   *
+   * @param meterRegistry the registry to register the timer in
+   * @param outcome       the outcome of the timed calls, {@code success} or {@code error}
+   * @return the timer
+   */
+  private Timer callTimer(MeterRegistry meterRegistry, String outcome) {
+    return Timer.builder("inventory.peer.calls")
+        .description("Calls to an external inventory service")
+        .tag("peer", String.valueOf(name))
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Retrieves the current state of the breaker, including the rates it decides on.
+   *
+   * @return the status of the breaker
+   */
+  public synchronized Status getStatus() {
+    return new Status(name, url, state, rate(failedCount), rate(slowCount), bufferedCalls);
+  }
+
+  /**
+   * Records the outcome of a call and moves the breaker to the state the window calls for.
+   *
+   * @param failed        whether the call failed
+   * @param durationNanos the duration of the call in nanoseconds
+   */
+  private void record(boolean failed, long durationNanos) {
+    if (state == State.OPEN) {
+      // Late result of a call started before the breaker opened
+      return;
+    }
+    boolean slow = durationNanos > config.getSlowCallDuration().toNanos();
+    addToWindow(failed, slow);
+
+    if (state == State.HALF_OPEN) {
+      if (failed || slow) {
+        transitionTo(State.OPEN);
+      } else if (bufferedCalls >= config.getHalfOpenCalls()) {
+        transitionTo(State.CLOSED);
+      }
+    } else if (bufferedCalls >= config.getMinimumCalls()
+        && (rate(failedCount) >= config.getFailureThreshold()
+        || rate(slowCount) >= config.getSlowCallThreshold())) {
+      transitionTo(State.OPEN);
+    }
+  }
+
+  /**
+   * Adds the outcome of a call to the sliding window, replacing the oldest one once the window is full.
+   *
+   * @param failed whether the call failed
+   * @param slow   whether the call was slow
+   */
+  private void addToWindow(boolean failed, boolean slow) {
+    if (bufferedCalls == failedCalls.length) {
+      failedCount -= failedCalls[position] ? 1 : 0;
+      slowCount -= slowCalls[position] ? 1 : 0;
+    } else {
+      bufferedCalls++;
+    }
+    failedCalls[position] = failed;
+    slowCalls[position] = slow;
+    failedCount += failed ? 1 : 0;
+    slowCount += slow ? 1 : 0;
+    position = (position + 1) % failedCalls.length;
+  }
+
+  /**
+   * Moves the breaker to the given state and starts a new sliding window.
+   *
+   * @param newState the state to move to
+   */
+  private void transitionTo(State newState) {
+    if (newState != state && LOG.isWarnEnabled()) {
+      LOG.warn("Circuit breaker for {} at {} changed from {} to {} (failure rate {}%, slow-call rate {}%)",
+          name, url, state, newState, rate(failedCount), rate(slowCount));
+    }
+    state = newState;
+    stateChangedAt = System.nanoTime();
+    halfOpenPermits = newState == State.HALF_OPEN ? config.getHalfOpenCalls() : 0;
+    position = 0;
+    bufferedCalls = 0;
+    failedCount = 0;
+    slowCount = 0;
+  }
+
+  /**
+   * Computes the percentage of recorded calls represented by the given count.
+   *
+   * @param count the number of failed or slow calls
+   * @return the percentage of recorded calls, or 0 if no calls are recorded
+   */
+  private int rate(int count) {
+    return bufferedCalls == 0 ? 0 : count * 100 / bufferedCalls;
+  }
+
+  /**
+   * Snapshot of the state of a circuit breaker.
+   *
+   * @param name          the display name of the external service
+   * @param url           the URL of the external service
+   * @param state         the current state of the breaker
+   * @param failureRate   the percentage of failed calls in the current window
+   * @param slowCallRate  the percentage of slow calls in the current window
+   * @param bufferedCalls the number of calls recorded in the current window
+   */
+  public record Status(String name, String url, State state, int failureRate, int slowCallRate,
+                       int bufferedCalls) {
+  }
+}
@@ -0,0 +1,64 @@
+package test.servicea.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import test.servicea.config.PeerClientProperties;
+import test.servicea.domain.dto.ExternalInventory;
+import test.servicea.service.converter.ConversionProperties;
+
+/**
+ * Registry holding one {@link PeerCircuitBreaker} per configured external inventory service.
+ * Breakers are created on first use and keyed by the URL of the external service.
+ */
+@Component
+public class PeerCircuitBreakerRegistry {
+
+  private final ConversionProperties properties;
+  private final PeerClientProperties clientProperties;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, PeerCircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a PeerCircuitBreakerRegistry whose breakers record the calls they guard in the given registry.
+   *
+   * @param properties       the properties listing the external services
+   * @param clientProperties the properties providing the circuit breaker settings
+   * @param meterRegistry    the registry the calls to the external services are recorded in
+   */
+  public PeerCircuitBreakerRegistry(ConversionProperties properties, PeerClientProperties clientProperties,
+                                    MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.clientProperties = clientProperties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Retrieves the circuit breaker of an external service, creating it if needed.
+   *
+   * @param externalService the external service guarded by the breaker
+   * @return the circuit breaker of the external service
+   */
+  public PeerCircuitBreaker forService(ExternalInventory externalService) {
+    return breakers.computeIfAbsent(String.valueOf(externalService.getUrl()),
+        url -> new PeerCircuitBreaker(externalService.getName(), url, clientProperties.getCircuitBreaker(),
+            meterRegistry));
+  }
+
+  /**
+   * Retrieves the status of the circuit breakers of all configured external services.
+   *
+   * @return the breaker status of each external service, in configuration order
+   */
+  public List<PeerCircuitBreaker.Status> getStatuses() {
+    List<PeerCircuitBreaker.Status> statuses = new ArrayList<>();
+    for (ExternalInventory externalService : properties.getExternalInventory().values()) {
+      statuses.add(forService(externalService).getStatus());
+    }
+    return statuses;
+  }
+}
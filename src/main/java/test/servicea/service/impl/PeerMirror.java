@@ -0,0 +1,51 @@
+package test.servicea.service.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import test.servicea.domain.Item;
+import test.servicea.domain.dto.ItemChanges;
+
+/**
+ * Local copy of the catalog of an external inventory service, kept up to date from its changes.
+ * Items are keyed by their id in the external catalog. Changes older than the version already
+ * applied are ignored, so concurrent synchronizations can never move the mirror back in time.
+ */
+public class PeerMirror {
+
+  private final Map<Integer, Item> items = new LinkedHashMap<>();
+  private long version;
+
+  /**
+   * Retrieves the version of the external catalog the mirror is up to date with.
+   *
+   * @return the catalog version to request the next changes from, 0 if nothing was applied yet
+   */
+  public synchronized long getVersion() {
+    return version;
+  }
+
+  /**
+   * Applies the changes of the external catalog to the mirror.
+   * Changes requested since version 0 are a complete copy of the external catalog and replace
+   * the content of the mirror; other changes update the mirrored items one by one.
+   *
+   * @param since   the catalog version the changes were requested from
+   * @param changes the changes returned by the external service
+   * @return the mirrored items after the changes were applied
+   */
+  public synchronized List<Item> apply(long since, ItemChanges changes) {
+    if (changes.getVersion() >= version) {
+      if (since == 0) {
+        items.clear();
+      }
+      for (Item item : changes.getItems()) {
+        items.put(item.getId(), item);
+      }
+      version = changes.getVersion();
+    }
+    return new ArrayList<>(items.values());
+  }
+}
@@ -0,0 +1,118 @@
+package test.servicea.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import test.servicea.config.PeerClientProperties;
+import test.servicea.domain.Item;
+
+/**
+ * Cache of the last item list received from each external inventory service.
+ * A snapshot younger than the configured TTL is fresh and served as is. An older snapshot is stale:
+ * it is still served, while at most one background refresh per service replaces it. Snapshots are
+ * dropped once they are older than the configured maximum age, so a service that stays down
+ * eventually disappears from the aggregated results.
+ * The settings are read from {@link PeerClientProperties} on every lookup; a TTL of zero disables the cache.
+ */
+public class PeerSnapshotCache {
+
+  private final PeerClientProperties clientProperties;
+  private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Constructs a PeerSnapshotCache reading its settings from the given properties.
+   *
+   * @param clientProperties the properties providing the snapshot TTL and maximum age
+   */
+  public PeerSnapshotCache(PeerClientProperties clientProperties) {
+    this.clientProperties = clientProperties;
+  }
+
+  /**
+   * Checks whether snapshots are cached at all.
+   *
+   * @return true if a positive snapshot TTL is configured, false otherwise
+   */
+  public boolean isEnabled() {
+    return clientProperties.getSnapshotTtl().isPositive();
+  }
+
+  /**
+   * Retrieves the snapshot stored for an external service, as long as it may still be served.
+   * A snapshot older than the configured maximum age is removed and not returned.
+   *
+   * @param url the URL of the external service
+   * @return the snapshot of the external service, or null if there is none that may be served
+   */
+  public Snapshot get(String url) {
+    Snapshot snapshot = snapshots.get(url);
+    if (snapshot != null && snapshot.ageNanos() > clientProperties.getSnapshotMaxAge().toNanos()) {
+      snapshots.remove(url, snapshot);
+      return null;
+    }
+    return snapshot;
+  }
+
+  /**
+   * Stores the items just received from an external service as its new snapshot.
+   *
+   * @param url   the URL of the external service
+   * @param items the items returned by the external service
+   * @return the stored items
+   */
+  public List<Item> put(String url, List<Item> items) {
+    snapshots.put(url, new Snapshot(List.copyOf(items), System.nanoTime()));
+    return items;
+  }
+
+  /**
+   * Checks whether a snapshot is older than the configured TTL and should be refreshed.
+   *
+   * @param snapshot the snapshot to check
+   * @return true if the snapshot is stale, false if it is fresh
+   */
+  public boolean isStale(Snapshot snapshot) {
+    return snapshot.ageNanos() > clientProperties.getSnapshotTtl().toNanos();
+  }
+
+  /**
+   * Claims the refresh of an external service's snapshot.
+   * Only one refresh per external service can be claimed at a time.
+   *
+   * @param url the URL of the external service
+   * @return true if the caller must run the refresh, false if one is already running
+   */
+  public boolean tryStartRefresh(String url) {
+    return refreshing.add(url);
+  }
+
+  /**
+   * Releases the refresh claimed with {@link #tryStartRefresh(String)}, whether it succeeded or not.
+   *
+   * @param url the URL of the external service
+   */
+  public void finishRefresh(String url) {
+    refreshing.remove(url);
+  }
+
+  /**
+   * Items received from an external service and the {@link System#nanoTime()} at which they arrived.
+   *
+   * @param items         the items returned by the external service
+   * @param storedAtNanos the time at which the items were stored
+   */
+  public record Snapshot(List<Item> items, long storedAtNanos) {
+
+    /**
+     * Computes how long ago the snapshot was stored.
+     *
+     * @return the age of the snapshot in nanoseconds
+     */
+    public long ageNanos() {
+      return System.nanoTime() - storedAtNanos;
+    }
+  }
+}
@@ -0,0 +1,188 @@
+package test.servicea.service.impl;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Phase timings of a single request, such as the local query, each external service and serialisation.
+ * The timings of a request are bound to the thread serving it, so the service records phases without
+ * knowing about the request; work handed to other threads records into the instance captured on the
+ * request thread. Without a bound instance, {@link #current()} returns one that records nothing.
+ */
+public final class RequestTimings {
+
+  private static final RequestTimings NONE = new RequestTimings(false);
+  private static final ThreadLocal<RequestTimings> BOUND = new ThreadLocal<>();
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final boolean recording;
+  private final long startNanos = System.nanoTime();
+  private final Queue<Phase> phases = new ConcurrentLinkedQueue<>();
+  private volatile long serializeStart;
+
+  /**
+   * Constructs RequestTimings starting now.
+   */
+  public RequestTimings() {
+    this(true);
+  }
+
+  private RequestTimings(boolean recording) {
+    this.recording = recording;
+  }
+
+  /**
+   * Retrieves the timings of the request served by the current thread.
+   *
+   * @return the bound timings, or timings that record nothing if the request is not timed
+   */
+  public static RequestTimings current() {
+    RequestTimings timings = BOUND.get();
+    return timings == null ? NONE : timings;
+  }
+
+  /**
+   * Binds these timings to the current thread until {@link #unbind()} is called.
+   */
+  public void bind() {
+    BOUND.set(this);
+  }
+
+  /**
+   * Removes the timings bound to the current thread.
+   */
+  public static void unbind() {
+    BOUND.remove();
+  }
+
+  /**
+   * Records a completed phase.
+   *
+   * @param name          the name of the phase, a token such as {@code db} or {@code peer-B}
+   * @param description   a human-readable description of the phase
+   * @param durationNanos the duration of the phase in nanoseconds
+   */
+  public void record(String name, String description, long durationNanos) {
+    if (recording) {
+      phases.add(new Phase(name, description, durationNanos));
+    }
+  }
+
+  /**
+   * Runs an action and records its duration as a phase, whether it completes or fails.
+   *
+   * @param name        the name of the phase
+   * @param description a human-readable description of the phase
+   * @param action      the action to time
+   * @param <T>         the type of the result
+   * @return the result of the action
+   */
+  public <T> T time(String name, String description, Supplier<T> action) {
+    if (!recording) {
+      return action.get();
+    }
+    long start = System.nanoTime();
+    try {
+      return action.get();
+    } finally {
+      record(name, description, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Notes that the response body is about to be written, ending the work of the handler.
+   */
+  public void startSerialization() {
+    serializeStart = System.nanoTime();
+  }
+
+  /**
+   * Records the serialisation of the response body and the total duration of the request.
+   * Called once the body has been written.
+   *
+   * @return the total duration of the request in nanoseconds
+   */
+  public long finish() {
+    long end = System.nanoTime();
+    if (serializeStart != 0) {
+      record("serialize", "response serialisation", end - serializeStart);
+    }
+    record("total", "request", end - startNanos);
+    return end - startNanos;
+  }
+
+  /**
+   * Retrieves the recorded phases in the order they completed.
+   *
+   * @return the recorded phases
+   */
+  public List<Phase> getPhases() {
+    return List.copyOf(phases);
+  }
+
+  /**
+   * Formats the recorded phases as the value of a {@code Server-Timing} header.
+   *
+   * @return the phases, for example {@code db;dur=3.2;desc="local items", total;dur=4.1;desc="request"}
+   */
+  public String toHeader() {
+    StringBuilder header = new StringBuilder();
+    for (Phase phase : phases) {
+      if (!header.isEmpty()) {
+        header.append(", ");
+      }
+      header.append(phase.name()).append(";dur=").append(phase.millis())
+          .append(";desc=\"").append(phase.description().replace("\\", "\\\\").replace("\"", "\\\""))
+          .append('"');
+    }
+    return header.toString();
+  }
+
+  /**
+   * Formats the recorded phases as {@code name=milliseconds} pairs for a log line.
+   *
+   * @return the phases separated by spaces, for example {@code db=3.2 peer-B=2004.7 total=2010.3}
+   */
+  public String toLogFields() {
+    StringBuilder fields = new StringBuilder();
+    for (Phase phase : phases) {
+      if (!fields.isEmpty()) {
+        fields.append(' ');
+      }
+      fields.append(phase.name()).append('=').append(phase.millis());
+    }
+    return fields.toString();
+  }
+
+  /**
+   * Builds the phase name of an external service from its display name, which may contain spaces.
+   *
+   * @param serviceName the display name of the external service
+   * @return a token naming the calls to the external service, such as {@code peer-Service_B}
+   */
+  public static String peerPhase(String serviceName) {
+    return "peer-" + String.valueOf(serviceName).replaceAll("[^A-Za-z0-9.^_`|~!#$%&'*+-]", "_");
+  }
+
+  /**
+   * A completed phase of a request.
+   *
+   * @param name          the name of the phase
+   * @param description   a human-readable description of the phase
+   * @param durationNanos the duration of the phase in nanoseconds
+   */
+  public record Phase(String name, String description, long durationNanos) {
+
+    /**
+     * Formats the duration of the phase in milliseconds with one decimal.
+     *
+     * @return the duration in milliseconds
+     */
+    public String millis() {
+      return String.format(Locale.ROOT, "%.1f", durationNanos / NANOS_PER_MILLI);
+    }
+  }
+}
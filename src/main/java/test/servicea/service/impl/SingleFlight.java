@@ -0,0 +1,200 @@
+package test.servicea.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key into a single one.
+ * The first caller for a key starts the load; callers arriving while it is in flight wait for it and
+ * receive the same result or exception instead of starting their own. Once the load completes, the next
+ * caller starts a new one, so results are never reused after the fact. Loaded values are shared between
+ * callers and must not be modified.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the loaded values
+ */
+public final class SingleFlight<K, V> {
+
+  private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+  /**
+   * Loads the value of a key on the calling thread, or waits for the load already in flight for it.
+   *
+   * @param key    the key identifying the load
+   * @param loader the load to run if none is in flight
+   * @return the loaded value, possibly null
+   * @throws RuntimeException the exception thrown by the load, for every caller that waited for it
+   */
+  public V run(K key, Supplier<V> loader) {
+    Flight<V> flight = new Flight<>();
+    Flight<V> current = joinOrInstall(key, flight);
+    if (current != null) {
+      return await(current);
+    }
+    complete(key, flight, loader);
+    return await(flight);
+  }
+
+  /**
+   * Starts loading the value of a key on the given executor, or joins the load already in flight for it.
+   * Every caller gets its own future: cancelling it stops the caller's wait, and the load itself is
+   * interrupted only once every caller waiting for it has cancelled.
+   *
+   * @param key      the key identifying the load
+   * @param executor the executor running a new load
+   * @param loader   the load to run if none is in flight
+   * @return the pending value of the caller
+   */
+  public CompletableFuture<V> submit(K key, ExecutorService executor, Supplier<V> loader) {
+    Flight<V> flight = new Flight<>();
+    Flight<V> current = joinOrInstall(key, flight);
+    if (current != null) {
+      return current.view(() -> abandon(key, current));
+    }
+    flight.task = executor.submit(() -> complete(key, flight, loader));
+    return flight.view(() -> abandon(key, flight));
+  }
+
+  /**
+   * Retrieves the number of loads in flight.
+   *
+   * @return the number of keys currently being loaded
+   */
+  public int size() {
+    return flights.size();
+  }
+
+  /**
+   * Joins the load in flight for a key, or installs the given flight if there is none.
+   * A load that every caller gave up on is being cancelled and is replaced instead of joined.
+   *
+   * @param key    the key identifying the load
+   * @param flight the flight to install
+   * @return the joined flight, or null if the given flight was installed and must be run by the caller
+   */
+  private Flight<V> joinOrInstall(K key, Flight<V> flight) {
+    Flight<V> current = flights.putIfAbsent(key, flight);
+    while (current != null && !current.join()) {
+      flights.remove(key, current);
+      current = flights.putIfAbsent(key, flight);
+    }
+    return current;
+  }
+
+  /**
+   * Runs a load and hands its outcome to the callers waiting for it.
+   * The flight is removed before it completes, so that callers arriving later start a new load.
+   *
+   * @param key    the key identifying the load
+   * @param flight the flight of the load
+   * @param loader the load to run
+   */
+  private void complete(K key, Flight<V> flight, Supplier<V> loader) {
+    V value;
+    try {
+      value = loader.get();
+    } catch (RuntimeException | Error e) {
+      flights.remove(key, flight);
+      flight.failure = e;
+      flight.result.completeExceptionally(e);
+      return;
+    }
+    flights.remove(key, flight);
+    flight.result.complete(value);
+  }
+
+  /**
+   * Stops the wait of one caller and interrupts the load once no caller is waiting for it anymore.
+   *
+   * @param key    the key identifying the load
+   * @param flight the flight the caller waited for
+   */
+  private void abandon(K key, Flight<V> flight) {
+    if (flight.leave()) {
+      flights.remove(key, flight);
+      flight.result.cancel(false);
+      Future<?> task = flight.task;
+      if (task != null) {
+        task.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * Waits for a load on the calling thread.
+   *
+   * @param flight the flight of the load
+   * @param <V>    the type of the loaded value
+   * @return the loaded value
+   */
+  private static <V> V await(Flight<V> flight) {
+    flight.result.handle((value, failure) -> null).join();
+    // Every caller gets the exception thrown by the load, like the caller that ran it
+    if (flight.failure instanceof RuntimeException failure) {
+      throw failure;
+    }
+    if (flight.failure instanceof Error failure) {
+      throw failure;
+    }
+    return flight.result.join();
+  }
+
+  /**
+   * A load in flight and the number of callers waiting for it.
+   *
+   * @param <V> the type of the loaded value
+   */
+  private static final class Flight<V> {
+
+    private final CompletableFuture<V> result = new CompletableFuture<>();
+    private final AtomicInteger waiters = new AtomicInteger(1);
+    private volatile Future<?> task;
+    private volatile Throwable failure;
+
+    /**
+     * Adds a caller, unless every caller has already given up and the load is being cancelled.
+     *
+     * @return true if the caller joined the load
+     */
+    private boolean join() {
+      int count = waiters.get();
+      while (count > 0) {
+        if (waiters.compareAndSet(count, count + 1)) {
+          return true;
+        }
+        count = waiters.get();
+      }
+      return false;
+    }
+
+    /**
+     * Removes a caller that gave up waiting.
+     *
+     * @return true if it was the last caller and the load is still running
+     */
+    private boolean leave() {
+      return waiters.decrementAndGet() == 0 && !result.isDone();
+    }
+
+    /**
+     * Creates the future of a single caller, which reports its cancellation.
+     *
+     * @param onCancel the action run when the caller cancels its future
+     * @return the future of the caller
+     */
+    private CompletableFuture<V> view(Runnable onCancel) {
+      CompletableFuture<V> view = result.copy();
+      view.whenComplete((value, failure) -> {
+        if (view.isCancelled()) {
+          onCancel.run();
+        }
+      });
+      return view;
+    }
+  }
+}
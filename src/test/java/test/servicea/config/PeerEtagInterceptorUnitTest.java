@@ -0,0 +1,104 @@
+package test.servicea.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import test.servicea.domain.Item;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class PeerEtagInterceptorUnitTest {
+
+  private static final String URL = "http://b.example/api/inventory";
+  private static final String BODY = "[{\"name\":\"B1\",\"stock\":1,\"price\":1.0,\"description\":\"b1\"}]";
+
+  private RestTemplate restTemplate;
+  private MockRestServiceServer server;
+
+  @BeforeEach
+  void setUp() {
+    restTemplate = new RestTemplate();
+    restTemplate.getInterceptors().add(new PeerEtagInterceptor());
+    server = MockRestServiceServer.bindTo(restTemplate).build();
+  }
+
+  @Test
+  void notModified_returnsKeptBody() {
+    server.expect(requestTo(URL))
+        .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+        .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"v1\""));
+    server.expect(requestTo(URL))
+        .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+        .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+    Item[] first = restTemplate.getForObject(URL, Item[].class);
+    Item[] second = restTemplate.getForObject(URL, Item[].class);
+
+    server.verify();
+    assertNotNull(first);
+    assertNotNull(second);
+    assertEquals("B1", second[0].getName());
+  }
+
+  @Test
+  void changedResponse_replacesKeptETag() {
+    server.expect(requestTo(URL))
+        .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"v1\""));
+    server.expect(requestTo(URL))
+        .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+        .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"v2\""));
+    server.expect(requestTo(URL))
+        .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v2\""))
+        .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+    restTemplate.getForObject(URL, Item[].class);
+    Item[] changed = restTemplate.getForObject(URL, Item[].class);
+    Item[] unchanged = restTemplate.getForObject(URL, Item[].class);
+
+    server.verify();
+    assertEquals(0, changed.length);
+    assertEquals(0, unchanged.length);
+  }
+
+  @Test
+  void responseWithoutETag_isNotSentConditionally() {
+    server.expect(requestTo(URL))
+        .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+    server.expect(requestTo(URL))
+        .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+        .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+
+    restTemplate.getForObject(URL, Item[].class);
+    restTemplate.getForObject(URL, Item[].class);
+
+    server.verify();
+  }
+
+  @Test
+  void requestWithQuery_isNeitherKeptNorSentConditionally() {
+    String page = URL + "?limit=1&after=0";
+    server.expect(requestTo(page))
+        .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"v1\""));
+    server.expect(requestTo(page))
+        .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+        .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"v1\""));
+    server.expect(requestTo(URL))
+        .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+        .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"v1\""));
+
+    restTemplate.getForObject(page, Item[].class);
+    restTemplate.getForObject(page, Item[].class);
+    restTemplate.getForObject(URL, Item[].class);
+
+    server.verify();
+  }
+}
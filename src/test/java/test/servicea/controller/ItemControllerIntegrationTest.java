@@ -4,17 +4,31 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import test.servicea.config.ResponseCacheProperties;
 import test.servicea.domain.Item;
 import test.servicea.domain.dto.ItemDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -27,6 +41,12 @@ public class ItemControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CatalogResponseCacheFilter responseCache;
+
+    @Autowired
+    private ResponseCacheProperties responseCacheProperties;
+
     @Test
     public void testCreateItem() throws Exception {
         ItemDto itemDto = new ItemDto("Test Item", 10, 100.0, "Test Description");
@@ -403,4 +423,501 @@ public class ItemControllerIntegrationTest {
             .andExpect(jsonPath("$.price", is(30.0)))
             .andExpect(jsonPath("$.description", is("k")));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetAllItems_conditionalRequest() throws Exception {
+        String eTag = mockMvc.perform(get("/api/inventory"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Unchanged catalog: answered without a body
+        mockMvc.perform(get("/api/inventory").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/api/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ItemDto("Tagged Item", 1, 1.0, "Tagged"))))
+                .andExpect(status().isCreated());
+
+        // Changed catalog: full response with a new tag
+        mockMvc.perform(get("/api/inventory").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$[*].description", hasItem("Tagged")));
+    }
+
+    @Test
+    public void testGetAllItems_servesCachedBytesUntilNextWrite() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            mockMvc.perform(post("/api/inventory")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new ItemDto("Cached " + i, 1, 1.0, "x".repeat(200)))))
+                    .andExpect(status().isCreated());
+        }
+        MockHttpServletResponse identity = mockMvc.perform(get("/api/inventory"))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                .andReturn().getResponse();
+        String body = identity.getContentAsString();
+
+        MockHttpServletResponse gzipped = mockMvc.perform(get("/api/inventory")
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertEquals(body, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        mockMvc.perform(get("/api/inventory").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string(body));
+
+        // Each encoding has its own strong tag, and either one validates its representation
+        String identityTag = identity.getHeader("ETag");
+        String gzipTag = gzipped.getHeader("ETag");
+        assertEquals(identityTag.substring(0, identityTag.length() - 1) + "-gzip\"", gzipTag);
+        mockMvc.perform(get("/api/inventory").header("Accept-Encoding", "gzip").header("If-None-Match", gzipTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", gzipTag));
+        mockMvc.perform(get("/api/inventory").header("If-None-Match", identityTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", identityTag));
+
+        // Parameters the list does not read share the cached response
+        mockMvc.perform(get("/api/inventory").param("_", "123"))
+                .andExpect(content().string(body));
+
+        mockMvc.perform(post("/api/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ItemDto("After Cache", 1, 1.0, "after cache"))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/inventory"))
+                .andExpect(jsonPath("$[*].description", hasItem("after cache")));
+    }
+
+    @Test
+    public void testGetItemPage_cachedResponseKeepsLinkHeader() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/inventory")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new ItemDto("Paged " + i, 1, 1.0, "paged"))))
+                    .andExpect(status().isCreated());
+        }
+        String link = mockMvc.perform(get("/api/inventory").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Link"))
+                .andReturn().getResponse().getHeader("Link");
+
+        mockMvc.perform(get("/api/inventory").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link", link))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    public void testGetItemPage_cachedLinkIsRelativeAndCarriesOnlyPageParameters() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/inventory")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new ItemDto("Linked " + i, 1, 1.0, "linked"))))
+                    .andExpect(status().isCreated());
+        }
+        String link = mockMvc.perform(get("https://first.example/api/inventory")
+                        .param("limit", "1").param("fields", "id,name").param("token", "secret"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Link");
+
+        assertNotNull(link);
+        assertTrue(link.matches("</api/inventory\\?limit=1&after=\\d+&fields=id,name>; rel=\"next\""), link);
+        mockMvc.perform(get("http://second.example/api/inventory")
+                        .param("limit", "1").param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link", link));
+    }
+
+    @Test
+    public void testGetItemPage_responseCacheKeepsMostRecentRequests() throws Exception {
+        mockMvc.perform(post("/api/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ItemDto("Evicted", 1, 1.0, "evicted"))))
+                .andExpect(status().isCreated());
+        int maxEntries = responseCacheProperties.getMaxEntries();
+        for (int limit = 1; limit <= maxEntries + 1; limit++) {
+            mockMvc.perform(get("/api/inventory").param("limit", String.valueOf(limit)))
+                    .andExpect(status().isOk());
+        }
+        assertEquals(maxEntries, responseCache.size());
+
+        // A full cache keeps answering from fresh data and stays bounded
+        mockMvc.perform(get("/api/inventory"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].description", hasItem("evicted")));
+        assertEquals(maxEntries, responseCache.size());
+    }
+
+    @Test
+    public void testGetAllItems_multiCatalog_hasNoETag() throws Exception {
+        mockMvc.perform(get("/api/inventory").param("multi-catalog", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    public void testGetAllItems_multiCatalogOne_isNeitherTaggedNorCached() throws Exception {
+        mockMvc.perform(post("/api/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ItemDto("Multi", 1, 1.0, "multi"))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/inventory").param("multi-catalog", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+        mockMvc.perform(get("/api/inventory").param("multi-catalog", "yes"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+
+        assertEquals(0, responseCache.size());
+    }
+
+    @Test
+    public void testGetItemPage_followsNextLinksThroughAllItems() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/inventory")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new ItemDto("Paged " + i, 1, 1.0, "Paged"))))
+                    .andExpect(status().isCreated());
+        }
+        int total = objectMapper.readTree(mockMvc.perform(get("/api/inventory"))
+                .andReturn().getResponse().getContentAsString()).size();
+
+        int seen = 0;
+        String next = "/api/inventory?limit=2";
+        while (next != null) {
+            var response = mockMvc.perform(get(next))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(lessThanOrEqualTo(2))))
+                    .andReturn().getResponse();
+            seen += objectMapper.readTree(response.getContentAsString()).size();
+            String link = response.getHeader("Link");
+            next = link == null ? null : link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        }
+        assertEquals(total, seen);
+    }
+
+    @Test
+    public void testGetItemPage_invalidLimit_BadRequest() throws Exception {
+        mockMvc.perform(get("/api/inventory").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testExport_csv_streamsAllItems() throws Exception {
+        mockMvc.perform(post("/api/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ItemDto("Exported, Item", 4, 2.5, "Exported"))))
+                .andExpect(status().isCreated());
+
+        var result = mockMvc.perform(get("/api/inventory/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString("inventory.csv")))
+                .andExpect(content().string(startsWith("id,name,stock,price,description\r\n")))
+                .andExpect(content().string(containsString("Exported, Item\",4,2.5,Exported\r\n")));
+    }
+
+    @Test
+    public void testExport_unknownFormat_BadRequest() throws Exception {
+        mockMvc.perform(get("/api/inventory/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testImport_ndjson_importsValidLinesAndReportsInvalidOnes() throws Exception {
+        String body = "{\"name\":\"Imported A\",\"stock\":1,\"price\":1.5,\"description\":\"first\"}\n"
+                + "\n"
+                + "{\"name\":\"\",\"stock\":-1,\"price\":1.0,\"description\":\"invalid\"}\n"
+                + "{not json}\n"
+                + "{\"name\":\"Imported B\",\"stock\":2,\"price\":2.5,\"description\":\"second\"}\n";
+
+        mockMvc.perform(post("/api/inventory/import")
+                .contentType("application/x-ndjson")
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.errors[0].row").value(3))
+                .andExpect(jsonPath("$.errors[0].messages.name").value("Name is mandatory."))
+                .andExpect(jsonPath("$.errors[0].messages.stock").value("Stock cannot be negative."))
+                .andExpect(jsonPath("$.errors[1].row").value(4));
+
+        mockMvc.perform(get("/api/inventory"))
+                .andExpect(jsonPath("$[*].name", hasItems("Inventory-A: Imported A", "Inventory-A: Imported B")));
+    }
+
+    @Test
+    public void testImport_csv_readsExportedColumns() throws Exception {
+        String body = "id,name,stock,price,description\r\n"
+                + "99,\"Imported, \"\"quoted\"\"\",3,4.5,\"multi\r\nline\"\r\n"
+                + "100,Bad stock,many,1.0,bad\r\n";
+
+        mockMvc.perform(post("/api/inventory/import")
+                .param("format", "csv")
+                .contentType("text/csv")
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].messages.stock").value("Stock must be a whole number."));
+
+        mockMvc.perform(get("/api/inventory"))
+                .andExpect(jsonPath("$[?(@.name == 'Inventory-A: Imported, \"quoted\"')].description",
+                        contains("multi\r\nline")));
+    }
+
+    @Test
+    public void testImport_csvWithoutRequiredColumns_BadRequest() throws Exception {
+        mockMvc.perform(post("/api/inventory/import")
+                .param("format", "csv")
+                .contentType("text/csv")
+                .content("name,stock\r\nA,1\r\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetAllItems_withFields_returnsOnlyRequestedFields() throws Exception {
+        mockMvc.perform(post("/api/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ItemDto("Sparse Item", 3, 9.5, "long text"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/inventory").param("fields", "id,name,price,stock"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItem("Inventory-A: Sparse Item")))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].price").exists())
+                .andExpect(jsonPath("$[*].description").isEmpty());
+
+        mockMvc.perform(get("/api/inventory").param("limit", "5").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").exists())
+                .andExpect(jsonPath("$[0].id").doesNotExist());
+
+        var result = mockMvc.perform(get("/api/inventory").param("fields", "name")
+                .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("{\"name\":\"Inventory-A: Sparse Item\"}")));
+    }
+
+    @Test
+    public void testGetItemById_withFields_returnsOnlyRequestedFields() throws Exception {
+        String response = mockMvc.perform(post("/api/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ItemDto("Single Sparse", 1, 2.0, "text"))))
+                .andReturn().getResponse().getContentAsString();
+        Item created = objectMapper.readValue(response, Item.class);
+
+        mockMvc.perform(get("/api/inventory/" + created.getId()).param("fields", "name, PRICE"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"name\":\"Inventory-A: Single Sparse\",\"price\":2.0}", true));
+
+        mockMvc.perform(get("/api/inventory/" + created.getId()).param("fields", "name,secret"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetItemById_repeatedReadsAreCacheHits() throws Exception {
+        String response = mockMvc.perform(post("/api/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ItemDto("Cached Item", 1, 1.0, "Cached"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Item created = objectMapper.readValue(response, Item.class);
+        long hits = objectMapper.readTree(mockMvc.perform(get("/api/inventory/cache"))
+                .andReturn().getResponse().getContentAsString()).get("hits").asLong();
+
+        mockMvc.perform(get("/api/inventory/" + created.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/inventory/" + created.getId() + "/itemname/" + created.getName()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/inventory/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits", is((int) hits + 2)))
+                .andExpect(jsonPath("$.maxSize", greaterThan(0)));
+    }
+
+    @Test
+    public void testCreateItems_batch_createsValidItemsAndReportsInvalidOnes() throws Exception {
+        List<ItemDto> batch = List.of(
+                new ItemDto("Batch 1", 1, 1.0, "Batch"),
+                new ItemDto("", 2, 2.0, "Batch"),
+                new ItemDto("Batch 3", 3, 3.0, "Batch"));
+
+        String response = mockMvc.perform(post("/api/inventory/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created[*].index", contains(0, 2)))
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0].index", is(1)))
+                .andExpect(jsonPath("$.errors[0].messages.name", is("Name is mandatory.")))
+                .andReturn().getResponse().getContentAsString();
+
+        int id = objectMapper.readTree(response).get("created").get(1).get("id").asInt();
+        mockMvc.perform(get("/api/inventory/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock", is(3)));
+    }
+
+    @Test
+    public void testCreateItems_batch_allInvalid_BadRequest() throws Exception {
+        mockMvc.perform(post("/api/inventory/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(new ItemDto("X", -1, 1.0, "x")))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.created", hasSize(0)))
+                .andExpect(jsonPath("$.errors[0].messages.stock", is("Stock cannot be negative.")));
+
+        mockMvc.perform(post("/api/inventory/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testReserveAndReleaseStock() throws Exception {
+        Item created = objectMapper.readValue(mockMvc.perform(post("/api/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ItemDto("Reserved Item", 5, 1.0, "Reserved"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString(), Item.class);
+        String id = String.valueOf(created.getId());
+
+        mockMvc.perform(post("/api/inventory/" + id + "/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\": 3}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/inventory/" + id)).andExpect(jsonPath("$.stock", is(2)));
+
+        mockMvc.perform(post("/api/inventory/" + id + "/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\": 3}"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/api/inventory/" + id + "/release")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\": 1}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/inventory/" + id)).andExpect(jsonPath("$.stock", is(3)));
+
+        mockMvc.perform(post("/api/inventory/" + id + "/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\": 0}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/inventory/999999/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\": 1}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testReserveStock_concurrentReservationsNeverOversell() throws Exception {
+        Item created = objectMapper.readValue(mockMvc.perform(post("/api/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ItemDto("Sale Item", 10, 1.0, "Sale"))))
+                .andReturn().getResponse().getContentAsString(), Item.class);
+
+        List<Integer> statuses;
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<Integer>> calls = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                calls.add(executor.submit(() -> mockMvc.perform(post("/api/inventory/" + created.getId() + "/reserve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 1}"))
+                        .andReturn().getResponse().getStatus()));
+            }
+            statuses = new ArrayList<>();
+            for (Future<Integer> call : calls) {
+                statuses.add(call.get());
+            }
+        }
+
+        assertEquals(10, statuses.stream().filter(status -> status == 204).count());
+        assertEquals(15, statuses.stream().filter(status -> status == 409).count());
+        mockMvc.perform(get("/api/inventory/" + created.getId())).andExpect(jsonPath("$.stock", is(0)));
+    }
+
+    @Test
+    public void testUpdateItemById_ifMatchDetectsConcurrentEdits() throws Exception {
+        Item created = objectMapper.readValue(mockMvc.perform(post("/api/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ItemDto("Versioned Item", 1, 1.0, "Versioned"))))
+                .andReturn().getResponse().getContentAsString(), Item.class);
+        String url = "/api/inventory/" + created.getId();
+        String update = objectMapper.writeValueAsString(new ItemDto("Versioned Item", 2, 1.0, "Versioned"));
+
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(put(url).header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(update))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.stock", is(2)));
+
+        mockMvc.perform(put(url).header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ItemDto("Versioned Item", 3, 1.0, "Versioned"))))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put(url).header("If-Match", "W/\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(update))
+                .andExpect(status().isPreconditionFailed());
+
+        // Identical values are not written, so the version stays the same
+        mockMvc.perform(put(url).header("If-Match", "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(update))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+        mockMvc.perform(get(url))
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.stock", is(2)))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    public void testGetChanges_returnsOnlyItemsChangedSinceVersion() throws Exception {
+        long version = objectMapper.readTree(mockMvc.perform(get("/api/inventory/changes").param("since", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isArray())
+                .andReturn().getResponse().getContentAsString()).get("version").asLong();
+
+        String response = mockMvc.perform(post("/api/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ItemDto("Changed Item", 1, 1.0, "Changed"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Item created = objectMapper.readValue(response, Item.class);
+
+        mockMvc.perform(get("/api/inventory/changes").param("since", String.valueOf(version)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", greaterThan((int) version)))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(created.getId())))
+                .andExpect(jsonPath("$.items[0].changeSeq").doesNotExist());
+    }
+}
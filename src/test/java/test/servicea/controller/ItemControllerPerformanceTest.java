@@ -0,0 +1,242 @@
+package test.servicea.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import test.servicea.domain.dto.ItemDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Performance regression gate for the main item endpoints on a seeded catalog.
+ * Measures the bytes allocated and the CPU time spent per request on the calling thread, which runs the
+ * whole request under MockMvc. CPU time is divided by the CPU time of a fixed reference operation measured
+ * in the same run, so the gate compares how much work a request does rather than how fast the machine is.
+ * Both are compared with {@code perf-baseline.properties}: a result above the baseline by more than the
+ * tolerance of its kind fails the test. The run is recorded with JFR into
+ * {@code target/perf/item-controller.jfr} for finding the cause of a regression, and the measured values
+ * are written to {@code target/perf/perf-baseline.properties}, ready to replace the baseline after an
+ * intended change. Run with {@code mvn -Pperf test}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties",
+    properties = {"spring.datasource.url=jdbc:h2:mem:perf-service-A", "inventory.response-cache.max-entries=0"})
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+public class ItemControllerPerformanceTest {
+
+  private static final int ITEMS = 1_000;
+  private static final int WARMUP = 300;
+  private static final int BATCHES = 15;
+  private static final int BATCH_SIZE = 20;
+  private static final int REFERENCE_KEYS = 2_000;
+  private static final Path OUTPUT = Path.of("target", "perf");
+
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void itemEndpoints_stayWithinBaseline() throws Exception {
+    seedCatalog();
+    int id = jdbcTemplate.queryForObject("select min(id) from item", Integer.class);
+    AtomicInteger stock = new AtomicInteger();
+    Supplier<RequestBuilder> create = () -> post("/api/inventory").contentType(MediaType.APPLICATION_JSON)
+        .content(json(new ItemDto("Created", 1, 1.0, "Created by the performance test")));
+    Supplier<RequestBuilder> update = () -> put("/api/inventory/" + id).contentType(MediaType.APPLICATION_JSON)
+        .content(json(new ItemDto("Updated", stock.incrementAndGet(), 2.0, "Updated by the performance test")));
+
+    Map<String, long[]> results = new LinkedHashMap<>();
+    long reference;
+    Files.createDirectories(OUTPUT);
+    try (Recording recording = new Recording(Configuration.getConfiguration("profile"))) {
+      recording.setDestination(OUTPUT.resolve("item-controller.jfr"));
+      recording.start();
+      long referenceBefore = measureReference();
+      results.put("getAll", measure(() -> get("/api/inventory")));
+      results.put("getAllFields", measure(() -> get("/api/inventory").param("fields", "id,name,price")));
+      results.put("getPage", measure(() -> get("/api/inventory").param("limit", "100")));
+      results.put("getById", measure(() -> get("/api/inventory/" + id)));
+      results.put("update", measure(update));
+      results.put("create", measure(create));
+      // The reference is measured on both sides of the requests to even out changes of the clock speed
+      reference = (referenceBefore + measureReference()) / 2;
+      recording.stop();
+    }
+
+    Properties baseline = new Properties();
+    try (InputStream in = new ClassPathResource("perf-baseline.properties").getInputStream()) {
+      baseline.load(in);
+    }
+    List<String> regressions = compare(baseline, results, reference);
+    writeResults(results, reference);
+    assertTrue(regressions.isEmpty(), "Performance regressions, all values are in "
+        + OUTPUT.resolve("perf-baseline.properties") + ":\n" + String.join("\n", regressions));
+  }
+
+  /**
+   * Inserts the catalog the endpoints are measured on.
+   */
+  private void seedCatalog() {
+    List<Object[]> rows = new ArrayList<>(ITEMS);
+    for (int i = 0; i < ITEMS; i++) {
+      rows.add(new Object[] { "Inventory-A: Item " + i, i % 100, i / 10.0, "Description of item " + i });
+    }
+    jdbcTemplate.batchUpdate("insert into item (id, name, stock, price, description)"
+        + " values (next value for item_seq, ?, ?, ?, ?)", rows);
+  }
+
+  /**
+   * Performs a request repeatedly after warming it up and returns the median allocated bytes and
+   * CPU nanoseconds per request over all batches.
+   */
+  private long[] measure(Supplier<RequestBuilder> request) throws Exception {
+    for (int i = 0; i < WARMUP; i++) {
+      mockMvc.perform(request.get()).andExpect(status().is2xxSuccessful());
+    }
+    long[] bytes = new long[BATCHES];
+    long[] nanos = new long[BATCHES];
+    for (int batch = 0; batch < BATCHES; batch++) {
+      long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+      long cpuBefore = THREADS.getCurrentThreadCpuTime();
+      for (int i = 0; i < BATCH_SIZE; i++) {
+        mockMvc.perform(request.get()).andExpect(status().is2xxSuccessful());
+      }
+      nanos[batch] = (THREADS.getCurrentThreadCpuTime() - cpuBefore) / BATCH_SIZE;
+      bytes[batch] = (THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore) / BATCH_SIZE;
+    }
+    Arrays.sort(bytes);
+    Arrays.sort(nanos);
+    return new long[] { bytes[BATCHES / 2], nanos[BATCHES / 2] };
+  }
+
+  /**
+   * Runs the reference operation repeatedly after warming it up and returns its median CPU nanoseconds.
+   * The operation only uses the JDK, so its cost follows the machine and not the application.
+   */
+  private static long measureReference() {
+    long checksum = 0;
+    for (int i = 0; i < WARMUP; i++) {
+      checksum += referenceOperation();
+    }
+    long[] nanos = new long[BATCHES];
+    for (int batch = 0; batch < BATCHES; batch++) {
+      long cpuBefore = THREADS.getCurrentThreadCpuTime();
+      for (int i = 0; i < BATCH_SIZE; i++) {
+        checksum += referenceOperation();
+      }
+      nanos[batch] = (THREADS.getCurrentThreadCpuTime() - cpuBefore) / BATCH_SIZE;
+    }
+    assertNotEquals(0, checksum);
+    Arrays.sort(nanos);
+    return nanos[BATCHES / 2];
+  }
+
+  /**
+   * Fills a map with string keys, joins them and sorts their hashes: work of the same kind as a request.
+   */
+  private static long referenceOperation() {
+    Map<String, Integer> map = new HashMap<>();
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < REFERENCE_KEYS; i++) {
+      String key = "item-" + i;
+      map.put(key, key.hashCode());
+      text.append(key).append(',');
+    }
+    int[] hashes = map.values().stream().mapToInt(Integer::intValue).toArray();
+    Arrays.sort(hashes);
+    return hashes[hashes.length / 2] + (long) text.toString().hashCode();
+  }
+
+  /**
+   * Compares the results with the baseline and lists the ones above their band.
+   */
+  private static List<String> compare(Properties baseline, Map<String, long[]> results, long reference) {
+    double allocationTolerance = Double.parseDouble(baseline.getProperty("tolerance.allocated-bytes"));
+    double cpuTolerance = Double.parseDouble(baseline.getProperty("tolerance.cpu-ratio"));
+    List<String> regressions = new ArrayList<>();
+    results.forEach((name, result) -> {
+      check(regressions, baseline, name + ".allocated-bytes", result[0], allocationTolerance);
+      check(regressions, baseline, name + ".cpu-ratio", cpuRatio(result[1], reference), cpuTolerance);
+    });
+    return regressions;
+  }
+
+  private static void check(List<String> regressions, Properties baseline, String key, double measured,
+                            double tolerance) {
+    String expected = baseline.getProperty(key);
+    if (expected == null) {
+      regressions.add(String.format(Locale.ROOT, "%s: no baseline, measured %.2f", key, measured));
+      return;
+    }
+    double base = Double.parseDouble(expected);
+    if (measured > base * (1 + tolerance)) {
+      regressions.add(String.format(Locale.ROOT, "%s: %,.2f exceeds the baseline %,.2f by more than %.0f%%", key,
+          measured, base, tolerance * 100));
+    }
+  }
+
+  /**
+   * Expresses the CPU time of a request in units of the reference operation.
+   */
+  private static double cpuRatio(long nanos, long reference) {
+    return Math.round(nanos * 100.0 / reference) / 100.0;
+  }
+
+  /**
+   * Writes the measured values in the format of the baseline, with the CPU nanoseconds for information.
+   */
+  private static void writeResults(Map<String, long[]> results, long reference) throws IOException {
+    StringBuilder lines = new StringBuilder();
+    lines.append("# reference operation: ").append(reference).append(" CPU ns\n");
+    results.forEach((name, result) -> lines.append(name).append(".allocated-bytes=").append(result[0]).append('\n')
+        .append(name).append(".cpu-ratio=").append(cpuRatio(result[1], reference)).append('\n')
+        .append("# ").append(name).append(".cpu-nanos=").append(result[1]).append('\n'));
+    Files.writeString(OUTPUT.resolve("perf-baseline.properties"), lines);
+  }
+
+  private String json(ItemDto itemDto) {
+    try {
+      return objectMapper.writeValueAsString(itemDto);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -80,7 +80,7 @@ public class ItemControllerUnitTest {
 
     when(itemService.getAllItems(false)).thenReturn(list);
 
-    ResponseEntity<List<Item>> response = controller.getAll(false);
+    ResponseEntity<List<Item>> response = controller.getAll(false, null);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertNotNull(response.getBody());
@@ -99,7 +99,7 @@ public class ItemControllerUnitTest {
 
     when(itemService.getAllItems(true)).thenReturn(list);
 
-    ResponseEntity<List<Item>> response = controller.getAll(true);
+    ResponseEntity<List<Item>> response = controller.getAll(true, null);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertNotNull(response.getBody());
@@ -112,7 +112,7 @@ public class ItemControllerUnitTest {
   void getAllItems_multiCatalogTrue_empty_returnsOkEmpty() {
     when(itemService.getAllItems(true)).thenReturn(Collections.emptyList());
 
-    ResponseEntity<List<Item>> response = controller.getAll(true);
+    ResponseEntity<List<Item>> response = controller.getAll(true, null);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertNotNull(response.getBody());
@@ -124,7 +124,7 @@ public class ItemControllerUnitTest {
   void getAllItems_multiCatalogTrue_serviceThrows_propagatesException() {
     when(itemService.getAllItems(true)).thenThrow(new RuntimeException("service boom"));
 
-    RuntimeException ex = assertThrows(RuntimeException.class, () -> controller.getAll(true));
+    RuntimeException ex = assertThrows(RuntimeException.class, () -> controller.getAll(true, null));
     assertEquals("service boom", ex.getMessage());
     verify(itemService).getAllItems(true);
   }
@@ -133,7 +133,7 @@ public class ItemControllerUnitTest {
   void getAllItems_multiCatalogTrue_serviceReturnsNull_returnsOkWithNullBody() {
     when(itemService.getAllItems(true)).thenReturn(null);
 
-    ResponseEntity<List<Item>> response = controller.getAll(true);
+    ResponseEntity<List<Item>> response = controller.getAll(true, null);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertNull(response.getBody());
@@ -144,7 +144,7 @@ public class ItemControllerUnitTest {
   void getAllItems_empty_returnsOkEmpty() {
     when(itemService.getAllItems(false)).thenReturn(Collections.emptyList());
 
-    ResponseEntity<List<Item>> response = controller.getAll(false);
+    ResponseEntity<List<Item>> response = controller.getAll(false, null);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertNotNull(response.getBody());
@@ -181,7 +181,7 @@ public class ItemControllerUnitTest {
     Item updated = new Item("Updated", 4, 40.0, "updated");
     when(itemService.updateItemById(9, dto)).thenReturn(updated);
 
-    ResponseEntity<Item> response = controller.updateItemById(9, dto);
+    ResponseEntity<Item> response = controller.updateItemById(9, null, dto);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertSame(updated, response.getBody());
@@ -193,7 +193,7 @@ public class ItemControllerUnitTest {
     ItemDto dto = new ItemDto("Updated", 4, 40.0, "updated");
     when(itemService.updateItemById(99, dto)).thenReturn(null);
 
-    ResponseEntity<Item> response = controller.updateItemById(99, dto);
+    ResponseEntity<Item> response = controller.updateItemById(99, null, dto);
 
     assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     assertNull(response.getBody());
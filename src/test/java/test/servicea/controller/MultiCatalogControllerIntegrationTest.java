@@ -9,12 +9,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import test.servicea.domain.dto.ItemDto;
 
 import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -149,4 +153,46 @@ public class MultiCatalogControllerIntegrationTest {
         .andExpect(status().isOk())
         .andExpect(jsonPath("$[*].name", hasItem("Service-A: UpperTrue_Item")));
   }
+
+  @Test
+  @DisplayName("Accept application/x-ndjson streams items as one JSON document per line")
+  void streamAll_ndjson_emitsOneItemPerLine() throws Exception {
+    ItemDto item = new ItemDto("Ndjson_Item", 4, 4.44, "ndjson");
+    mockMvc.perform(post("/api/inventory")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(item)))
+        .andExpect(status().isCreated());
+
+    MvcResult pending = mockMvc.perform(get("/api/inventory")
+            .param("multi-catalog", "true")
+            .accept(MediaType.APPLICATION_NDJSON))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String body = mockMvc.perform(asyncDispatch(pending))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+
+    // External catalogs are unreachable in tests, so only local items are streamed
+    String[] lines = body.strip().split("\n");
+    org.junit.jupiter.api.Assertions.assertTrue(lines.length > 0);
+    for (String line : lines) {
+      org.junit.jupiter.api.Assertions.assertTrue(objectMapper.readTree(line).has("name"));
+    }
+    org.junit.jupiter.api.Assertions.assertTrue(body.contains("Ndjson_Item"));
+  }
+
+  @Test
+  @DisplayName("peers endpoint lists the circuit breaker of each configured external service")
+  void getPeers_listsCircuitBreakerOfEachExternalService() throws Exception {
+    mockMvc.perform(get("/api/inventory/peers"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[*].name", org.hamcrest.Matchers.containsInAnyOrder("B", "C")))
+        .andExpect(jsonPath("$[0].state").exists())
+        .andExpect(jsonPath("$[0].failureRate").isNumber());
+  }
 }
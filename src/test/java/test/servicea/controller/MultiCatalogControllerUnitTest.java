@@ -42,7 +42,7 @@ public class MultiCatalogControllerUnitTest {
 
     when(itemService.getAllItems(true)).thenReturn(list);
 
-    ResponseEntity<List<Item>> response = controller.getAll(true);
+    ResponseEntity<List<Item>> response = controller.getAll(true, null);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertNotNull(response.getBody());
@@ -55,7 +55,7 @@ public class MultiCatalogControllerUnitTest {
   void getAll_multiCatalogFalse_returnsEmptyList() {
     when(itemService.getAllItems(false)).thenReturn(Collections.emptyList());
 
-    ResponseEntity<List<Item>> response = controller.getAll(false);
+    ResponseEntity<List<Item>> response = controller.getAll(false, null);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertNotNull(response.getBody());
@@ -67,7 +67,7 @@ public class MultiCatalogControllerUnitTest {
   void getAll_multiCatalogTrue_serviceReturnsNull_returnsOkWithNullBody() {
     when(itemService.getAllItems(true)).thenReturn(null);
 
-    ResponseEntity<List<Item>> response = controller.getAll(true);
+    ResponseEntity<List<Item>> response = controller.getAll(true, null);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertNull(response.getBody());
@@ -78,7 +78,7 @@ public class MultiCatalogControllerUnitTest {
   void getAll_multiCatalogTrue_serviceThrows_propagatesException() {
     when(itemService.getAllItems(true)).thenThrow(new RuntimeException("boom"));
 
-    RuntimeException ex = assertThrows(RuntimeException.class, () -> controller.getAll(true));
+    RuntimeException ex = assertThrows(RuntimeException.class, () -> controller.getAll(true, null));
     assertEquals("boom", ex.getMessage());
     verify(itemService).getAllItems(true);
     verifyNoMoreInteractions(itemService);
@@ -88,7 +88,7 @@ public class MultiCatalogControllerUnitTest {
   void getAll_multiCatalogFalse_serviceThrows_propagatesException() {
     when(itemService.getAllItems(false)).thenThrow(new IllegalStateException("db down"));
 
-    IllegalStateException ex = assertThrows(IllegalStateException.class, () -> controller.getAll(false));
+    IllegalStateException ex = assertThrows(IllegalStateException.class, () -> controller.getAll(false, null));
     assertEquals("db down", ex.getMessage());
     verify(itemService).getAllItems(false);
     verifyNoMoreInteractions(itemService);
@@ -99,7 +99,7 @@ public class MultiCatalogControllerUnitTest {
     List<Item> listWithNull = Arrays.asList(new Item("X", 1, 1.0, "x"), null);
     when(itemService.getAllItems(true)).thenReturn(listWithNull);
 
-    ResponseEntity<List<Item>> response = controller.getAll(true);
+    ResponseEntity<List<Item>> response = controller.getAll(true, null);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertNotNull(response.getBody());
@@ -114,7 +114,7 @@ public class MultiCatalogControllerUnitTest {
   void getAll_invokesServiceExactlyOnce_noOtherInteractions() {
     when(itemService.getAllItems(false)).thenReturn(Collections.emptyList());
 
-    ResponseEntity<List<Item>> response = controller.getAll(false);
+    ResponseEntity<List<Item>> response = controller.getAll(false, null);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     verify(itemService, times(1)).getAllItems(false);
@@ -0,0 +1,43 @@
+package test.servicea.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiCatalogParameterUnitTest {
+
+  @Test
+  void trueValuesOfTheBinder_askForExternalCatalogs() {
+    for (String value : new String[] {"true", "TRUE", "on", "yes", "1"}) {
+      MockHttpServletRequest request = request(value);
+      assertTrue(MultiCatalogParameter.isRequested(request), value);
+      assertFalse(MultiCatalogParameter.isLocal(request), value);
+    }
+  }
+
+  @Test
+  void missingBlankOrFalseValues_askForLocalCatalog() {
+    for (String value : new String[] {null, "", "false", "off", "no", "0"}) {
+      MockHttpServletRequest request = request(value);
+      assertTrue(MultiCatalogParameter.isLocal(request), value);
+      assertFalse(MultiCatalogParameter.isRequested(request), value);
+    }
+  }
+
+  @Test
+  void invalidValue_isNeither() {
+    MockHttpServletRequest request = request("notABoolean");
+
+    assertFalse(MultiCatalogParameter.isRequested(request));
+    assertFalse(MultiCatalogParameter.isLocal(request));
+  }
+
+  private static MockHttpServletRequest request(String value) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/inventory");
+    if (value != null) {
+      request.setParameter(MultiCatalogParameter.NAME, value);
+    }
+    return request;
+  }
+}
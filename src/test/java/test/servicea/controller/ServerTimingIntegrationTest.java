@@ -0,0 +1,60 @@
+package test.servicea.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties",
+    properties = {"inventory.server-timing.enabled=true", "inventory.response-cache.max-entries=0"})
+public class ServerTimingIntegrationTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  void getAll_reportsLocalQuerySerializationAndTotal() throws Exception {
+    mockMvc.perform(get("/api/inventory"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(ServerTimingFilter.TIMING_HEADER, allOf(
+            startsWith("db;dur="),
+            containsString("serialize;dur="),
+            containsString("total;dur="))));
+  }
+
+  @Test
+  void getAll_multiCatalog_reportsEachExternalService() throws Exception {
+    mockMvc.perform(get("/api/inventory").param("multi-catalog", "true"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(ServerTimingFilter.TIMING_HEADER, allOf(
+            containsString("peer-"),
+            containsString("peers;dur="),
+            containsString("total;dur="))));
+  }
+
+  @Test
+  void getAll_crossOrigin_exposesTimingToBrowsers() throws Exception {
+    mockMvc.perform(get("/api/inventory").header(HttpHeaders.ORIGIN, "https://dashboard.example.com"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS,
+            containsString(ServerTimingFilter.TIMING_HEADER)))
+        .andExpect(header().string(ServerTimingFilter.TIMING_ORIGINS, "*"));
+  }
+
+  @Test
+  void streamAll_isNotTimed() throws Exception {
+    mockMvc.perform(get("/api/inventory").accept(MediaType.APPLICATION_NDJSON))
+        .andExpect(header().doesNotExist(ServerTimingFilter.TIMING_HEADER));
+  }
+}
@@ -0,0 +1,116 @@
+package test.servicea.load;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import test.servicea.domain.Item;
+
+/**
+ * In-process external inventory service answering {@code GET /api/inventory} as described by a
+ * {@link PeerBehavior}. Every request is served on its own virtual thread, so slow and hanging answers
+ * do not hold back the others. The item list is serialised once, so the fake adds no work of its own
+ * to what is measured.
+ */
+public final class FakePeerCatalog implements AutoCloseable {
+
+  private static final Duration MAX_HANG = Duration.ofMinutes(1);
+
+  private final PeerBehavior behavior;
+  private final byte[] body;
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final CountDownLatch closed = new CountDownLatch(1);
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder hangs = new LongAdder();
+
+  /**
+   * Starts a fake external service on a free local port.
+   *
+   * @param name     the name prefixed to its item names, such as {@code Inventory-B}
+   * @param behavior how the fake answers
+   * @throws IOException if the server cannot be started
+   */
+  public FakePeerCatalog(String name, PeerBehavior behavior) throws IOException {
+    this.behavior = behavior;
+    List<Item> items = new ArrayList<>(behavior.itemCount());
+    for (int i = 1; i <= behavior.itemCount(); i++) {
+      items.add(new Item(i, name + ": Item " + i, i % 100, i / 10.0, "Description of item " + i));
+    }
+    this.body = new ObjectMapper().writeValueAsBytes(items);
+    this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.setExecutor(executor);
+    server.createContext("/api/inventory", this::answer);
+    server.start();
+  }
+
+  /**
+   * Retrieves the URL of the item list of the fake.
+   *
+   * @return the URL to configure as an external inventory service
+   */
+  public String getUrl() {
+    return "http://localhost:" + server.getAddress().getPort() + "/api/inventory";
+  }
+
+  /**
+   * Summarises the requests the fake received.
+   *
+   * @return the number of requests, answered errors and hangs, for example {@code 1200 requests, 12 errors, 1 hangs}
+   */
+  public String getStats() {
+    return requests.sum() + " requests, " + errors.sum() + " errors, " + hangs.sum() + " hangs";
+  }
+
+  /**
+   * Answers a request after the sampled latency, failing or hanging at the configured rates.
+   *
+   * @param exchange the request and its response
+   * @throws IOException if writing the response fails
+   */
+  private void answer(HttpExchange exchange) throws IOException {
+    requests.increment();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    double outcome = random.nextDouble();
+    try (exchange) {
+      if (outcome < behavior.hangRate()) {
+        hangs.increment();
+        closed.await(MAX_HANG.toMillis(), TimeUnit.MILLISECONDS);
+        return;
+      }
+      Thread.sleep(behavior.sampleLatency(random));
+      if (outcome < behavior.hangRate() + behavior.errorRate()) {
+        errors.increment();
+        exchange.sendResponseHeaders(500, -1);
+        return;
+      }
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void close() {
+    closed.countDown();
+    server.stop(0);
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,79 @@
+package test.servicea.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator sending GET requests to a single URL at a fixed rate.
+ * Requests are started on schedule whether or not earlier ones have been answered, each on its own
+ * virtual thread, as independent clients would. This exposes queueing in the service that a closed
+ * loop of waiting clients would hide.
+ */
+public final class LoadGenerator {
+
+  private final HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor())
+      .build();
+  private final URI target;
+  private final Duration timeout;
+
+  /**
+   * Constructs a LoadGenerator for the given URL.
+   *
+   * @param target  the URL to request
+   * @param timeout the time after which a request counts as failed
+   */
+  public LoadGenerator(URI target, Duration timeout) {
+    this.target = target;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Sends requests at the given rate for the given duration and waits for all of them to finish.
+   *
+   * @param ratePerSecond the number of requests started per second
+   * @param duration      how long requests are started for
+   * @return the counts and latencies of the requests
+   */
+  public LoadReport run(int ratePerSecond, Duration duration) {
+    int count = (int) (duration.toMillis() * ratePerSecond / 1000);
+    long interval = 1_000_000_000L / ratePerSecond;
+    long[] latencies = new long[count];
+    AtomicInteger succeeded = new AtomicInteger();
+    AtomicInteger errors = new AtomicInteger();
+    AtomicInteger failures = new AtomicInteger();
+    HttpRequest request = HttpRequest.newBuilder(target).timeout(timeout).GET().build();
+
+    long start = System.nanoTime();
+    try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < count; i++) {
+        long scheduled = start + i * interval;
+        LockSupport.parkNanos(scheduled - System.nanoTime());
+        int index = i;
+        senders.execute(() -> {
+          try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            (status / 100 == 2 ? succeeded : errors).incrementAndGet();
+          } catch (IOException e) {
+            failures.incrementAndGet();
+          } catch (InterruptedException e) {
+            failures.incrementAndGet();
+            Thread.currentThread().interrupt();
+          }
+          latencies[index] = System.nanoTime() - scheduled;
+        });
+      }
+    }
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+    Arrays.sort(latencies);
+    return new LoadReport(count, succeeded.get(), errors.get(), failures.get(), latencies, elapsed);
+  }
+}
@@ -0,0 +1,43 @@
+package test.servicea.load;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Outcome of a {@link LoadGenerator} run.
+ * Latencies are measured from the time each request was scheduled to start, so a slow service is not
+ * hidden by the generator falling behind its schedule.
+ *
+ * @param requests  the number of requests sent
+ * @param succeeded the number of requests answered with 2xx
+ * @param errors    the number of requests answered with another status
+ * @param failures  the number of requests that failed without an answer, including client timeouts
+ * @param latencies the latencies of all requests in nanoseconds, sorted in ascending order
+ * @param elapsed   the duration of the whole run
+ */
+public record LoadReport(int requests, int succeeded, int errors, int failures, long[] latencies,
+                         Duration elapsed) {
+
+  /**
+   * Computes a percentile of the latencies.
+   *
+   * @param percentile the percentile, from 0 to 100, such as 99.9
+   * @return the latency below which the given percentage of requests completed
+   */
+  public Duration percentile(double percentile) {
+    if (latencies.length == 0) {
+      return Duration.ZERO;
+    }
+    int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+    return Duration.ofNanos(latencies[Math.clamp(index, 0, latencies.length - 1)]);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(Locale.ROOT,
+        "%d requests in %.1f s (%.1f/s): %d ok, %d errors, %d failures; p50 %d ms, p99 %d ms, p99.9 %d ms, max %d ms",
+        requests, elapsed.toMillis() / 1000.0, requests * 1000.0 / Math.max(1, elapsed.toMillis()), succeeded,
+        errors, failures, percentile(50).toMillis(), percentile(99).toMillis(), percentile(99.9).toMillis(),
+        percentile(100).toMillis());
+  }
+}
@@ -0,0 +1,76 @@
+package test.servicea.load;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives {@code GET /api/inventory?multi-catalog=true} at a fixed rate against fake external catalogs
+ * B and C and prints the latency percentiles and error counts.
+ * Run with {@code mvn test -Dtest=MultiCatalogLoadTest -Dload=true}; the scenario is set with
+ * {@code -Dload.rate=100 -Dload.duration=60s -Dload.b=median=20ms,p99=200ms,errors=0.01,hangs=0.001,items=1000}
+ * and the same settings for {@code load.c} (see {@link PeerBehavior#parse(String)}). Settings of the service
+ * are overridden the same way, for example {@code -Dexternal.client.deadline=1s}. The report includes
+ * the state of the circuit breakers, which explains requests that never reached a fake catalog.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties",
+    properties = "spring.datasource.url=jdbc:h2:mem:load-service-A")
+@EnabledIfSystemProperty(named = "load", matches = "true")
+public class MultiCatalogLoadTest {
+
+  private static FakePeerCatalog peerB;
+  private static FakePeerCatalog peerC;
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @DynamicPropertySource
+  static void fakePeers(DynamicPropertyRegistry registry) throws IOException {
+    peerB = new FakePeerCatalog("Inventory-B", PeerBehavior.parse(System.getProperty("load.b")));
+    peerC = new FakePeerCatalog("Inventory-C", PeerBehavior.parse(System.getProperty("load.c")));
+    registry.add("external.inventory.externalInventory.b", () -> "B," + peerB.getUrl());
+    registry.add("external.inventory.externalInventory.c", () -> "C," + peerC.getUrl());
+  }
+
+  @AfterAll
+  static void stopPeers() {
+    peerB.close();
+    peerC.close();
+  }
+
+  @Test
+  void multiCatalogRead_underLoad() {
+    int rate = Integer.getInteger("load.rate", 50);
+    Duration duration = DurationStyle.detectAndParse(System.getProperty("load.duration", "30s"));
+    LoadGenerator generator = new LoadGenerator(
+        URI.create("http://localhost:" + port + "/api/inventory?multi-catalog=true"), Duration.ofSeconds(30));
+
+    generator.run(rate, Duration.ofSeconds(5));
+    LoadReport report = generator.run(rate, duration);
+
+    System.out.printf("Peer B (%s): %s%n", System.getProperty("load.b", "default"), peerB.getStats());
+    System.out.printf("Peer C (%s): %s%n", System.getProperty("load.c", "default"), peerC.getStats());
+    System.out.println("Circuit breakers: " + restTemplate.getForObject("/api/inventory/peers", String.class));
+    System.out.println("Multi-catalog read: " + report);
+    assertEquals(report.requests(), report.succeeded() + report.errors() + report.failures());
+    assertTrue(report.succeeded() > 0);
+  }
+}
@@ -0,0 +1,85 @@
+package test.servicea.load;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Random;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Behaviour of a {@link FakePeerCatalog}: its latency distribution, error and hang rates and payload size.
+ * Latencies follow a log-normal distribution fitted to the given median and 99th percentile, which is
+ * close to what real services show: most answers are fast and a few are much slower.
+ *
+ * @param medianLatency the median response time
+ * @param p99Latency    the 99th percentile of the response time; equal to the median for a fixed latency
+ * @param errorRate     the fraction of requests answered with 500 (Internal Server Error), from 0 to 1
+ * @param hangRate      the fraction of requests never answered until the caller gives up, from 0 to 1
+ * @param itemCount     the number of items in each successful response
+ */
+public record PeerBehavior(Duration medianLatency, Duration p99Latency, double errorRate, double hangRate,
+                           int itemCount) {
+
+  /** A peer answering in 20 ms at the median and 200 ms at p99, with 1% errors and 0.1% hangs. */
+  public static final PeerBehavior DEFAULT =
+      new PeerBehavior(Duration.ofMillis(20), Duration.ofMillis(200), 0.01, 0.001, 1_000);
+
+  /** z-score of the 99th percentile of the standard normal distribution. */
+  private static final double Z_99 = 2.3263;
+
+  /**
+   * Parses a behaviour from a comma-separated list of settings, each defaulting to {@link #DEFAULT}.
+   *
+   * @param spec the settings, for example {@code median=50ms,p99=2s,errors=0.05,hangs=0.01,items=10000};
+   *             null or blank for the default behaviour
+   * @return the behaviour
+   * @throws IllegalArgumentException if a setting is unknown or malformed
+   */
+  public static PeerBehavior parse(String spec) {
+    if (spec == null || spec.isBlank()) {
+      return DEFAULT;
+    }
+    Duration median = DEFAULT.medianLatency();
+    Duration p99 = null;
+    double errors = DEFAULT.errorRate();
+    double hangs = DEFAULT.hangRate();
+    int items = DEFAULT.itemCount();
+    for (String setting : spec.split(",")) {
+      String[] parts = setting.trim().split("=", 2);
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Expected name=value but got: " + setting);
+      }
+      String value = parts[1].trim();
+      switch (parts[0].trim().toLowerCase(Locale.ROOT)) {
+        case "median" -> median = DurationStyle.detectAndParse(value);
+        case "p99" -> p99 = DurationStyle.detectAndParse(value);
+        case "errors" -> errors = Double.parseDouble(value);
+        case "hangs" -> hangs = Double.parseDouble(value);
+        case "items" -> items = Integer.parseInt(value);
+        default -> throw new IllegalArgumentException("Unknown peer setting: " + parts[0]);
+      }
+    }
+    return new PeerBehavior(median, p99 == null ? median.multipliedBy(10) : p99, errors, hangs, items);
+  }
+
+  /**
+   * Draws the response time of a single request.
+   *
+   * @param random the source of randomness
+   * @return the time to wait before answering
+   */
+  public Duration sampleLatency(Random random) {
+    long median = medianLatency.toNanos();
+    if (p99Latency.compareTo(medianLatency) <= 0 || median == 0) {
+      return medianLatency;
+    }
+    double sigma = Math.log((double) p99Latency.toNanos() / median) / Z_99;
+    return Duration.ofNanos((long) (median * Math.exp(sigma * random.nextGaussian())));
+  }
+
+  @Override
+  public String toString() {
+    return "median=" + medianLatency.toMillis() + "ms,p99=" + p99Latency.toMillis() + "ms,errors=" + errorRate
+        + ",hangs=" + hangRate + ",items=" + itemCount;
+  }
+}
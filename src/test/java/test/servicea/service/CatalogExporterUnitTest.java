@@ -0,0 +1,80 @@
+package test.servicea.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import test.servicea.domain.Item;
+import test.servicea.domain.dto.ExportFormat;
+import test.servicea.repository.ItemRepository;
+import test.servicea.service.impl.CatalogExporter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CatalogExporterUnitTest {
+
+  @Mock
+  private ItemRepository itemRepository;
+
+  @Mock
+  private EntityManager entityManager;
+
+  @Test
+  void exportItems_csv_writesHeaderAndQuotedRowsAndDetachesItems() throws Exception {
+    Item plain = item(1, "Plain", "simple");
+    Item quoted = item(2, "Say \"hi\", world", null);
+    AtomicBoolean closed = new AtomicBoolean();
+    when(itemRepository.streamAllByOrderByIdAsc())
+        .thenReturn(Stream.of(plain, quoted).onClose(() -> closed.set(true)));
+    CatalogExporter exporter = new CatalogExporter(itemRepository, entityManager, new ObjectMapper());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exporter.exportItems(ExportFormat.CSV, out);
+
+    assertEquals("id,name,stock,price,description\r\n"
+        + "1,Plain,1,1.0,simple\r\n"
+        + "2,\"Say \"\"hi\"\", world\",1,1.0,\r\n", out.toString(StandardCharsets.UTF_8));
+    verify(entityManager).detach(plain);
+    verify(entityManager).detach(quoted);
+    assertTrue(closed.get());
+  }
+
+  @Test
+  void exportItems_ndjson_writesOneDocumentPerLine() throws Exception {
+    when(itemRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(item(1, "A", "a"), item(2, "B", "b")));
+    CatalogExporter exporter = new CatalogExporter(itemRepository, entityManager, new ObjectMapper());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exporter.exportItems(ExportFormat.NDJSON, out);
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2, lines.length);
+    assertTrue(lines[0].contains("\"name\":\"A\""));
+    assertTrue(lines[1].contains("\"name\":\"B\""));
+    assertFalse(lines[0].contains("changeSeq"));
+  }
+
+  @Test
+  void fromName_isCaseInsensitiveAndRejectsUnknownFormats() {
+    assertEquals(ExportFormat.CSV, ExportFormat.fromName("csv"));
+    assertEquals(ExportFormat.NDJSON, ExportFormat.fromName("NDJSON"));
+    assertThrows(ResponseStatusException.class, () -> ExportFormat.fromName("xml"));
+  }
+
+  private static Item item(int id, String name, String description) {
+    Item item = new Item(name, 1, 1.0, description);
+    ReflectionTestUtils.setField(item, "id", id);
+    return item;
+  }
+}
@@ -0,0 +1,116 @@
+package test.servicea.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import reactor.test.StepVerifier;
+import test.servicea.domain.Item;
+import test.servicea.domain.dto.ItemFields;
+import test.servicea.repository.ItemRepository;
+import test.servicea.service.impl.CatalogStreamer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CatalogStreamerUnitTest {
+
+  @Mock
+  private ItemRepository itemRepository;
+
+  @Mock
+  private EntityManager entityManager;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Mock
+  private TransactionStatus transaction;
+
+  @Test
+  void streamItems_emitsItemsInOrderInReadOnlyTransactionAndDetachesThem() {
+    Item first = item(1, "A");
+    Item second = item(2, "B");
+    AtomicBoolean closed = new AtomicBoolean();
+    when(transactionManager.getTransaction(argThat(definition -> definition.isReadOnly()))).thenReturn(transaction);
+    when(itemRepository.streamAllByOrderByIdAsc())
+        .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+    CatalogStreamer streamer = new CatalogStreamer(itemRepository, entityManager, transactionManager);
+
+    StepVerifier.create(streamer.streamItems(ItemFields.ALL))
+        .expectNext(first, second)
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+
+    verify(entityManager).detach(first);
+    verify(entityManager).detach(second);
+    assertTrue(closed.get());
+    verify(transactionManager).commit(transaction);
+  }
+
+  @Test
+  void streamItems_cancelled_closesCursorWithoutReadingTheRest() {
+    AtomicInteger read = new AtomicInteger();
+    AtomicBoolean closed = new AtomicBoolean();
+    when(transactionManager.getTransaction(any())).thenReturn(transaction);
+    when(itemRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.iterate(1, id -> id + 1)
+        .map(id -> item(read.incrementAndGet(), "I" + id))
+        .onClose(() -> closed.set(true)));
+    CatalogStreamer streamer = new CatalogStreamer(itemRepository, entityManager, transactionManager);
+
+    StepVerifier.create(streamer.streamItems(ItemFields.ALL), 3)
+        .expectNextCount(3)
+        .thenCancel()
+        .verify(Duration.ofSeconds(5));
+
+    verify(transactionManager, timeout(5000)).commit(transaction);
+    assertTrue(closed.get());
+    assertTrue(read.get() < 1000);
+  }
+
+  @Test
+  void streamItems_withoutDescription_readsSummaries() {
+    Item summary = item(1, "A");
+    when(transactionManager.getTransaction(any())).thenReturn(transaction);
+    when(itemRepository.streamAllSummaries()).thenReturn(Stream.of(summary));
+    CatalogStreamer streamer = new CatalogStreamer(itemRepository, entityManager, transactionManager);
+
+    StepVerifier.create(streamer.streamItems(ItemFields.parse("id,name")))
+        .expectNext(summary)
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+
+    verify(itemRepository, never()).streamAllByOrderByIdAsc();
+  }
+
+  @Test
+  void streamItems_cursorFailsToOpen_rollsBackTransaction() {
+    when(transactionManager.getTransaction(any())).thenReturn(transaction);
+    when(itemRepository.streamAllByOrderByIdAsc()).thenThrow(new IllegalStateException("boom"));
+    CatalogStreamer streamer = new CatalogStreamer(itemRepository, entityManager, transactionManager);
+
+    StepVerifier.create(streamer.streamItems(ItemFields.ALL))
+        .expectError(IllegalStateException.class)
+        .verify(Duration.ofSeconds(5));
+
+    verify(transactionManager).rollback(transaction);
+    verify(transactionManager, never()).commit(any());
+  }
+
+  private static Item item(int id, String name) {
+    Item item = new Item(name, 1, 1.0, name.toLowerCase());
+    ReflectionTestUtils.setField(item, "id", id);
+    return item;
+  }
+}
@@ -0,0 +1,278 @@
+package test.servicea.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import test.servicea.config.HotStockProperties;
+import test.servicea.domain.Item;
+import test.servicea.repository.ItemRepository;
+import test.servicea.service.impl.CatalogVersion;
+import test.servicea.service.impl.HotStockCounters;
+import test.servicea.service.impl.ItemCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HotStockCountersUnitTest {
+
+  @Mock
+  private ItemRepository itemRepository;
+
+  @Mock
+  private CatalogVersion catalogVersion;
+
+  private final ItemCache itemCache = new ItemCache(10);
+
+  /** Stock of the database row of the hot item, changed by the stubbed updates. */
+  private final AtomicInteger row = new AtomicInteger();
+
+  /** Lease recorded in the database row of the hot item, changed by the stubbed updates. */
+  private final AtomicInteger leased = new AtomicInteger();
+
+  private HotStockCounters counters;
+
+  @AfterEach
+  void tearDown() {
+    if (counters != null) {
+      counters.stop();
+    }
+  }
+
+  @Test
+  void reserve_concurrently_neverOversells() throws Exception {
+    start(5, 1000, 100);
+
+    int succeeded = 0;
+    try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+      List<Callable<Integer>> tasks = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        tasks.add(() -> {
+          int reserved = 0;
+          for (int i = 0; i < 500; i++) {
+            reserved += counters.reserve(5, 1) ? 1 : 0;
+          }
+          return reserved;
+        });
+      }
+      for (Future<Integer> result : executor.invokeAll(tasks)) {
+        succeeded += result.get();
+      }
+    }
+
+    assertEquals(1000, succeeded);
+    assertEquals(0, counters.getStock(5));
+    assertFalse(counters.reserve(5, 1));
+    verify(itemRepository, times(10)).leaseStock(5, 100);
+    counters.flush();
+    assertEquals(0, row.get());
+    assertEquals(0, leased.get());
+  }
+
+  @Test
+  void reserve_leasesOneBlockAtATime() {
+    start(5, 250, 100);
+
+    assertTrue(counters.reserve(5, 1));
+    assertEquals(100, leased.get());
+    assertTrue(counters.reserve(5, 99));
+    assertEquals(100, leased.get());
+    assertTrue(counters.reserve(5, 1));
+
+    assertEquals(200, leased.get());
+    assertEquals(250, row.get());
+    assertEquals(149, counters.getStock(5));
+    // Leasing does not change the stock of the item
+    verify(catalogVersion, never()).next();
+  }
+
+  @Test
+  void reserve_rowHoldingLessThanExpected_leasesWhatIsNeeded() {
+    start(5, 30, 100);
+    // Another writer took units out of the row behind the counters
+    row.set(5);
+
+    assertTrue(counters.reserve(5, 2));
+    assertFalse(counters.reserve(5, 4));
+
+    verify(itemRepository).leaseStock(5, 30);
+    verify(itemRepository).leaseStock(5, 2);
+    assertEquals(2, leased.get());
+  }
+
+  @Test
+  void reserve_moreThanAnyStripeHolds_poolsStripes() {
+    start(5, 10, 100);
+
+    assertTrue(counters.reserve(5, 9));
+    assertFalse(counters.reserve(5, 2));
+    assertTrue(counters.reserve(5, 1));
+    assertEquals(0, counters.getStock(5));
+  }
+
+  @Test
+  void start_afterCrashWithOpenLease_returnsLeaseBeforeServing() {
+    start(5, 1000, 100);
+    assertTrue(counters.reserve(5, 10));
+    counters.flush();
+    assertEquals(990, row.get());
+    assertEquals(90, leased.get());
+
+    // The process dies with its lease open; the next one returns it before leasing again
+    counters = null;
+    start(5, row.get(), 100);
+
+    verify(itemRepository, times(2)).returnAllLeases();
+    assertEquals(0, leased.get());
+    assertEquals(990, counters.getStock(5));
+    assertFalse(counters.reserve(5, 991));
+    assertTrue(counters.reserve(5, 990));
+  }
+
+  @Test
+  void flush_settlesSalesAndReturnsUnitsBeyondOneBlock() {
+    start(5, 500, 100);
+
+    counters.reserve(5, 1);
+    counters.release(5, 50);
+    counters.flush();
+    counters.flush();
+
+    verify(itemRepository).settleLease(eq(5), eq(-49), eq(49), anyLong());
+    assertEquals(549, row.get());
+    assertEquals(100, leased.get());
+    assertEquals(549, counters.getStock(5));
+  }
+
+  @Test
+  void flush_withoutSales_onlyReturnsLease() {
+    start(5, 500, 100);
+
+    counters.reserve(5, 1);
+    counters.flush();
+    counters.release(5, 150);
+    counters.reserve(5, 150);
+    counters.stop();
+    counters = null;
+
+    verify(itemRepository).returnLease(5, 99);
+    assertEquals(499, row.get());
+    assertEquals(0, leased.get());
+  }
+
+  @Test
+  void flush_failedWrite_isRetriedWithLaterChanges() {
+    start(5, 500, 100);
+    when(itemRepository.settleLease(anyInt(), anyInt(), anyInt(), anyLong()))
+        .thenThrow(new IllegalStateException("database down"))
+        .thenReturn(1);
+
+    counters.reserve(5, 1);
+    counters.release(5, 3);
+    counters.flush();
+    counters.release(5, 1);
+    counters.flush();
+
+    verify(itemRepository).settleLease(eq(5), eq(-2), eq(2), anyLong());
+    verify(itemRepository).settleLease(eq(5), eq(-3), eq(3), anyLong());
+    assertEquals(503, counters.getStock(5));
+  }
+
+  @Test
+  void stop_settlesSalesAndReturnsEveryLeasedUnit() {
+    start(5, 1000, 100);
+    counters.reserve(5, 1);
+
+    counters.stop();
+    counters = null;
+
+    assertEquals(999, row.get());
+    assertEquals(0, leased.get());
+  }
+
+  @Test
+  void replace_returnsLease() {
+    start(5, 10, 100);
+    counters.reserve(5, 4);
+    List<String> writes = new ArrayList<>();
+
+    counters.replace(5, 20, () -> {
+      writes.add("saved");
+      row.set(20);
+    });
+    counters.flush();
+
+    assertEquals(List.of("saved"), writes);
+    assertEquals(20, counters.getStock(5));
+    assertEquals(0, leased.get());
+    verify(itemRepository, never()).settleLease(anyInt(), anyInt(), anyInt(), anyLong());
+  }
+
+  @Test
+  void start_unknownItem_isNotHot() {
+    HotStockProperties properties = new HotStockProperties();
+    properties.setItemIds(Set.of(6));
+    when(itemRepository.findById(6)).thenReturn(Optional.empty());
+    counters = new HotStockCounters(itemRepository, catalogVersion, itemCache, properties);
+
+    counters.start();
+
+    assertFalse(counters.isHot(6));
+  }
+
+  /**
+   * Starts counters for a single hot item whose row holds the given stock, flushed only when the test asks for
+   * it. The updates of the repository change the stubbed row and its lease.
+   */
+  private void start(int id, int stock, int leaseSize) {
+    row.set(stock);
+    Item item = new Item("Hot", stock, 1.0, "hot");
+    ReflectionTestUtils.setField(item, "id", id);
+    lenient().when(itemRepository.findById(id)).thenReturn(Optional.of(item));
+    lenient().when(itemRepository.returnAllLeases()).thenAnswer(invocation -> leased.getAndSet(0) != 0 ? 1 : 0);
+    lenient().when(itemRepository.leaseStock(eq(id), anyInt())).thenAnswer(invocation -> {
+      int quantity = invocation.getArgument(1);
+      synchronized (row) {
+        if (row.get() - leased.get() < quantity) {
+          return 0;
+        }
+        leased.addAndGet(quantity);
+        return 1;
+      }
+    });
+    lenient().when(itemRepository.returnLease(eq(id), anyInt())).thenAnswer(invocation -> {
+      leased.addAndGet(-invocation.<Integer>getArgument(1));
+      return 1;
+    });
+    lenient().when(itemRepository.settleLease(eq(id), anyInt(), anyInt(), anyLong())).thenAnswer(invocation -> {
+      int sold = invocation.getArgument(1);
+      row.addAndGet(-sold);
+      leased.addAndGet(-sold - invocation.<Integer>getArgument(2));
+      return 1;
+    });
+    HotStockProperties properties = new HotStockProperties();
+    properties.setItemIds(Set.of(id));
+    properties.setLeaseSize(leaseSize);
+    properties.setFlushInterval(Duration.ofHours(1));
+    counters = new HotStockCounters(itemRepository, catalogVersion, itemCache, properties);
+    counters.start();
+    assertTrue(counters.isHot(id));
+  }
+}
@@ -0,0 +1,127 @@
+package test.servicea.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import test.servicea.domain.Item;
+import test.servicea.service.impl.ItemCache;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemCacheUnitTest {
+
+  @Test
+  void get_missLoadsOnceAndHitIsServedFromMemory() {
+    ItemCache cache = new ItemCache(10);
+    AtomicInteger loads = new AtomicInteger();
+    Item item = item(1, "A", null);
+
+    assertSame(item, cache.get(1, id -> { loads.incrementAndGet(); return item; }));
+    assertSame(item, cache.get(1, id -> { loads.incrementAndGet(); return item; }));
+
+    assertEquals(1, loads.get());
+    assertEquals(new ItemCache.Stats(1, 10, 1, 1, 0), cache.getStats());
+  }
+
+  @Test
+  void get_missingItemIsNotCached() {
+    ItemCache cache = new ItemCache(10);
+
+    assertNull(cache.get(1, id -> null));
+    assertNull(cache.get(1, id -> null));
+
+    assertEquals(new ItemCache.Stats(0, 10, 0, 2, 0), cache.getStats());
+  }
+
+  @Test
+  void put_beyondMaxSize_evictsLeastRecentlyUsed() {
+    ItemCache cache = new ItemCache(2);
+    cache.put(item(1, "A", null));
+    cache.put(item(2, "B", null));
+    cache.get(1, id -> fail("item 1 should be cached"));
+
+    cache.put(item(3, "C", null));
+
+    assertEquals("A", cache.get(1, id -> null).getName());
+    assertNull(cache.get(2, id -> null));
+    assertEquals(1, cache.getStats().evictions());
+  }
+
+  @Test
+  void put_olderVersion_doesNotReplaceNewerOne() {
+    ItemCache cache = new ItemCache(10);
+    cache.put(item(1, "New", 5L));
+
+    cache.put(item(1, "Old", 4L));
+
+    assertEquals("New", cache.get(1, id -> null).getName());
+  }
+
+  @Test
+  void get_invalidatedWhileLoading_doesNotCacheLoadedItem() {
+    ItemCache cache = new ItemCache(10);
+
+    Item stale = cache.get(1, id -> {
+      cache.invalidate(1);
+      return item(1, "Stale", null);
+    });
+
+    assertEquals("Stale", stale.getName());
+    assertEquals("Fresh", cache.get(1, id -> item(1, "Fresh", null)).getName());
+  }
+
+  @Test
+  void get_concurrentMisses_loadItemOnce() throws Exception {
+    ItemCache cache = new ItemCache(10);
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    IntFunction<Item> loader = id -> {
+      loads.incrementAndGet();
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return item(id, "A", null);
+    };
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<Item> first = executor.submit(() -> cache.get(1, loader));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      Future<Item> second = executor.submit(() -> cache.get(1, loader));
+      Thread.sleep(100);
+      release.countDown();
+
+      assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void zeroMaxSize_disablesCaching() {
+    ItemCache cache = new ItemCache(0);
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get(1, id -> { loads.incrementAndGet(); return item(1, "A", null); });
+    cache.get(1, id -> { loads.incrementAndGet(); return item(1, "A", null); });
+
+    assertEquals(2, loads.get());
+    assertEquals(0, cache.getStats().size());
+  }
+
+  private static Item item(int id, String name, Long changeSeq) {
+    Item item = new Item(name, 1, 1.0, name.toLowerCase());
+    ReflectionTestUtils.setField(item, "id", id);
+    item.setChangeSeq(changeSeq);
+    return item;
+  }
+}
@@ -0,0 +1,111 @@
+package test.servicea.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.Exceptions;
+import reactor.test.StepVerifier;
+import test.servicea.config.ItemFeedProperties;
+import test.servicea.domain.Item;
+import test.servicea.repository.ItemRepository;
+import test.servicea.service.impl.CatalogVersion;
+import test.servicea.service.impl.ItemChangeFeed;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemChangeFeedUnitTest {
+
+  @Mock
+  private ItemRepository itemRepository;
+
+  private CatalogVersion catalogVersion;
+
+  private ItemChangeFeed feed;
+
+  @AfterEach
+  void tearDown() {
+    feed.stop();
+  }
+
+  @Test
+  void stream_publishesCompletedWrites() {
+    start(0, 16);
+    when(itemRepository.findByChangeSeqBetweenOrderByChangeSeq(1, 1)).thenReturn(List.of(item(7, 1)));
+
+    StepVerifier.create(feed.stream(null))
+        .then(this::write)
+        .assertNext(event -> {
+          assertEquals("1", event.id());
+          assertEquals("item", event.event());
+          assertEquals(7, event.data().getId());
+        })
+        .thenCancel()
+        .verify(Duration.ofSeconds(5));
+  }
+
+  @Test
+  void stream_withLastEventId_replaysMissedChangesThenLiveOnes() {
+    start(3, 16);
+    when(itemRepository.findByChangeSeqBetweenOrderByChangeSeq(2, 3)).thenReturn(List.of(item(1, 2), item(2, 3)));
+    when(itemRepository.findByChangeSeqBetweenOrderByChangeSeq(4, 4)).thenReturn(List.of(item(1, 4)));
+
+    StepVerifier.create(feed.stream(1L))
+        .assertNext(event -> assertEquals("2", event.id()))
+        .assertNext(event -> assertEquals("3", event.id()))
+        .then(this::write)
+        .assertNext(event -> assertEquals("4", event.id()))
+        .thenCancel()
+        .verify(Duration.ofSeconds(5));
+  }
+
+  @Test
+  void stream_slowSubscriber_isDisconnected() {
+    start(0, 2);
+    when(itemRepository.findByChangeSeqBetweenOrderByChangeSeq(anyLong(), anyLong())).thenAnswer(invocation ->
+        LongStream.rangeClosed(invocation.getArgument(0), invocation.getArgument(1))
+            .mapToObj(seq -> item((int) seq, seq))
+            .toList());
+
+    StepVerifier.create(feed.stream(null), 0)
+        .then(() -> {
+          for (int i = 0; i < 100; i++) {
+            write();
+          }
+          verify(itemRepository, timeout(5000)).findByChangeSeqBetweenOrderByChangeSeq(anyLong(), eq(100L));
+        })
+        .expectNoEvent(Duration.ofMillis(200))
+        // The subscriber was cut off from the feed: it receives its backlog, then the overflow error
+        .thenRequest(Long.MAX_VALUE)
+        .thenConsumeWhile(event -> Long.parseLong(event.id()) < 100)
+        .expectErrorMatches(Exceptions::isOverflow)
+        .verify(Duration.ofSeconds(5));
+  }
+
+  private void start(long version, int bufferSize) {
+    when(itemRepository.findMaxChangeSeq()).thenReturn(version);
+    catalogVersion = new CatalogVersion(itemRepository);
+    ItemFeedProperties properties = new ItemFeedProperties();
+    properties.setBufferSize(bufferSize);
+    properties.setHeartbeat(Duration.ofHours(1));
+    feed = new ItemChangeFeed(itemRepository, catalogVersion, properties);
+    feed.start();
+  }
+
+  private void write() {
+    catalogVersion.complete(catalogVersion.next());
+  }
+
+  private static Item item(int id, long changeSeq) {
+    return new Item(id, "Item " + id, 1, 1.0, "d", changeSeq);
+  }
+}
@@ -0,0 +1,105 @@
+package test.servicea.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import test.servicea.domain.Item;
+import test.servicea.repository.ItemRepository;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares loading the whole catalog as managed entities with the constructor-expression read path.
+ * Run with {@code mvn test -Dtest=ItemReadPathBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+    properties = "spring.datasource.url=jdbc:h2:mem:benchmark-service-A")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ItemReadPathBenchmarkTest {
+
+  private static final int ROWS = 100_000;
+  private static final int WARMUP = 5;
+  private static final int RUNS = 10;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @BeforeEach
+  void insertCatalog() {
+    List<Object[]> rows = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      rows.add(new Object[] { "Item " + i, i % 100, i / 10.0, "Description of item " + i });
+    }
+    jdbcTemplate.batchUpdate("insert into item (id, name, stock, price, description)"
+        + " values (next value for item_seq, ?, ?, ?, ?)", rows);
+  }
+
+  @AfterEach
+  void deleteCatalog() {
+    jdbcTemplate.update("delete from item");
+  }
+
+  @Test
+  void projectionReadPath_allocatesLessThanEntityReadPath() {
+    TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+    Supplier<List<Item>> entities = () -> readOnly.execute(status ->
+        entityManager.createQuery("select i from Item i", Item.class).getResultList());
+    Supplier<List<Item>> projections = () -> itemRepository.findAllForRead();
+
+    long[] entityPath = measure(entities);
+    long[] projectionPath = measure(projections);
+
+    System.out.printf("Entity path:     %,d bytes, %,d us per load of %,d items%n",
+        entityPath[0], entityPath[1] / 1000, ROWS);
+    System.out.printf("Projection path: %,d bytes, %,d us per load of %,d items%n",
+        projectionPath[0], projectionPath[1] / 1000, ROWS);
+    assertTrue(projectionPath[0] < entityPath[0]);
+  }
+
+  /**
+   * Runs a read path after warming it up and returns the median allocated bytes and nanoseconds per run.
+   */
+  private static long[] measure(Supplier<List<Item>> readPath) {
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    for (int i = 0; i < WARMUP; i++) {
+      assertEquals(ROWS, readPath.get().size());
+    }
+    long[] bytes = new long[RUNS];
+    long[] nanos = new long[RUNS];
+    for (int i = 0; i < RUNS; i++) {
+      long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+      long start = System.nanoTime();
+      assertEquals(ROWS, readPath.get().size());
+      nanos[i] = System.nanoTime() - start;
+      bytes[i] = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+    }
+    Arrays.sort(bytes);
+    Arrays.sort(nanos);
+    return new long[] { bytes[RUNS / 2], nanos[RUNS / 2] };
+  }
+}
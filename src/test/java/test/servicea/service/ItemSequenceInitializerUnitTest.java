@@ -0,0 +1,71 @@
+package test.servicea.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import test.servicea.service.impl.ItemSequenceInitializer;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemSequenceInitializerUnitTest {
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private PlatformTransactionManager txManager;
+
+  @Mock
+  private Connection connection;
+
+  @Mock
+  private Statement statement;
+
+  @Mock
+  private ResultSet result;
+
+  @Test
+  void align_onPostgres_locksThenMovesSequencePastHighestId() throws Exception {
+    runCallbacksOn(true);
+    when(connection.createStatement()).thenReturn(statement);
+    when(statement.executeQuery(any())).thenReturn(result);
+    when(result.next()).thenReturn(true);
+    when(result.getLong(1)).thenReturn(1050L);
+
+    new ItemSequenceInitializer(jdbcTemplate, txManager).align();
+
+    var order = inOrder(statement);
+    order.verify(statement).execute(contains("pg_advisory_xact_lock"));
+    order.verify(statement).executeQuery(contains("setval('item_seq', max(id) + 50)"));
+    verify(result).close();
+    verify(statement).close();
+    verify(txManager).commit(any());
+  }
+
+  @Test
+  void align_onOtherDatabases_leavesSequenceAlone() throws Exception {
+    runCallbacksOn(false);
+
+    new ItemSequenceInitializer(jdbcTemplate, txManager).align();
+
+    verify(connection, never()).createStatement();
+  }
+
+  private void runCallbacksOn(boolean postgres) throws Exception {
+    when(connection.isWrapperFor(PGConnection.class)).thenReturn(postgres);
+    when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+        .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+  }
+}
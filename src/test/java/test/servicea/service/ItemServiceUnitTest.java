@@ -2,14 +2,23 @@ package test.servicea.service;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ResponseStatusException;
 import test.servicea.domain.Item;
 import test.servicea.domain.dto.ItemDto;
+import test.servicea.domain.dto.ItemPage;
 import test.servicea.repository.ItemRepository;
+import test.servicea.service.impl.CatalogVersion;
+import test.servicea.service.impl.HotStockCounters;
+import test.servicea.service.impl.ItemCache;
 import test.servicea.service.impl.ItemServiceImpl;
 
 import java.util.List;
@@ -17,6 +26,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,9 +38,21 @@ public class ItemServiceUnitTest {
   @InjectMocks
   private ItemServiceImpl itemService;
 
-  @Mock
+  @Mock(answer = Answers.RETURNS_SELF)
   private RestTemplateBuilder restTemplateBuilder;
 
+  @Mock
+  private WebClient.Builder webClientBuilder;
+
+  @Mock
+  private CatalogVersion catalogVersion;
+
+  @Spy
+  private ItemCache itemCache = new ItemCache(100);
+
+  @Mock
+  private HotStockCounters hotStock;
+
   @Test
   void createItem_callsSaveAndReturnsItem() {
     ItemDto dto = new ItemDto("Name", 2, 15.5, "desc");
@@ -46,22 +68,119 @@ public class ItemServiceUnitTest {
     verify(itemRepository, times(1)).save(any(Item.class));
   }
 
+  @Test
+  void createItems_savesAllItemsInOneCallWithTheirChangeSeqs() {
+    when(catalogVersion.next()).thenReturn(1L, 2L);
+
+    List<Item> items = itemService.createItems(List.of(
+        new ItemDto("A", 1, 1.0, "a"), new ItemDto("B", 2, 2.0, "b")));
+
+    assertEquals(List.of("Inventory-A: A", "Inventory-A: B"), items.stream().map(Item::getName).toList());
+    assertEquals(List.of(1L, 2L), items.stream().map(Item::getChangeSeq).toList());
+    verify(itemRepository, times(1)).saveAll(items);
+    verify(catalogVersion).complete(1L);
+    verify(catalogVersion).complete(2L);
+  }
+
+  @Test
+  void reserveStock_updated_invalidatesCachedItem() {
+    when(catalogVersion.next()).thenReturn(3L);
+    when(itemRepository.reserveStock(5, 2, 3L)).thenReturn(1);
+
+    itemService.reserveStock(5, 2);
+
+    verify(itemCache).invalidate(5);
+    verify(catalogVersion).complete(3L);
+    verify(itemRepository, never()).existsById(anyInt());
+  }
+
+  @Test
+  void reserveStock_insufficientStock_throwsConflict() {
+    when(catalogVersion.next()).thenReturn(3L);
+    when(itemRepository.reserveStock(5, 2, 3L)).thenReturn(0);
+    when(itemRepository.existsById(5)).thenReturn(true);
+
+    ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> itemService.reserveStock(5, 2));
+
+    assertEquals(409, e.getStatusCode().value());
+    verify(catalogVersion).complete(3L);
+  }
+
+  @Test
+  void reserveStock_unknownItem_throwsNotFound() {
+    when(catalogVersion.next()).thenReturn(3L);
+    when(itemRepository.reserveStock(5, 2, 3L)).thenReturn(0);
+    when(itemRepository.existsById(5)).thenReturn(false);
+
+    ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> itemService.reserveStock(5, 2));
+
+    assertEquals(404, e.getStatusCode().value());
+  }
+
+  @Test
+  void updateItemById_staleVersion_throwsPreconditionFailed() {
+    Item existing = new Item("Inventory-A: Old", 1, 1.0, "d");
+    when(itemRepository.findById(3)).thenReturn(Optional.of(existing));
+
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> itemService.updateItemById(3, new ItemDto("New", 2, 2.0, "d"), 4L));
+
+    assertEquals(412, e.getStatusCode().value());
+    verify(itemRepository, never()).save(any(Item.class));
+  }
+
+  @Test
+  void updateItemById_identicalValues_skipsWrite() {
+    Item existing = new Item("Inventory-A: Same", 1, 1.0, "d");
+    when(itemRepository.findById(3)).thenReturn(Optional.of(existing));
+
+    Item result = itemService.updateItemById(3, new ItemDto("Same", 1, 1.0, "d"), 0L);
+
+    assertSame(existing, result);
+    verify(itemRepository, never()).save(any(Item.class));
+    verify(catalogVersion, never()).next();
+  }
+
+  @Test
+  void reserveStock_hotItem_reservesInMemory() {
+    when(hotStock.isHot(7)).thenReturn(true);
+    when(hotStock.reserve(7, 2)).thenReturn(true, false);
+
+    itemService.reserveStock(7, 2);
+    ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> itemService.reserveStock(7, 2));
+
+    assertEquals(409, e.getStatusCode().value());
+    verify(itemRepository, never()).reserveStock(anyInt(), anyInt(), anyLong());
+    verify(catalogVersion, never()).next();
+  }
+
+  @Test
+  void releaseStock_unknownItem_throwsNotFound() {
+    when(catalogVersion.next()).thenReturn(4L);
+    when(itemRepository.releaseStock(6, 1, 4L)).thenReturn(0);
+
+    ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> itemService.releaseStock(6, 1));
+
+    assertEquals(404, e.getStatusCode().value());
+    verify(itemCache).invalidate(6);
+  }
+
   @Test
   void getAllItems_returnsList() {
     Item p1 = new Item("A", 1, 10.0, "a");
     Item p2 = new Item("B", 2, 20.0, "b");
-    when(itemRepository.findAll()).thenReturn(List.of(p1, p2));
+    when(itemRepository.findAllForRead()).thenReturn(List.of(p1, p2));
 
     List<Item> all = itemService.getAllItems(false);
 
     assertNotNull(all);
     assertEquals(2, all.size());
-    verify(itemRepository, times(1)).findAll();
+    verify(itemRepository, times(1)).findAllForRead();
   }
 
   @Test
   void getAllItems_empty_returnsEmptyList() {
-    when(itemRepository.findAll()).thenReturn(List.of());
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
 
     List<Item> all = itemService.getAllItems(false);
 
@@ -69,6 +188,40 @@ public class ItemServiceUnitTest {
     assertTrue(all.isEmpty());
   }
 
+  @Test
+  void getItemPage_moreItems_returnsLimitAndCursorOfLastItem() {
+    Item p1 = new Item("A", 1, 10.0, "a");
+    Item p2 = new Item("B", 2, 20.0, "b");
+    Item p3 = new Item("C", 3, 30.0, "c");
+    ReflectionTestUtils.setField(p1, "id", 4);
+    ReflectionTestUtils.setField(p2, "id", 7);
+    ReflectionTestUtils.setField(p3, "id", 9);
+    when(itemRepository.findByIdGreaterThanOrderByIdAsc(3, Limit.of(3))).thenReturn(List.of(p1, p2, p3));
+
+    ItemPage page = itemService.getItemPage(false, 2, "3");
+
+    assertEquals(List.of(p1, p2), page.getItems());
+    assertEquals("7", page.getNext());
+  }
+
+  @Test
+  void getItemPage_lastPage_hasNoCursor() {
+    Item p1 = new Item("A", 1, 10.0, "a");
+    when(itemRepository.findByIdGreaterThanOrderByIdAsc(0, Limit.of(3))).thenReturn(List.of(p1));
+
+    ItemPage page = itemService.getItemPage(false, 2, null);
+
+    assertEquals(List.of(p1), page.getItems());
+    assertNull(page.getNext());
+  }
+
+  @Test
+  void getItemPage_invalidLimitOrCursor_throwsBadRequest() {
+    assertThrows(ResponseStatusException.class, () -> itemService.getItemPage(false, 0, null));
+    assertThrows(ResponseStatusException.class, () -> itemService.getItemPage(false, 10, "abc"));
+    verifyNoInteractions(itemRepository);
+  }
+
   @Test
   void getItemById_found_returnsItem() {
     Item p = new Item("Found", 1, 5.0, "f");
@@ -81,6 +234,52 @@ public class ItemServiceUnitTest {
     verify(itemRepository, times(1)).findById(1);
   }
 
+  @Test
+  void getItemById_repeated_isServedFromCache() {
+    Item p = new Item("Hot", 1, 5.0, "h");
+    ReflectionTestUtils.setField(p, "id", 1);
+    when(itemRepository.findById(1)).thenReturn(Optional.of(p));
+
+    assertSame(p, itemService.getItemById(1));
+    assertSame(p, itemService.getItemById(1));
+    assertSame(p, itemService.getItemByIdAndName(1, "Hot"));
+    assertNull(itemService.getItemByIdAndName(1, "Cold"));
+
+    verify(itemRepository, times(1)).findById(1);
+    assertEquals(3, itemCache.getStats().hits());
+    assertEquals(1, itemCache.getStats().misses());
+  }
+
+  @Test
+  void updateItemById_replacesCachedItem() {
+    Item cached = new Item("Service-A: Old", 1, 10.0, "old");
+    Item loaded = new Item("Service-A: Old", 1, 10.0, "old");
+    ReflectionTestUtils.setField(cached, "id", 10);
+    ReflectionTestUtils.setField(loaded, "id", 10);
+    when(itemRepository.findById(10)).thenReturn(Optional.of(cached), Optional.of(loaded));
+    when(catalogVersion.next()).thenReturn(1L);
+    itemService.getItemById(10);
+
+    Item updated = itemService.updateItemById(10, new ItemDto("Service-A: New", 3, 30.0, "new"));
+
+    assertSame(updated, itemService.getItemById(10));
+    assertEquals("Service-A: Old", cached.getName());
+    verify(itemRepository, times(2)).findById(10);
+  }
+
+  @Test
+  void getItemById_hotItem_reportsStockOfRow() {
+    Item stored = new Item(7, "Hot", 140, 1.0, "d");
+    when(itemRepository.findById(7)).thenReturn(Optional.of(stored));
+
+    Item result = itemService.getItemById(7);
+
+    // The row counts the leased units, so every read path reports the same stock
+    assertSame(stored, result);
+    assertEquals(140, result.getStock());
+    verifyNoInteractions(hotStock);
+  }
+
   @Test
   void getItemById_notFound_returnsNull() {
     when(itemRepository.findById(999)).thenReturn(Optional.empty());
@@ -164,9 +363,9 @@ public class ItemServiceUnitTest {
 
   @Test
   void getAllItems_repositoryThrows_runtimePropagates() {
-    when(itemRepository.findAll()).thenThrow(new RuntimeException("db error"));
+    when(itemRepository.findAllForRead()).thenThrow(new RuntimeException("db error"));
     assertThrows(RuntimeException.class, () -> itemService.getAllItems(false));
-    verify(itemRepository).findAll();
+    verify(itemRepository).findAllForRead();
   }
 
   @Test
@@ -183,7 +382,7 @@ public class ItemServiceUnitTest {
     int id = 42;
     String name = "Gadget";
     Item found = new Item(name, 7, 77.7, "desc");
-    when(itemRepository.findItemByIdAndName(id, name)).thenReturn(found);
+    when(itemRepository.findById(id)).thenReturn(Optional.of(found));
 
     Item result = itemService.getItemByIdAndName(id, name);
 
@@ -191,78 +390,78 @@ public class ItemServiceUnitTest {
     assertEquals(name, result.getName());
     assertEquals(7, result.getStock());
     assertEquals(77.7, result.getPrice());
-    verify(itemRepository, times(1)).findItemByIdAndName(id, name);
+    verify(itemRepository, times(1)).findById(id);
   }
 
   @Test
   void getItemByIdAndName_notFound_returnsNull() {
     int id = 9999;
     String name = "Missing";
-    when(itemRepository.findItemByIdAndName(id, name)).thenReturn(null);
+    when(itemRepository.findById(id)).thenReturn(Optional.empty());
 
     Item result = itemService.getItemByIdAndName(id, name);
 
     assertNull(result);
-    verify(itemRepository, times(1)).findItemByIdAndName(id, name);
+    verify(itemRepository, times(1)).findById(id);
   }
 
   @Test
   void getItemByIdAndName_nullName_returnsNullAndPassesNull() {
     int id = 1;
-    when(itemRepository.findItemByIdAndName(id, null)).thenReturn(null);
+    when(itemRepository.findById(id)).thenReturn(Optional.empty());
 
     Item result = itemService.getItemByIdAndName(id, null);
 
     assertNull(result);
-    verify(itemRepository, times(1)).findItemByIdAndName(id, null);
+    verify(itemRepository, times(1)).findById(id);
   }
 
   @Test
   void getItemByIdAndName_emptyName_returnsNull() {
     int id = 2;
     String name = "";
-    when(itemRepository.findItemByIdAndName(id, name)).thenReturn(null);
+    when(itemRepository.findById(id)).thenReturn(Optional.empty());
 
     Item result = itemService.getItemByIdAndName(id, name);
 
     assertNull(result);
-    verify(itemRepository, times(1)).findItemByIdAndName(id, name);
+    verify(itemRepository, times(1)).findById(id);
   }
 
   @Test
   void getItemByIdAndName_whitespaceName_returnsNull() {
     int id = 3;
     String name = "  ";
-    when(itemRepository.findItemByIdAndName(id, name)).thenReturn(null);
+    when(itemRepository.findById(id)).thenReturn(Optional.empty());
 
     Item result = itemService.getItemByIdAndName(id, name);
 
     assertNull(result);
-    verify(itemRepository, times(1)).findItemByIdAndName(id, name);
+    verify(itemRepository, times(1)).findById(id);
   }
 
   @Test
   void getItemByIdAndName_negativeId_returnsNull() {
     int id = -1;
     String name = "Something";
-    when(itemRepository.findItemByIdAndName(id, name)).thenReturn(null);
+    when(itemRepository.findById(id)).thenReturn(Optional.empty());
 
     Item result = itemService.getItemByIdAndName(id, name);
 
     assertNull(result);
-    verify(itemRepository, times(1)).findItemByIdAndName(id, name);
+    verify(itemRepository, times(1)).findById(id);
   }
 
   @Test
   void getItemByIdAndName_zeroId_returnsNull() {
     int id = 0;
     String name = "Zero";
-    when(itemRepository.findItemByIdAndName(id, name)).thenReturn(null);
+    when(itemRepository.findById(id)).thenReturn(Optional.empty());
 
     Item result = itemService.getItemByIdAndName(id, name);
 
     assertNull(result);
-    verify(itemRepository, times(1)).findItemByIdAndName(id, name);
+    verify(itemRepository, times(1)).findById(id);
   }
 
   @Test
@@ -270,13 +469,13 @@ public class ItemServiceUnitTest {
     int id = 5;
     String longName = "L".repeat(1500);
     Item found = new Item(longName, 1, 1.0, "long");
-    when(itemRepository.findItemByIdAndName(id, longName)).thenReturn(found);
+    when(itemRepository.findById(id)).thenReturn(Optional.of(found));
 
     Item result = itemService.getItemByIdAndName(id, longName);
 
     assertNotNull(result);
     assertEquals(longName, result.getName());
-    verify(itemRepository, times(1)).findItemByIdAndName(id, longName);
+    verify(itemRepository, times(1)).findById(id);
   }
 
   @Test
@@ -284,7 +483,7 @@ public class ItemServiceUnitTest {
     int id = 6;
     String special = "Gädget-β_测试!@#%&()[]{}<>\\/:?*|^~";
     Item found = new Item(special, 9, 9.99, "special");
-    when(itemRepository.findItemByIdAndName(id, special)).thenReturn(found);
+    when(itemRepository.findById(id)).thenReturn(Optional.of(found));
 
     Item result = itemService.getItemByIdAndName(id, special);
 
@@ -292,29 +491,29 @@ public class ItemServiceUnitTest {
     assertEquals(special, result.getName());
     assertEquals(9, result.getStock());
     assertEquals(9.99, result.getPrice());
-    verify(itemRepository, times(1)).findItemByIdAndName(id, special);
+    verify(itemRepository, times(1)).findById(id);
   }
 
   @Test
   void getItemByIdAndName_repositoryThrows_exceptionPropagates() {
     int id = 7;
     String name = "Boom";
-    when(itemRepository.findItemByIdAndName(id, name)).thenThrow(new RuntimeException("db down"));
+    when(itemRepository.findById(id)).thenThrow(new RuntimeException("db down"));
 
     assertThrows(RuntimeException.class, () -> itemService.getItemByIdAndName(id, name));
-    verify(itemRepository, times(1)).findItemByIdAndName(id, name);
+    verify(itemRepository, times(1)).findById(id);
   }
 
   @Test
   void getItemByIdAndName_caseSensitivity_passThrough() {
     int id = 8;
     String lower = "gadget";
-    when(itemRepository.findItemByIdAndName(id, lower)).thenReturn(null);
+    when(itemRepository.findById(id)).thenReturn(Optional.of(new Item("Gadget", 1, 1.0, "g")));
 
     Item result = itemService.getItemByIdAndName(id, lower);
 
     assertNull(result);
-    verify(itemRepository, times(1)).findItemByIdAndName(id, lower);
+    verify(itemRepository, times(1)).findById(id);
   }
 
   @Test
@@ -0,0 +1,42 @@
+package test.servicea.service;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import test.servicea.domain.dto.ItemDto;
+import test.servicea.service.impl.ItemValidator;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemValidatorUnitTest {
+
+  private final ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+  private final ItemValidator validator = new ItemValidator(factory.getValidator());
+
+  @AfterEach
+  void tearDown() {
+    factory.close();
+  }
+
+  @Test
+  void validItem_hasNoMessages() {
+    assertTrue(validator.validate(new ItemDto("Name", 1, 1.0, "description")).isEmpty());
+  }
+
+  @Test
+  void invalidItem_reportsEveryFieldInOrder() {
+    Map<String, String> messages = validator.validate(new ItemDto(" ", -1, -1.0, null));
+
+    assertEquals(List.of("description", "name", "price", "stock"), List.copyOf(messages.keySet()));
+    assertEquals("Stock cannot be negative.", messages.get("stock"));
+  }
+
+  @Test
+  void nullItem_isRejected() {
+    assertEquals(Map.of("item", "Item cannot be null"), validator.validate(null));
+  }
+}
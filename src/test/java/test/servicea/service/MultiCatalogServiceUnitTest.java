@@ -1,21 +1,55 @@
 package test.servicea.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import test.servicea.config.HotStockProperties;
+import test.servicea.config.PeerClientProperties;
 import test.servicea.domain.Item;
+import test.servicea.domain.dto.CatalogFreshness;
 import test.servicea.domain.dto.ExternalInventory;
+import test.servicea.domain.dto.ItemChanges;
+import test.servicea.domain.dto.ItemFields;
+import test.servicea.domain.dto.ItemPage;
 import test.servicea.repository.ItemRepository;
 import test.servicea.service.converter.ConversionProperties;
+import test.servicea.service.impl.CatalogStreamer;
+import test.servicea.service.impl.CatalogVersion;
+import test.servicea.service.impl.HotStockCounters;
+import test.servicea.service.impl.ItemCache;
 import test.servicea.service.impl.ItemServiceImpl;
+import test.servicea.service.impl.PeerCircuitBreakerRegistry;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,7 +66,7 @@ public class MultiCatalogServiceUnitTest {
   @Mock
   private ConversionProperties properties;
 
-  @Mock
+  @Mock(answer = Answers.RETURNS_SELF)
   private RestTemplateBuilder restTemplateBuilder;
 
   @Mock
@@ -42,7 +76,7 @@ public class MultiCatalogServiceUnitTest {
   void getAllItems_multiCatalog_true_aggregatesRepositoryAndExternal() {
     // Arrange repository items
     Item repoItem1 = new Item("RepoA", 5, 10.0, "rA");
-    when(itemRepository.findAll()).thenReturn(List.of(repoItem1));
+    when(itemRepository.findAllForRead()).thenReturn(List.of(repoItem1));
 
     // Arrange external inventories (two services)
     Map<String, ExternalInventory> externalMap = new LinkedHashMap<>();
@@ -58,7 +92,7 @@ public class MultiCatalogServiceUnitTest {
     when(restTemplate.getForObject(eq("http://c.example/api/items"), eq(Item[].class))).thenReturn(cItems);
 
     // Build service after stubbing builder
-    ItemServiceImpl service = new ItemServiceImpl(itemRepository, properties, restTemplateBuilder);
+    ItemServiceImpl service = newService();
 
     // Act
     List<Item> all = service.getAllItems(true);
@@ -67,7 +101,7 @@ public class MultiCatalogServiceUnitTest {
     assertNotNull(all);
     // 1 from repo + 2 from B + 1 from C = 4
     assertEquals(4, all.size());
-    verify(itemRepository, times(1)).findAll();
+    verify(itemRepository, times(1)).findAllForRead();
     verify(restTemplate, times(1)).getForObject("http://b.example/api/items", Item[].class);
     verify(restTemplate, times(1)).getForObject("http://c.example/api/items", Item[].class);
   }
@@ -77,13 +111,13 @@ public class MultiCatalogServiceUnitTest {
     // Repo has items
     Item r1 = new Item("R1", 1, 1.0, "r1");
     Item r2 = new Item("R2", 2, 2.0, "r2");
-    when(itemRepository.findAll()).thenReturn(List.of(r1, r2));
+    when(itemRepository.findAllForRead()).thenReturn(List.of(r1, r2));
 
     // External inventory map is empty
     when(properties.getExternalInventory()).thenReturn(new LinkedHashMap<>());
 
     // Do not stub builder; even if RestTemplate is null, no external calls will be attempted
-    ItemServiceImpl service = new ItemServiceImpl(itemRepository, properties, restTemplateBuilder);
+    ItemServiceImpl service = newService();
 
     List<Item> all = service.getAllItems(true);
 
@@ -96,7 +130,7 @@ public class MultiCatalogServiceUnitTest {
   @Test
   void getAllItems_multiCatalog_true_externalReturnsEmptyArray_resultsRemainUnchanged() {
     // Repo empty
-    when(itemRepository.findAll()).thenReturn(List.of());
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
 
     // One external returning empty array
     Map<String, ExternalInventory> map = new LinkedHashMap<>();
@@ -107,7 +141,7 @@ public class MultiCatalogServiceUnitTest {
     when(restTemplate.getForObject(eq("http://empty.example/api/items"), eq(Item[].class)))
         .thenReturn(new Item[]{});
 
-    ItemServiceImpl service = new ItemServiceImpl(itemRepository, properties, restTemplateBuilder);
+    ItemServiceImpl service = newService();
 
     List<Item> all = service.getAllItems(true);
 
@@ -121,7 +155,7 @@ public class MultiCatalogServiceUnitTest {
     // Repo items
     Item r1 = new Item("X", 1, 1.0, "r1");
     Item r2 = new Item("Y", 2, 2.0, "r2");
-    when(itemRepository.findAll()).thenReturn(List.of(r1, r2));
+    when(itemRepository.findAllForRead()).thenReturn(List.of(r1, r2));
 
     // External inventories in deterministic order: S1 then S2
     Map<String, ExternalInventory> map = new LinkedHashMap<>();
@@ -136,7 +170,7 @@ public class MultiCatalogServiceUnitTest {
     when(restTemplate.getForObject(eq("http://s1/items"), eq(Item[].class))).thenReturn(s1);
     when(restTemplate.getForObject(eq("http://s2/items"), eq(Item[].class))).thenReturn(s2);
 
-    ItemServiceImpl service = new ItemServiceImpl(itemRepository, properties, restTemplateBuilder);
+    ItemServiceImpl service = newService();
 
     List<Item> all = service.getAllItems(true);
 
@@ -147,7 +181,7 @@ public class MultiCatalogServiceUnitTest {
 
   @Test
   void getAllItems_multiCatalog_true_nullUrlEntry_isCaught_andOtherServicesContinue() {
-    when(itemRepository.findAll()).thenReturn(List.of());
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
 
     Map<String, ExternalInventory> map = new LinkedHashMap<>();
     map.put("NULL", new ExternalInventory("NullUrl", null));
@@ -161,7 +195,7 @@ public class MultiCatalogServiceUnitTest {
     Item[] ok = new Item[]{ new Item("OK1", 1, 1.0, "d") };
     when(restTemplate.getForObject(eq("http://ok.example/items"), eq(Item[].class))).thenReturn(ok);
 
-    ItemServiceImpl service = new ItemServiceImpl(itemRepository, properties, restTemplateBuilder);
+    ItemServiceImpl service = newService();
 
     List<Item> all = service.getAllItems(true);
 
@@ -174,7 +208,7 @@ public class MultiCatalogServiceUnitTest {
   @Test
   void getAllItems_multiCatalog_true_handlesNullResponsesAndExceptions() {
     // Arrange repository items
-    when(itemRepository.findAll()).thenReturn(new ArrayList<>());
+    when(itemRepository.findAllForRead()).thenReturn(new ArrayList<>());
 
     // Two external services: one returns null, one throws exception, one returns items
     Map<String, ExternalInventory> externalMap = new LinkedHashMap<>();
@@ -190,7 +224,7 @@ public class MultiCatalogServiceUnitTest {
     Item[] okItems = new Item[] { new Item("OK1", 10, 9.9, "ok") };
     when(restTemplate.getForObject(eq("http://ok.example/api/items"), eq(Item[].class))).thenReturn(okItems);
 
-    ItemServiceImpl service = new ItemServiceImpl(itemRepository, properties, restTemplateBuilder);
+    ItemServiceImpl service = newService();
 
     // Act
     List<Item> all = service.getAllItems(true);
@@ -209,26 +243,26 @@ public class MultiCatalogServiceUnitTest {
     // Repo returns two items
     Item r1 = new Item("R1", 1, 1.0, "r1");
     Item r2 = new Item("R2", 2, 2.0, "r2");
-    when(itemRepository.findAll()).thenReturn(List.of(r1, r2));
+    when(itemRepository.findAllForRead()).thenReturn(List.of(r1, r2));
 
     // Even if external inventories are configured and RestTemplate exists,
     // with multiCatalog= false, we must not call external endpoints.
     // Do not stub external inventory or builder to avoid unnecessary stubbing warnings.
 
-    ItemServiceImpl service = new ItemServiceImpl(itemRepository, properties, restTemplateBuilder);
+    ItemServiceImpl service = newService();
 
     // Act
     List<Item> all = service.getAllItems(false);
 
     // Assert
     assertEquals(2, all.size());
-    verify(itemRepository, times(1)).findAll();
+    verify(itemRepository, times(1)).findAllForRead();
     verify(restTemplate, never()).getForObject(any(String.class), eq(Item[].class));
   }
 
   @Test
   void getAllItems_multiCatalog_true_repositoryEmpty_usesOnlyExternal() {
-    when(itemRepository.findAll()).thenReturn(List.of());
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
 
     Map<String, ExternalInventory> externalMap = new LinkedHashMap<>();
     externalMap.put("svcOne", new ExternalInventory("One", "http://one.example/api/items"));
@@ -238,15 +272,518 @@ public class MultiCatalogServiceUnitTest {
     Item[] oneItems = new Item[] { new Item("E1", 7, 7.7, "e1"), new Item("E2", 8, 8.8, "e2") };
     when(restTemplate.getForObject(eq("http://one.example/api/items"), eq(Item[].class))).thenReturn(oneItems);
 
-    ItemServiceImpl service = new ItemServiceImpl(itemRepository, properties, restTemplateBuilder);
+    ItemServiceImpl service = newService();
 
     List<Item> all = service.getAllItems(true);
 
     assertEquals(2, all.size());
     assertEquals("E1", all.getFirst().getName());
-    verify(itemRepository, times(1)).findAll();
+    verify(itemRepository, times(1)).findAllForRead();
     verify(restTemplate, times(1)).getForObject("http://one.example/api/items", Item[].class);
   }
-  
-  
+
+  @Test
+  void getAllItems_multiCatalog_true_callsExternalServicesConcurrently() {
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
+
+    Map<String, ExternalInventory> map = new LinkedHashMap<>();
+    map.put("S1", new ExternalInventory("S1", "http://s1/items"));
+    map.put("S2", new ExternalInventory("S2", "http://s2/items"));
+    when(properties.getExternalInventory()).thenReturn(map);
+
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    // Each external service needs 300ms; sequential calls would need at least 600ms
+    when(restTemplate.getForObject(eq("http://s1/items"), eq(Item[].class))).thenAnswer(invocation -> {
+      Thread.sleep(300);
+      return new Item[]{ new Item("S1-A", 1, 1.0, "a") };
+    });
+    when(restTemplate.getForObject(eq("http://s2/items"), eq(Item[].class))).thenAnswer(invocation -> {
+      Thread.sleep(300);
+      return new Item[]{ new Item("S2-A", 2, 2.0, "b") };
+    });
+
+    ItemServiceImpl service = newService();
+
+    long start = System.nanoTime();
+    List<Item> all = service.getAllItems(true);
+    long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+    // Results keep the configured order even though the calls overlap
+    assertEquals(List.of("S1-A", "S2-A"), all.stream().map(Item::getName).toList());
+    assertTrue(elapsedMillis < 600, "External services should be called in parallel but took " + elapsedMillis + "ms");
+  }
+
+  @Test
+  void getAllItems_multiCatalog_true_concurrentRequests_shareOneExternalCall() throws Exception {
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
+
+    Map<String, ExternalInventory> map = new LinkedHashMap<>();
+    map.put("S1", new ExternalInventory("S1", "http://s1/items"));
+    when(properties.getExternalInventory()).thenReturn(map);
+
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(restTemplate.getForObject(eq("http://s1/items"), eq(Item[].class))).thenAnswer(invocation -> {
+      started.countDown();
+      release.await();
+      return new Item[]{ new Item("S1-A", 1, 1.0, "a") };
+    });
+
+    ItemServiceImpl service = newService();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<List<Item>> first = executor.submit(() -> service.getAllItems(true));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      Future<List<Item>> second = executor.submit(() -> service.getAllItems(true));
+      // The second request joins the call in flight instead of making its own
+      Thread.sleep(100);
+      release.countDown();
+
+      assertEquals(List.of("S1-A"), first.get(5, TimeUnit.SECONDS).stream().map(Item::getName).toList());
+      assertEquals(List.of("S1-A"), second.get(5, TimeUnit.SECONDS).stream().map(Item::getName).toList());
+    }
+    verify(restTemplate, times(1)).getForObject("http://s1/items", Item[].class);
+  }
+
+  @Test
+  void getAllItems_multiCatalog_true_slowExternalService_isSkippedAfterDeadline() {
+    when(itemRepository.findAllForRead()).thenReturn(List.of(new Item("Local", 1, 1.0, "l")));
+
+    Map<String, ExternalInventory> map = new LinkedHashMap<>();
+    map.put("SLOW", new ExternalInventory("Slow", "http://slow/items"));
+    map.put("FAST", new ExternalInventory("Fast", "http://fast/items"));
+    when(properties.getExternalInventory()).thenReturn(map);
+
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    // The slow service hangs well beyond the deadline
+    when(restTemplate.getForObject(eq("http://slow/items"), eq(Item[].class))).thenAnswer(invocation -> {
+      Thread.sleep(5_000);
+      return new Item[]{ new Item("TooLate", 1, 1.0, "late") };
+    });
+    when(restTemplate.getForObject(eq("http://fast/items"), eq(Item[].class)))
+        .thenReturn(new Item[]{ new Item("Fast-A", 2, 2.0, "fast") });
+
+    PeerClientProperties clientProperties = new PeerClientProperties();
+    clientProperties.setDeadline(Duration.ofMillis(200));
+    ItemServiceImpl service = newService(clientProperties, WebClient.builder());
+
+    long start = System.nanoTime();
+    List<Item> all = service.getAllItems(true);
+    long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+    // Local items and the fast service are returned; the hung service is dropped
+    assertEquals(List.of("Local", "Fast-A"), all.stream().map(Item::getName).toList());
+    assertTrue(elapsedMillis < 2_000, "Fan-out should stop at the deadline but took " + elapsedMillis + "ms");
+  }
+
+  @Test
+  void streamAllItems_multiCatalog_false_emitsOnlyRepositoryItems() {
+    when(itemRepository.streamAllByOrderByIdAsc())
+        .thenReturn(Stream.of(new Item("R1", 1, 1.0, "r1"), new Item("R2", 2, 2.0, "r2")));
+
+    ItemServiceImpl service = newService();
+
+    StepVerifier.create(service.streamAllItems(false).map(Item::getName))
+        .expectNext("R1", "R2")
+        .verifyComplete();
+    verify(properties, never()).getExternalInventory();
+  }
+
+  @Test
+  void streamAllItems_multiCatalog_true_mergesExternalStreams_andSkipsFailures() {
+    when(itemRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(new Item("R1", 1, 1.0, "r1")));
+
+    Map<String, ExternalInventory> map = new LinkedHashMap<>();
+    map.put("OK", new ExternalInventory("Ok", "http://ok.example/items"));
+    map.put("ERR", new ExternalInventory("Err", "http://err.example/items"));
+    when(properties.getExternalInventory()).thenReturn(map);
+
+    // Answer the OK service with an NDJSON body and fail the other one
+    WebClient.Builder webClientBuilder = WebClient.builder().exchangeFunction(request -> {
+      if (request.url().getHost().startsWith("ok")) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+            .body("""
+                {"name":"OK1","stock":1,"price":1.0,"description":"o1"}
+                {"name":"OK2","stock":2,"price":2.0,"description":"o2"}
+                """)
+            .build());
+      }
+      return Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+    });
+
+    ItemServiceImpl service = newService(new PeerClientProperties(), webClientBuilder);
+
+    List<String> names = service.streamAllItems(true).map(Item::getName).collectList().block();
+
+    assertNotNull(names);
+    assertEquals(3, names.size());
+    assertTrue(names.containsAll(List.of("R1", "OK1", "OK2")));
+    // OK1 and OK2 keep their relative order within the merged stream
+    assertTrue(names.indexOf("OK1") < names.indexOf("OK2"));
+  }
+
+  @Test
+  void getAllItems_multiCatalog_true_freshSnapshot_isServedWithoutCallingExternal() {
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
+    when(properties.getExternalInventory())
+        .thenReturn(Map.of("S1", new ExternalInventory("S1", "http://s1/items")));
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    when(restTemplate.getForObject(eq("http://s1/items"), eq(Item[].class)))
+        .thenReturn(new Item[]{ new Item("S1-A", 1, 1.0, "a") });
+
+    ItemServiceImpl service = newService(snapshotProperties(Duration.ofHours(1), Duration.ofHours(2)), WebClient.builder());
+
+    assertEquals(List.of("S1-A"), service.getAllItems(true).stream().map(Item::getName).toList());
+    assertEquals(List.of("S1-A"), service.getAllItems(true).stream().map(Item::getName).toList());
+    verify(restTemplate, times(1)).getForObject("http://s1/items", Item[].class);
+  }
+
+  @Test
+  void getAllItems_multiCatalog_true_staleSnapshot_isServedWhileRefreshedInBackground() throws Exception {
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
+    when(properties.getExternalInventory())
+        .thenReturn(Map.of("S1", new ExternalInventory("S1", "http://s1/items")));
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    when(restTemplate.getForObject(eq("http://s1/items"), eq(Item[].class)))
+        .thenReturn(new Item[]{ new Item("Old", 1, 1.0, "old") })
+        .thenReturn(new Item[]{ new Item("New", 2, 2.0, "new") });
+
+    ItemServiceImpl service = newService(snapshotProperties(Duration.ofMillis(50), Duration.ofHours(1)), WebClient.builder());
+
+    assertEquals(List.of("Old"), service.getAllItems(true).stream().map(Item::getName).toList());
+    Thread.sleep(100);
+
+    // The stale snapshot is answered immediately and a single refresh runs in the background
+    assertEquals(List.of("Old"), service.getAllItems(true).stream().map(Item::getName).toList());
+    verify(restTemplate, timeout(1_000).times(2)).getForObject("http://s1/items", Item[].class);
+    Thread.sleep(20);
+
+    assertEquals(List.of("New"), service.getAllItems(true).stream().map(Item::getName).toList());
+  }
+
+  @Test
+  void getAllItems_multiCatalog_true_failingExternal_keepsServingLastSnapshot() throws Exception {
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
+    when(properties.getExternalInventory())
+        .thenReturn(Map.of("S1", new ExternalInventory("S1", "http://s1/items")));
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    when(restTemplate.getForObject(eq("http://s1/items"), eq(Item[].class)))
+        .thenReturn(new Item[]{ new Item("Good", 1, 1.0, "good") })
+        .thenThrow(new RestClientException("down"));
+
+    ItemServiceImpl service = newService(snapshotProperties(Duration.ofMillis(50), Duration.ofHours(1)), WebClient.builder());
+
+    assertEquals(List.of("Good"), service.getAllItems(true).stream().map(Item::getName).toList());
+    Thread.sleep(100);
+
+    assertEquals(List.of("Good"), service.getAllItems(true).stream().map(Item::getName).toList());
+    verify(restTemplate, timeout(1_000).times(2)).getForObject("http://s1/items", Item[].class);
+    Thread.sleep(20);
+
+    // The failed refresh leaves the last good snapshot in place
+    assertEquals(List.of("Good"), service.getAllItems(true).stream().map(Item::getName).toList());
+  }
+
+  @Test
+  void getAllItems_multiCatalog_true_snapshotOlderThanMaxAge_isNoLongerServed() throws Exception {
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
+    when(properties.getExternalInventory())
+        .thenReturn(Map.of("S1", new ExternalInventory("S1", "http://s1/items")));
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    when(restTemplate.getForObject(eq("http://s1/items"), eq(Item[].class)))
+        .thenReturn(new Item[]{ new Item("Good", 1, 1.0, "good") })
+        .thenThrow(new RestClientException("down"));
+
+    ItemServiceImpl service = newService(snapshotProperties(Duration.ofMillis(10), Duration.ofMillis(50)), WebClient.builder());
+
+    assertEquals(List.of("Good"), service.getAllItems(true).stream().map(Item::getName).toList());
+    Thread.sleep(100);
+
+    assertTrue(service.getAllItems(true).isEmpty());
+    verify(restTemplate, times(2)).getForObject("http://s1/items", Item[].class);
+  }
+
+  @Test
+  void getAllItems_multiCatalog_true_failingExternal_isSkippedOnceCircuitOpens() {
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
+    when(properties.getExternalInventory())
+        .thenReturn(Map.of("S1", new ExternalInventory("S1", "http://s1/items")));
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    when(restTemplate.getForObject(eq("http://s1/items"), eq(Item[].class)))
+        .thenThrow(new RestClientException("Connection refused"));
+
+    PeerClientProperties clientProperties = new PeerClientProperties();
+    clientProperties.getCircuitBreaker().setMinimumCalls(2);
+    clientProperties.getCircuitBreaker().setOpenDuration(Duration.ofHours(1));
+    ItemServiceImpl service = newService(clientProperties, WebClient.builder());
+
+    for (int i = 0; i < 5; i++) {
+      assertTrue(service.getAllItems(true).isEmpty());
+    }
+
+    // Two failures open the circuit; the remaining requests skip the service without calling it
+    verify(restTemplate, times(2)).getForObject("http://s1/items", Item[].class);
+  }
+
+  @Test
+  void getAllItems_multiCatalog_true_deltaSync_appliesOnlyChangesToMirror() {
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
+    when(properties.getExternalInventory())
+        .thenReturn(Map.of("S1", new ExternalInventory("S1", "http://s1/items")));
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    when(restTemplate.getForObject("http://s1/items/changes?since={since}", ItemChanges.class, 0L))
+        .thenReturn(new ItemChanges(5, List.of(externalItem(1, "A"), externalItem(2, "B"))));
+    when(restTemplate.getForObject("http://s1/items/changes?since={since}", ItemChanges.class, 5L))
+        .thenReturn(new ItemChanges(7, List.of(externalItem(2, "B2"), externalItem(3, "C"))));
+
+    PeerClientProperties clientProperties = new PeerClientProperties();
+    clientProperties.setDeltaSync(true);
+    ItemServiceImpl service = newService(clientProperties, WebClient.builder());
+
+    assertEquals(List.of("A", "B"), service.getAllItems(true).stream().map(Item::getName).toList());
+    // Item 2 is replaced in place and item 3 is added
+    assertEquals(List.of("A", "B2", "C"), service.getAllItems(true).stream().map(Item::getName).toList());
+    verify(restTemplate, never()).getForObject("http://s1/items", Item[].class);
+  }
+
+  @Test
+  void getAllItems_multiCatalog_true_deltaSync_rebuildsMirrorWhenPeerVersionGoesBack() {
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
+    when(properties.getExternalInventory())
+        .thenReturn(Map.of("S1", new ExternalInventory("S1", "http://s1/items")));
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    // The peer lost its catalog after the first synchronization
+    when(restTemplate.getForObject("http://s1/items/changes?since={since}", ItemChanges.class, 0L))
+        .thenReturn(new ItemChanges(5, List.of(externalItem(1, "Old"))))
+        .thenReturn(new ItemChanges(1, List.of(externalItem(1, "New"))));
+    when(restTemplate.getForObject("http://s1/items/changes?since={since}", ItemChanges.class, 5L))
+        .thenReturn(new ItemChanges(1, List.of()));
+
+    PeerClientProperties clientProperties = new PeerClientProperties();
+    clientProperties.setDeltaSync(true);
+    ItemServiceImpl service = newService(clientProperties, WebClient.builder());
+
+    assertEquals(List.of("Old"), service.getAllItems(true).stream().map(Item::getName).toList());
+    assertEquals(List.of("New"), service.getAllItems(true).stream().map(Item::getName).toList());
+  }
+
+  @Test
+  void getAllItems_multiCatalog_true_deltaSync_fallsBackToFullDownloadWithoutChangesEndpoint() {
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
+    when(properties.getExternalInventory())
+        .thenReturn(Map.of("S1", new ExternalInventory("S1", "http://s1/items")));
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    when(restTemplate.getForObject("http://s1/items/changes?since={since}", ItemChanges.class, 0L))
+        .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+    when(restTemplate.getForObject("http://s1/items", Item[].class))
+        .thenReturn(new Item[]{ new Item("Full", 1, 1.0, "full") });
+
+    PeerClientProperties clientProperties = new PeerClientProperties();
+    clientProperties.setDeltaSync(true);
+    ItemServiceImpl service = newService(clientProperties, WebClient.builder());
+
+    assertEquals(List.of("Full"), service.getAllItems(true).stream().map(Item::getName).toList());
+    assertEquals(List.of("Full"), service.getAllItems(true).stream().map(Item::getName).toList());
+    // The changes endpoint is only tried once
+    verify(restTemplate, times(1)).getForObject("http://s1/items/changes?since={since}", ItemChanges.class, 0L);
+  }
+
+  @Test
+  void getAllItems_multiCatalog_true_replication_servesReplicasWithoutCallingExternal() {
+    when(itemRepository.findAllForRead()).thenReturn(List.of(new Item("Local", 1, 1.0, "l")));
+    Map<String, ExternalInventory> map = new LinkedHashMap<>();
+    map.put("S1", new ExternalInventory("S1", "http://s1/items"));
+    map.put("S2", new ExternalInventory("S2", "http://s2/items"));
+    when(properties.getExternalInventory()).thenReturn(map);
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    when(restTemplate.getForObject("http://s1/items", Item[].class))
+        .thenReturn(new Item[]{ new Item("S1-A", 1, 1.0, "a") });
+    when(restTemplate.getForObject("http://s2/items", Item[].class))
+        .thenThrow(new RestClientException("down"));
+
+    PeerClientProperties clientProperties = new PeerClientProperties();
+    clientProperties.setReplicationDelay(Duration.ofHours(1));
+    ItemServiceImpl service = newService(clientProperties, WebClient.builder());
+
+    // Nothing is served before the first replication
+    assertEquals(List.of("Local"), service.getAllItems(true).stream().map(Item::getName).toList());
+
+    service.replicateExternalServices();
+
+    assertEquals(List.of("Local", "S1-A"), service.getAllItems(true).stream().map(Item::getName).toList());
+    assertEquals(List.of("Local", "S1-A"), service.getAllItems(true).stream().map(Item::getName).toList());
+    // Only the replication called the external services
+    verify(restTemplate, times(1)).getForObject("http://s1/items", Item[].class);
+    verify(restTemplate, times(1)).getForObject("http://s2/items", Item[].class);
+
+    List<CatalogFreshness> freshness = service.getCatalogFreshness();
+    assertEquals(2, freshness.size());
+    assertEquals("S1", freshness.getFirst().getName());
+    assertNotNull(freshness.getFirst().getReplicatedAt());
+    assertEquals(1, freshness.getFirst().getItemCount());
+    assertNull(freshness.get(1).getReplicatedAt());
+  }
+
+  @Test
+  void getAllItems_multiCatalog_true_replication_keepsReplicaWhenExternalFails() {
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
+    when(properties.getExternalInventory())
+        .thenReturn(Map.of("S1", new ExternalInventory("S1", "http://s1/items")));
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    when(restTemplate.getForObject("http://s1/items", Item[].class))
+        .thenReturn(new Item[]{ new Item("Good", 1, 1.0, "good") })
+        .thenThrow(new RestClientException("down"));
+
+    PeerClientProperties clientProperties = new PeerClientProperties();
+    clientProperties.setReplicationDelay(Duration.ofHours(1));
+    ItemServiceImpl service = newService(clientProperties, WebClient.builder());
+
+    service.replicateExternalServices();
+    service.replicateExternalServices();
+
+    assertEquals(List.of("Good"), service.getAllItems(true).stream().map(Item::getName).toList());
+  }
+
+  @Test
+  void getAllItems_multiCatalog_true_replication_concurrentRequestsReadReplicaInsteadOfCalling() throws Exception {
+    when(itemRepository.findAllForRead()).thenReturn(List.of());
+    Map<String, ExternalInventory> map = new LinkedHashMap<>();
+    map.put("S1", new ExternalInventory("S1", "http://s1/items"));
+    when(properties.getExternalInventory()).thenReturn(map);
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    when(restTemplate.getForObject("http://s1/items", Item[].class))
+        .thenReturn(new Item[]{ externalItem(1, "S1-A") });
+
+    PeerClientProperties clientProperties = new PeerClientProperties();
+    clientProperties.setReplicationDelay(Duration.ofSeconds(15));
+    ItemServiceImpl service = newService(clientProperties, WebClient.builder());
+    service.replicateExternalServices();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<List<Item>>> reads = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        reads.add(executor.submit(() -> service.getAllItems(true)));
+      }
+      for (Future<List<Item>> read : reads) {
+        assertEquals(List.of("S1-A"), read.get(5, TimeUnit.SECONDS).stream().map(Item::getName).toList());
+      }
+    }
+    ItemPage page = service.getItemPage(true, 2, "S1:0");
+    assertEquals(List.of("S1-A"), page.getItems().stream().map(Item::getName).toList());
+
+    // Requests neither call the external service nor join a coalesced call: only the replication did
+    verify(restTemplate, times(1)).getForObject("http://s1/items", Item[].class);
+    verifyNoMoreInteractions(restTemplate);
+  }
+
+  @Test
+  void getCatalogFreshness_withoutReplication_isEmpty() {
+    ItemServiceImpl service = newService();
+
+    assertTrue(service.getCatalogFreshness().isEmpty());
+  }
+
+  @Test
+  void getItemPage_multiCatalog_pagesThroughLocalThenExternalCatalogs() {
+    Map<String, ExternalInventory> map = new LinkedHashMap<>();
+    map.put("svcB", new ExternalInventory("B", "http://b/items"));
+    when(properties.getExternalInventory()).thenReturn(map);
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    when(itemRepository.findByIdGreaterThanOrderByIdAsc(0, Limit.of(3)))
+        .thenReturn(List.of(externalItem(1, "L1"), externalItem(2, "L2")));
+    when(restTemplate.getForObject("http://b/items?limit={limit}&after={after}", Item[].class, 1, 0))
+        .thenReturn(new Item[]{ externalItem(1, "B1") });
+    // A peer without pagination answers with its whole catalog
+    when(restTemplate.getForObject("http://b/items?limit={limit}&after={after}", Item[].class, 3, 0))
+        .thenReturn(new Item[]{ externalItem(2, "B2"), externalItem(1, "B1") });
+
+    ItemServiceImpl service = newService();
+
+    ItemPage first = service.getItemPage(true, 2, null);
+    assertEquals(List.of("L1", "L2"), first.getItems().stream().map(Item::getName).toList());
+    assertEquals("svcB:0", first.getNext());
+
+    ItemPage second = service.getItemPage(true, 2, first.getNext());
+    assertEquals(List.of("B1", "B2"), second.getItems().stream().map(Item::getName).toList());
+    assertNull(second.getNext());
+  }
+
+  @Test
+  void getAllItems_withFields_skipsDescriptionAndForwardsFields() {
+    when(itemRepository.findAllSummaries()).thenReturn(List.of(externalItem(1, "L1")));
+    Map<String, ExternalInventory> map = new LinkedHashMap<>();
+    map.put("svcB", new ExternalInventory("B", "http://b/items"));
+    when(properties.getExternalInventory()).thenReturn(map);
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    when(restTemplate.getForObject("http://b/items?fields={fields}", Item[].class, "name,price"))
+        .thenReturn(new Item[]{ externalItem(0, "B1") });
+    ItemServiceImpl service = newService();
+
+    List<Item> all = service.getAllItems(true, ItemFields.parse("price,name"));
+
+    assertEquals(List.of("L1", "B1"), all.stream().map(Item::getName).toList());
+    verify(itemRepository, never()).findAllForRead();
+  }
+
+  @Test
+  void getItemPage_withFields_forwardsFieldsWithId() {
+    Map<String, ExternalInventory> map = new LinkedHashMap<>();
+    map.put("svcB", new ExternalInventory("B", "http://b/items"));
+    when(properties.getExternalInventory()).thenReturn(map);
+    when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    when(itemRepository.findSummariesByIdGreaterThanOrderByIdAsc(0, Limit.of(3))).thenReturn(List.of());
+    when(restTemplate.getForObject("http://b/items?limit={limit}&after={after}&fields={fields}", Item[].class,
+        3, 0, "id,name")).thenReturn(new Item[]{ externalItem(4, "B4") });
+    ItemServiceImpl service = newService();
+
+    ItemPage page = service.getItemPage(true, 2, null, ItemFields.parse("name"));
+
+    assertEquals(List.of("B4"), page.getItems().stream().map(Item::getName).toList());
+    assertNull(page.getNext());
+  }
+
+  @Test
+  void getItemPage_multiCatalog_unknownCatalogInCursor_isBadRequest() {
+    when(properties.getExternalInventory()).thenReturn(Map.of());
+
+    ItemServiceImpl service = newService();
+
+    assertThrows(ResponseStatusException.class, () -> service.getItemPage(true, 10, "svcX:4"));
+    verifyNoInteractions(itemRepository);
+  }
+
+  private static Item externalItem(int id, String name) {
+    Item item = new Item(name, 1, 1.0, name.toLowerCase());
+    ReflectionTestUtils.setField(item, "id", id);
+    return item;
+  }
+
+  private static PeerClientProperties snapshotProperties(Duration ttl, Duration maxAge) {
+    PeerClientProperties clientProperties = new PeerClientProperties();
+    clientProperties.setSnapshotTtl(ttl);
+    clientProperties.setSnapshotMaxAge(maxAge);
+    return clientProperties;
+  }
+
+  /**
+   * Builds the service with default peer client settings, wired like the application context wires it.
+   */
+  private ItemServiceImpl newService() {
+    return newService(new PeerClientProperties(), WebClient.builder());
+  }
+
+  /**
+   * Builds the service with the given peer client, wired like the application context wires it.
+   * The background replication and the hot stock are not started.
+   */
+  private ItemServiceImpl newService(PeerClientProperties clientProperties, WebClient.Builder webClientBuilder) {
+    CatalogVersion catalogVersion = new CatalogVersion(itemRepository);
+    ItemCache itemCache = new ItemCache(100);
+    return new ItemServiceImpl(itemRepository, properties, restTemplateBuilder, clientProperties, webClientBuilder,
+        new PeerCircuitBreakerRegistry(properties, clientProperties, new SimpleMeterRegistry()), catalogVersion,
+        itemCache, new HotStockCounters(itemRepository, catalogVersion, itemCache, new HotStockProperties()),
+        new CatalogStreamer(itemRepository, mock(EntityManager.class), mock(PlatformTransactionManager.class)));
+  }
 }
@@ -0,0 +1,138 @@
+package test.servicea.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import test.servicea.config.PeerClientProperties;
+import test.servicea.service.impl.PeerCircuitBreaker;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PeerCircuitBreakerUnitTest {
+
+  private static final long FAST = Duration.ofMillis(10).toNanos();
+  private static final long SLOW = Duration.ofSeconds(5).toNanos();
+
+  private PeerClientProperties.CircuitBreaker config;
+
+  @BeforeEach
+  void setUp() {
+    config = new PeerClientProperties().getCircuitBreaker();
+    config.setWindowSize(4);
+    config.setMinimumCalls(4);
+    config.setFailureThreshold(50);
+    config.setSlowCallThreshold(75);
+    config.setSlowCallDuration(Duration.ofSeconds(1));
+    config.setOpenDuration(Duration.ofMillis(50));
+    config.setHalfOpenCalls(2);
+  }
+
+  @Test
+  void closedBreaker_staysClosedBelowMinimumCalls() {
+    PeerCircuitBreaker breaker = new PeerCircuitBreaker("B", "http://b", config);
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(breaker.tryAcquirePermission());
+      breaker.onError(FAST);
+    }
+
+    assertEquals(PeerCircuitBreaker.State.CLOSED, breaker.getStatus().state());
+    assertEquals(100, breaker.getStatus().failureRate());
+  }
+
+  @Test
+  void closedBreaker_opensWhenFailureRateReachesThreshold() {
+    PeerCircuitBreaker breaker = new PeerCircuitBreaker("B", "http://b", config);
+
+    breaker.onSuccess(FAST);
+    breaker.onSuccess(FAST);
+    breaker.onError(FAST);
+    breaker.onError(FAST);
+
+    assertEquals(PeerCircuitBreaker.State.OPEN, breaker.getStatus().state());
+    assertFalse(breaker.tryAcquirePermission());
+  }
+
+  @Test
+  void closedBreaker_opensWhenSlowCallRateReachesThreshold() {
+    PeerCircuitBreaker breaker = new PeerCircuitBreaker("B", "http://b", config);
+
+    breaker.onSuccess(FAST);
+    breaker.onSuccess(SLOW);
+    breaker.onSuccess(SLOW);
+    assertEquals(PeerCircuitBreaker.State.CLOSED, breaker.getStatus().state());
+    breaker.onSuccess(SLOW);
+
+    assertEquals(PeerCircuitBreaker.State.OPEN, breaker.getStatus().state());
+  }
+
+  @Test
+  void slidingWindow_forgetsOldestCalls() {
+    PeerCircuitBreaker breaker = new PeerCircuitBreaker("B", "http://b", config);
+
+    breaker.onError(FAST);
+    for (int i = 0; i < 4; i++) {
+      breaker.onSuccess(FAST);
+    }
+
+    assertEquals(PeerCircuitBreaker.State.CLOSED, breaker.getStatus().state());
+    assertEquals(0, breaker.getStatus().failureRate());
+    assertEquals(4, breaker.getStatus().bufferedCalls());
+  }
+
+  @Test
+  void openBreaker_letsProbesThroughAfterWait_andClosesWhenTheySucceed() throws Exception {
+    PeerCircuitBreaker breaker = openBreaker();
+    Thread.sleep(100);
+
+    assertTrue(breaker.tryAcquirePermission());
+    assertTrue(breaker.tryAcquirePermission());
+    assertFalse(breaker.tryAcquirePermission(), "Only the permitted number of probes may pass");
+    assertEquals(PeerCircuitBreaker.State.HALF_OPEN, breaker.getStatus().state());
+
+    breaker.onSuccess(FAST);
+    breaker.onSuccess(FAST);
+
+    assertEquals(PeerCircuitBreaker.State.CLOSED, breaker.getStatus().state());
+    assertTrue(breaker.tryAcquirePermission());
+  }
+
+  @Test
+  void halfOpenBreaker_opensAgainWhenProbeFails() throws Exception {
+    PeerCircuitBreaker breaker = openBreaker();
+    Thread.sleep(100);
+
+    assertTrue(breaker.tryAcquirePermission());
+    breaker.onError(FAST);
+
+    assertEquals(PeerCircuitBreaker.State.OPEN, breaker.getStatus().state());
+    assertFalse(breaker.tryAcquirePermission());
+  }
+
+  @Test
+  void breaker_recordsCallsFailuresAndTimeoutsPerPeer() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    PeerCircuitBreaker breaker = new PeerCircuitBreaker("B", "http://b", config, registry);
+
+    breaker.onSuccess(FAST);
+    breaker.onSuccess(SLOW);
+    breaker.onError(FAST);
+    breaker.onTimeout();
+
+    assertEquals(2, registry.get("inventory.peer.calls").tags("peer", "B", "outcome", "success").timer().count());
+    assertEquals(1, registry.get("inventory.peer.calls").tags("peer", "B", "outcome", "error").timer().count());
+    assertEquals(1.0, registry.get("inventory.peer.failures").tag("peer", "B").counter().count());
+    assertEquals(1.0, registry.get("inventory.peer.timeouts").tag("peer", "B").counter().count());
+  }
+
+  private PeerCircuitBreaker openBreaker() {
+    PeerCircuitBreaker breaker = new PeerCircuitBreaker("B", "http://b", config);
+    for (int i = 0; i < 4; i++) {
+      breaker.onError(FAST);
+    }
+    assertEquals(PeerCircuitBreaker.State.OPEN, breaker.getStatus().state());
+    return breaker;
+  }
+}
@@ -0,0 +1,71 @@
+package test.servicea.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import test.servicea.service.impl.RequestTimings;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestTimingsUnitTest {
+
+  @AfterEach
+  void tearDown() {
+    RequestTimings.unbind();
+  }
+
+  @Test
+  void current_withoutBoundTimings_recordsNothing() {
+    RequestTimings timings = RequestTimings.current();
+
+    assertEquals("x", timings.time("db", "local items", () -> "x"));
+    timings.record("peer-B", "B", 1);
+
+    assertTrue(timings.getPhases().isEmpty());
+  }
+
+  @Test
+  void boundTimings_collectPhasesFromOtherThreads() throws Exception {
+    RequestTimings timings = new RequestTimings();
+    timings.bind();
+
+    RequestTimings.current().record("db", "local items", Duration.ofMillis(3).toNanos());
+    RequestTimings captured = RequestTimings.current();
+    Thread worker = Thread.ofVirtual().start(() -> captured.record("peer-B", "B", Duration.ofMillis(12).toNanos()));
+    worker.join();
+
+    assertEquals(List.of("db", "peer-B"), timings.getPhases().stream().map(RequestTimings.Phase::name).toList());
+    assertEquals("db;dur=3.0;desc=\"local items\", peer-B;dur=12.0;desc=\"B\"", timings.toHeader());
+    assertEquals("db=3.0 peer-B=12.0", timings.toLogFields());
+  }
+
+  @Test
+  void time_recordsFailedActions() {
+    RequestTimings timings = new RequestTimings();
+
+    assertThrows(IllegalStateException.class, () -> timings.time("peers", "external catalogs", () -> {
+      throw new IllegalStateException("down");
+    }));
+
+    assertEquals("peers", timings.getPhases().getFirst().name());
+  }
+
+  @Test
+  void finish_recordsSerializationAndTotal() {
+    RequestTimings timings = new RequestTimings();
+    timings.startSerialization();
+
+    long total = timings.finish();
+
+    assertEquals(List.of("serialize", "total"), timings.getPhases().stream().map(RequestTimings.Phase::name).toList());
+    assertEquals(total, timings.getPhases().getLast().durationNanos());
+  }
+
+  @Test
+  void peerPhase_replacesCharactersOutsideTokens() {
+    assertEquals("peer-Service_B", RequestTimings.peerPhase("Service B"));
+    assertEquals("peer-C", RequestTimings.peerPhase("C"));
+  }
+}
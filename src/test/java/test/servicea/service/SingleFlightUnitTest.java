@@ -0,0 +1,171 @@
+package test.servicea.service;
+
+import org.junit.jupiter.api.Test;
+import test.servicea.service.impl.SingleFlight;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightUnitTest {
+
+  @Test
+  void run_concurrentCallers_shareOneLoad() throws Exception {
+    SingleFlight<String, String> flight = new SingleFlight<>();
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> results = new ArrayList<>();
+
+    Thread leader = new Thread(() -> results.add(flight.run("k", () -> {
+      loads.incrementAndGet();
+      started.countDown();
+      awaitQuietly(release);
+      return "value";
+    })));
+    leader.start();
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    AtomicReference<String> followerResult = new AtomicReference<>();
+    Thread follower = new Thread(() -> followerResult.set(flight.run("k", () -> {
+      loads.incrementAndGet();
+      return "other";
+    })));
+    follower.start();
+    awaitWaiting(follower);
+    release.countDown();
+    leader.join(5_000);
+    follower.join(5_000);
+
+    assertEquals(1, loads.get());
+    assertEquals(List.of("value"), results);
+    assertEquals("value", followerResult.get());
+    assertEquals(0, flight.size());
+  }
+
+  @Test
+  void run_failingLoad_throwsSameExceptionToEveryCaller() throws Exception {
+    SingleFlight<String, String> flight = new SingleFlight<>();
+    IllegalStateException failure = new IllegalStateException("boom");
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicReference<Throwable> leaderFailure = new AtomicReference<>();
+    AtomicReference<Throwable> followerFailure = new AtomicReference<>();
+
+    Thread leader = new Thread(() -> {
+      try {
+        flight.run("k", () -> {
+          started.countDown();
+          awaitQuietly(release);
+          throw failure;
+        });
+      } catch (RuntimeException e) {
+        leaderFailure.set(e);
+      }
+    });
+    leader.start();
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    Thread follower = new Thread(() -> {
+      try {
+        flight.run("k", () -> "other");
+      } catch (RuntimeException e) {
+        followerFailure.set(e);
+      }
+    });
+    follower.start();
+    awaitWaiting(follower);
+    release.countDown();
+    leader.join(5_000);
+    follower.join(5_000);
+
+    assertSame(failure, leaderFailure.get());
+    assertSame(failure, followerFailure.get());
+  }
+
+  @Test
+  void run_afterCompletion_startsNewLoad() {
+    SingleFlight<String, Integer> flight = new SingleFlight<>();
+    AtomicInteger loads = new AtomicInteger();
+
+    assertEquals(1, flight.run("k", loads::incrementAndGet));
+    assertEquals(2, flight.run("k", loads::incrementAndGet));
+    assertEquals(0, flight.size());
+  }
+
+  @Test
+  void submit_cancellingOneCaller_keepsLoadForOthers() throws Exception {
+    SingleFlight<String, String> flight = new SingleFlight<>();
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      CompletableFuture<String> first = flight.submit("k", executor, () -> {
+        loads.incrementAndGet();
+        awaitQuietly(release);
+        return "value";
+      });
+      CompletableFuture<String> second = flight.submit("k", executor, () -> {
+        loads.incrementAndGet();
+        return "other";
+      });
+
+      first.cancel(true);
+      release.countDown();
+
+      assertEquals("value", second.get(5, TimeUnit.SECONDS));
+      assertThrows(CancellationException.class, first::join);
+      assertEquals(1, loads.get());
+    }
+  }
+
+  @Test
+  void submit_everyCallerCancelling_interruptsLoad() throws Exception {
+    SingleFlight<String, String> flight = new SingleFlight<>();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      CompletableFuture<String> first = flight.submit("k", executor, () -> {
+        started.countDown();
+        try {
+          new CountDownLatch(1).await();
+        } catch (InterruptedException e) {
+          interrupted.countDown();
+        }
+        return "value";
+      });
+      CompletableFuture<String> second = flight.submit("k", executor, () -> "other");
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+
+      first.cancel(true);
+      assertEquals(1, flight.size());
+      second.cancel(true);
+
+      assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+      assertEquals(0, flight.size());
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void awaitWaiting(Thread thread) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+}